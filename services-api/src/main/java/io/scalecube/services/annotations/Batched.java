@@ -0,0 +1,31 @@
+package io.scalecube.services.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that calls of an annotated request-response method are batched on the client side:
+ * requests to the same remote address are gathered for up to {@link #maxDelayMillis()} or until
+ * there are {@link #maxSize()} of them, and then sent together. Takes effect for service calls
+ * whose definition has service interface registered, see {@code ServiceCall.Call#batching(Class)}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+public @interface Batched {
+
+  /**
+   * Max number of requests in one batch.
+   *
+   * @return max batch size
+   */
+  int maxSize() default 32;
+
+  /**
+   * Max time a request waits for the rest of its batch, in milliseconds.
+   *
+   * @return max delay
+   */
+  long maxDelayMillis() default 1;
+}
@@ -0,0 +1,37 @@
+package io.scalecube.services.api;
+
+import java.util.Map;
+
+/**
+ * Message headers which are decoded on demand. Allows transport to hand over encoded headers to
+ * {@link ServiceMessage} so that only headers which are actually read get decoded.
+ *
+ * @see ServiceMessage.Builder#headers(LazyHeaders)
+ */
+public interface LazyHeaders {
+
+  /**
+   * Decodes value of the given header, ideally without decoding the rest of headers.
+   *
+   * @param name header name
+   * @return header value or null if there's no such header
+   */
+  String header(String name);
+
+  /**
+   * Decodes all headers.
+   *
+   * @return headers
+   */
+  Map<String, String> headers();
+
+  /**
+   * Tells whether there are no headers, ideally without decoding them. By default all headers are
+   * decoded.
+   *
+   * @return true if there are no headers
+   */
+  default boolean isEmpty() {
+    return headers().isEmpty();
+  }
+}
@@ -0,0 +1,101 @@
+package io.scalecube.services.api;
+
+import static io.scalecube.services.api.ServiceMessage.HEADER_DATA_FORMAT;
+import static io.scalecube.services.api.ServiceMessage.HEADER_QUALIFIER;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Message headers backed by {@link LazyHeaders}. Single headers are looked up one by one, and
+ * qualifier and data format, which are needed to route and decode a message, are cached. Emptiness
+ * is checked by the source as well. Any other access, like iteration or copying, decodes all
+ * headers once.
+ *
+ * <p>Instance may be read from different threads. Cached values are immutable strings, so racy
+ * caching at worst makes the same header be decoded more than once.
+ */
+final class LazyMessageHeaders extends MessageHeaders {
+
+  // compared by identity, never equal to a decoded value
+  @SuppressWarnings("StringOperationCanBeSimplified")
+  private static final String UNRESOLVED = new String("unresolved");
+
+  private final LazyHeaders source;
+
+  private String cachedQualifier = UNRESOLVED;
+  private String cachedDataFormat = UNRESOLVED;
+  private volatile MessageHeaders decoded;
+
+  LazyMessageHeaders(LazyHeaders source) {
+    this.source = source;
+  }
+
+  @Override
+  String get(String name) {
+    MessageHeaders decoded = this.decoded;
+    if (decoded != null) {
+      return decoded.get(name);
+    }
+    switch (name) {
+      case HEADER_QUALIFIER:
+        String qualifier = cachedQualifier;
+        if (qualifier == UNRESOLVED) {
+          cachedQualifier = qualifier = source.header(name);
+        }
+        return qualifier;
+      case HEADER_DATA_FORMAT:
+        String dataFormat = cachedDataFormat;
+        if (dataFormat == UNRESOLVED) {
+          cachedDataFormat = dataFormat = source.header(name);
+        }
+        return dataFormat;
+      default:
+        return source.header(name);
+    }
+  }
+
+  @Override
+  void put(String name, String value) {
+    throw new UnsupportedOperationException("Lazily decoded headers are read-only");
+  }
+
+  @Override
+  void remove(String name) {
+    throw new UnsupportedOperationException("Lazily decoded headers are read-only");
+  }
+
+  @Override
+  int size() {
+    return resolved().size();
+  }
+
+  @Override
+  boolean isEmpty() {
+    MessageHeaders decoded = this.decoded;
+    return decoded != null ? decoded.isEmpty() : source.isEmpty();
+  }
+
+  @Override
+  void forEach(BiConsumer<String, String> consumer) {
+    resolved().forEach(consumer);
+  }
+
+  @Override
+  MessageHeaders copy() {
+    return resolved().copy();
+  }
+
+  @Override
+  LazyHeaders source() {
+    return source;
+  }
+
+  @Override
+  MessageHeaders resolved() {
+    MessageHeaders decoded = this.decoded;
+    if (decoded == null) {
+      this.decoded = decoded = MessageHeaders.of(source.headers());
+    }
+    return decoded;
+  }
+}
@@ -0,0 +1,425 @@
+package io.scalecube.services.api;
+
+import static io.scalecube.services.api.ServiceMessage.HEADER_DATA_FORMAT;
+import static io.scalecube.services.api.ServiceMessage.HEADER_DATA_TYPE;
+import static io.scalecube.services.api.ServiceMessage.HEADER_QUALIFIER;
+import static io.scalecube.services.api.ServiceMessage.HEADER_STREAM_ID;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact representation of {@link ServiceMessage} headers. Well-known headers are kept in fields,
+ * all other headers go to a small open-addressed table.
+ *
+ * <p>Instance is mutated only by {@link ServiceMessage.Builder} before it gets attached to a
+ * message. After that it's shared between derived messages as is, and builder copies it on first
+ * write.
+ *
+ * @see LazyMessageHeaders
+ */
+class MessageHeaders {
+
+  static final MessageHeaders EMPTY = new MessageHeaders();
+
+  private static final int WELL_KNOWN_COUNT = 4;
+  private static final int INITIAL_CAPACITY = 4;
+
+  private String qualifier;
+  private String dataFormat;
+  private String dataType;
+  private String streamId;
+
+  // open-addressed table of other headers, allocated on first use; capacity is a power of two
+  private String[] keys;
+  private String[] values;
+  private int extraSize;
+
+  // lazily created read-only view, see asMap()
+  private Map<String, String> map;
+
+  MessageHeaders() {}
+
+  private MessageHeaders(MessageHeaders other) {
+    this.qualifier = other.qualifier;
+    this.dataFormat = other.dataFormat;
+    this.dataType = other.dataType;
+    this.streamId = other.streamId;
+    if (other.keys != null) {
+      this.keys = other.keys.clone();
+      this.values = other.values.clone();
+      this.extraSize = other.extraSize;
+    }
+  }
+
+  /**
+   * Creates headers from the given map.
+   *
+   * @param headers headers map
+   * @return headers
+   */
+  static MessageHeaders of(Map<String, String> headers) {
+    MessageHeaders viewed = viewed(headers);
+    if (viewed != null) {
+      return viewed;
+    }
+    MessageHeaders result = new MessageHeaders();
+    headers.forEach(result::put);
+    return result;
+  }
+
+  /**
+   * Returns headers behind the given map if it's a view returned by {@link #asMap()}.
+   *
+   * @param headers headers map
+   * @return headers or null if given map is not a view of headers
+   */
+  static MessageHeaders viewed(Map<String, String> headers) {
+    return headers instanceof MapView ? ((MapView) headers).headers() : null;
+  }
+
+  /**
+   * Returns mutable copy of this headers.
+   *
+   * @return copy of this headers
+   */
+  MessageHeaders copy() {
+    return new MessageHeaders(this);
+  }
+
+  /**
+   * Returns headers which hold all values in fields and table of this class, i.e. this instance
+   * unless headers are decoded lazily.
+   *
+   * @return headers
+   */
+  MessageHeaders resolved() {
+    return this;
+  }
+
+  /**
+   * Returns lazily decoded headers this instance is backed by, i.e. null unless headers are decoded
+   * lazily.
+   *
+   * @return lazily decoded headers or null
+   */
+  LazyHeaders source() {
+    return null;
+  }
+
+  String get(String name) {
+    switch (name) {
+      case HEADER_QUALIFIER:
+        return qualifier;
+      case HEADER_DATA_FORMAT:
+        return dataFormat;
+      case HEADER_DATA_TYPE:
+        return dataType;
+      case HEADER_STREAM_ID:
+        return streamId;
+      default:
+        return getExtra(name);
+    }
+  }
+
+  void put(String name, String value) {
+    switch (name) {
+      case HEADER_QUALIFIER:
+        qualifier = value;
+        break;
+      case HEADER_DATA_FORMAT:
+        dataFormat = value;
+        break;
+      case HEADER_DATA_TYPE:
+        dataType = value;
+        break;
+      case HEADER_STREAM_ID:
+        streamId = value;
+        break;
+      default:
+        putExtra(name, value);
+    }
+  }
+
+  void remove(String name) {
+    switch (name) {
+      case HEADER_QUALIFIER:
+        qualifier = null;
+        break;
+      case HEADER_DATA_FORMAT:
+        dataFormat = null;
+        break;
+      case HEADER_DATA_TYPE:
+        dataType = null;
+        break;
+      case HEADER_STREAM_ID:
+        streamId = null;
+        break;
+      default:
+        removeExtra(name);
+    }
+  }
+
+  int size() {
+    int size = extraSize;
+    for (int i = 0; i < WELL_KNOWN_COUNT; i++) {
+      if (wellKnownValue(i) != null) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  boolean isEmpty() {
+    return qualifier == null
+        && dataFormat == null
+        && dataType == null
+        && streamId == null
+        && extraSize == 0;
+  }
+
+  /**
+   * Iterates over headers without creating map entries.
+   *
+   * @param consumer consumer of header name and value
+   */
+  void forEach(BiConsumer<String, String> consumer) {
+    for (int i = 0; i < WELL_KNOWN_COUNT; i++) {
+      String value = wellKnownValue(i);
+      if (value != null) {
+        consumer.accept(wellKnownName(i), value);
+      }
+    }
+    if (keys != null) {
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] != null) {
+          consumer.accept(keys[i], values[i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns read-only {@link Map} view of this headers.
+   *
+   * @return headers map
+   */
+  Map<String, String> asMap() {
+    Map<String, String> map = this.map;
+    if (map == null) {
+      this.map = map = new MapView(this);
+    }
+    return map;
+  }
+
+  private String getExtra(String name) {
+    if (keys == null) {
+      return null;
+    }
+    int mask = keys.length - 1;
+    for (int i = name.hashCode() & mask; keys[i] != null; i = (i + 1) & mask) {
+      if (keys[i].equals(name)) {
+        return values[i];
+      }
+    }
+    return null;
+  }
+
+  private void putExtra(String name, String value) {
+    if (keys == null) {
+      keys = new String[INITIAL_CAPACITY];
+      values = new String[INITIAL_CAPACITY];
+    } else if ((extraSize + 1) << 1 > keys.length) {
+      resize(keys.length << 1);
+    }
+    int mask = keys.length - 1;
+    int i = name.hashCode() & mask;
+    for (; keys[i] != null; i = (i + 1) & mask) {
+      if (keys[i].equals(name)) {
+        values[i] = value;
+        return;
+      }
+    }
+    keys[i] = name;
+    values[i] = value;
+    extraSize++;
+  }
+
+  private void removeExtra(String name) {
+    if (keys == null) {
+      return;
+    }
+    int mask = keys.length - 1;
+    int i = name.hashCode() & mask;
+    for (; keys[i] != null; i = (i + 1) & mask) {
+      if (keys[i].equals(name)) {
+        break;
+      }
+    }
+    if (keys[i] == null) {
+      return;
+    }
+    keys[i] = null;
+    values[i] = null;
+    extraSize--;
+    // shift back following entries of the probe sequence, so that lookups don't stop at the hole
+    for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+      int home = keys[j].hashCode() & mask;
+      if (((j - home) & mask) >= ((j - i) & mask)) {
+        keys[i] = keys[j];
+        values[i] = values[j];
+        keys[j] = null;
+        values[j] = null;
+        i = j;
+      }
+    }
+  }
+
+  private void resize(int capacity) {
+    String[] oldKeys = keys;
+    String[] oldValues = values;
+    keys = new String[capacity];
+    values = new String[capacity];
+    int mask = capacity - 1;
+    for (int j = 0; j < oldKeys.length; j++) {
+      if (oldKeys[j] != null) {
+        int i = oldKeys[j].hashCode() & mask;
+        while (keys[i] != null) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+
+  private String wellKnownValue(int index) {
+    switch (index) {
+      case 0:
+        return qualifier;
+      case 1:
+        return dataFormat;
+      case 2:
+        return dataType;
+      default:
+        return streamId;
+    }
+  }
+
+  private static String wellKnownName(int index) {
+    switch (index) {
+      case 0:
+        return HEADER_QUALIFIER;
+      case 1:
+        return HEADER_DATA_FORMAT;
+      case 2:
+        return HEADER_DATA_TYPE;
+      default:
+        return HEADER_STREAM_ID;
+    }
+  }
+
+  private static final class MapView extends AbstractMap<String, String> {
+
+    private final MessageHeaders headers;
+
+    private MapView(MessageHeaders headers) {
+      this.headers = headers;
+    }
+
+    private MessageHeaders headers() {
+      return headers;
+    }
+
+    @Override
+    public String get(Object key) {
+      return key instanceof String ? headers.get((String) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+      return headers.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return headers.isEmpty();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super String> action) {
+      headers.forEach(action::accept);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return new AbstractSet<Entry<String, String>>() {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+          return new EntryIterator(headers.resolved());
+        }
+
+        @Override
+        public int size() {
+          return headers.size();
+        }
+      };
+    }
+  }
+
+  private static final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+
+    private final MessageHeaders headers;
+    private final int length;
+    private int cursor = -1;
+
+    private EntryIterator(MessageHeaders headers) {
+      this.headers = headers;
+      this.length = WELL_KNOWN_COUNT + (headers.keys != null ? headers.keys.length : 0);
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return cursor < length;
+    }
+
+    @Override
+    public Map.Entry<String, String> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Map.Entry<String, String> entry;
+      if (cursor < WELL_KNOWN_COUNT) {
+        entry =
+            new AbstractMap.SimpleImmutableEntry<>(
+                wellKnownName(cursor), headers.wellKnownValue(cursor));
+      } else {
+        int i = cursor - WELL_KNOWN_COUNT;
+        entry = new AbstractMap.SimpleImmutableEntry<>(headers.keys[i], headers.values[i]);
+      }
+      advance();
+      return entry;
+    }
+
+    private void advance() {
+      for (cursor++; cursor < length; cursor++) {
+        if (cursor < WELL_KNOWN_COUNT
+            ? headers.wellKnownValue(cursor) != null
+            : headers.keys[cursor - WELL_KNOWN_COUNT] != null) {
+          return;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package io.scalecube.services.api;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Latency breakdown of a request-response call. Holds monotonic ({@link System#nanoTime()})
+ * timestamps of the stages which request and its response go through, in a fixed-size array which
+ * travels along with the message in {@link ServiceMessage#HEADER_TRACE} header.
+ *
+ * <p>Monotonic timestamps of different processes aren't comparable, so only spans between stages
+ * marked by the same process are measured, see {@link #forEachSpan(ObjLongConsumer)}. Client opts
+ * in to tracing by sending the trace header (with empty value), and gets the breakdown back in the
+ * same header of the response.
+ */
+public final class MessageTrace {
+
+  /** Request is received by gateway. */
+  public static final int GATEWAY_RECV = 0;
+  /** Request is routed by service call. */
+  public static final int ROUTE = 1;
+  /** Request is sent by client transport. */
+  public static final int TRANSPORT_SEND = 2;
+  /** Request is received by server transport. */
+  public static final int SERVICE_RECV = 3;
+  /** Service method is invoked. */
+  public static final int INVOKE_START = 4;
+  /** Service method produced response. */
+  public static final int INVOKE_END = 5;
+  /** Response is encoded by server transport. */
+  public static final int RESPONSE_ENCODE = 6;
+  /** Response is received by client transport. */
+  public static final int RESPONSE_RECV = 7;
+
+  private static final int STAGES = 8;
+  private static final int SIZE = STAGES * Long.BYTES;
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final long[] timestamps = new long[STAGES];
+
+  /**
+   * Starts trace of the message if it was requested by the sender, i.e. message has trace header.
+   * Any timestamps which came in the header are discarded.
+   *
+   * @param message incoming message
+   * @param stage stage to mark
+   * @return message with new trace, or given message if trace wasn't requested
+   */
+  public static ServiceMessage start(ServiceMessage message, int stage) {
+    if (message.header(ServiceMessage.HEADER_TRACE) == null) {
+      return message;
+    }
+    MessageTrace trace = new MessageTrace();
+    trace.mark(stage);
+    return ServiceMessage.from(message).trace(trace).build();
+  }
+
+  /**
+   * Marks stage of the message trace, if message is traced.
+   *
+   * @param message traced message
+   * @param stage stage to mark
+   */
+  public static void mark(ServiceMessage message, int stage) {
+    MessageTrace trace = message.trace();
+    if (trace != null) {
+      trace.mark(stage);
+    }
+  }
+
+  /**
+   * Marks stage of the message trace, if message is traced, and updates its trace header. Meant for
+   * messages which are about to leave the process.
+   *
+   * @param message traced message
+   * @param stage stage to mark
+   * @return message with up to date trace header, or given message if it isn't traced
+   */
+  public static ServiceMessage markAndEncode(ServiceMessage message, int stage) {
+    MessageTrace trace = message.trace();
+    if (trace == null) {
+      return message;
+    }
+    trace.mark(stage);
+    return ServiceMessage.from(message).trace(trace).build();
+  }
+
+  /**
+   * Decodes trace from header value. Malformed (e.g. empty) value gives empty trace.
+   *
+   * @param value header value
+   * @return trace
+   */
+  public static MessageTrace decode(String value) {
+    MessageTrace trace = new MessageTrace();
+    byte[] bytes;
+    try {
+      bytes = DECODER.decode(value);
+    } catch (IllegalArgumentException ex) {
+      return trace;
+    }
+    if (bytes.length == SIZE) {
+      ByteBuffer.wrap(bytes).asLongBuffer().get(trace.timestamps);
+    }
+    return trace;
+  }
+
+  /**
+   * Encodes trace to header value.
+   *
+   * @return header value
+   */
+  public String encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+    buffer.asLongBuffer().put(timestamps);
+    return ENCODER.encodeToString(buffer.array());
+  }
+
+  /**
+   * Marks stage with current time.
+   *
+   * @param stage stage
+   */
+  public void mark(int stage) {
+    timestamps[stage] = System.nanoTime();
+  }
+
+  /**
+   * Returns timestamp of the stage.
+   *
+   * @param stage stage
+   * @return timestamp in nanoseconds, 0 if stage isn't marked
+   */
+  public long timestamp(int stage) {
+    return timestamps[stage];
+  }
+
+  /**
+   * Returns duration between two stages.
+   *
+   * @param from start stage
+   * @param to end stage
+   * @return duration in nanoseconds, or -1 if any of stages isn't marked
+   */
+  public long duration(int from, int to) {
+    long start = timestamps[from];
+    long end = timestamps[to];
+    return start != 0 && end != 0 ? end - start : -1;
+  }
+
+  /**
+   * Gives durations of spans between stages which were marked by the same process.
+   *
+   * @param consumer consumer of span name and its duration in nanoseconds
+   */
+  public void forEachSpan(ObjLongConsumer<String> consumer) {
+    // caller side
+    span("route", GATEWAY_RECV, ROUTE, consumer);
+    span("transport-send", ROUTE, TRANSPORT_SEND, consumer);
+    span("round-trip", TRANSPORT_SEND, RESPONSE_RECV, consumer);
+    if (timestamps[TRANSPORT_SEND] == 0) {
+      span("local-dispatch", ROUTE, INVOKE_START, consumer);
+    }
+    // service side
+    span("service-dispatch", SERVICE_RECV, INVOKE_START, consumer);
+    span("invoke", INVOKE_START, INVOKE_END, consumer);
+    span("response-encode", INVOKE_END, RESPONSE_ENCODE, consumer);
+  }
+
+  private void span(String name, int from, int to, ObjLongConsumer<String> consumer) {
+    long duration = duration(from, to);
+    if (duration >= 0) {
+      consumer.accept(name, duration);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("MessageTrace {");
+    forEachSpan((name, duration) -> sb.append(' ').append(name).append(": ").append(duration));
+    return sb.append(" }").toString();
+  }
+}
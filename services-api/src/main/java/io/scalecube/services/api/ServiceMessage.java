@@ -1,7 +1,5 @@
 package io.scalecube.services.api;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -30,25 +28,45 @@ public final class ServiceMessage {
    */
   public static final String HEADER_DATA_FORMAT = "_data_format";
 
-  private Map<String, String> headers = new HashMap<>(1);
+  /**
+   * Stream id header. Used by gateways to correlate messages of the same stream within single
+   * connection.
+   */
+  static final String HEADER_STREAM_ID = "sid";
+
+  /**
+   * Trace header. Carries encoded {@link MessageTrace}; being sent with empty value it requests
+   * tracing of the call.
+   */
+  public static final String HEADER_TRACE = "_trace";
+
+  private MessageHeaders headers = MessageHeaders.EMPTY;
   private Object data;
+  // marks message which turned out to have no trace header, so that header is looked up once
+  private static final MessageTrace NOT_TRACED = new MessageTrace();
+
+  private MessageTrace trace; // decoded from trace header on demand
 
   /** Instantiates empty message for deserialization purpose. */
   ServiceMessage() {}
 
   private ServiceMessage(Builder builder) {
     this.data = builder.data;
-    this.headers = Collections.unmodifiableMap(new HashMap<>(builder.headers));
+    this.headers = builder.headers;
+    this.trace = builder.trace;
   }
 
   /**
-   * Instantiates new message with the same data and headers as at given message.
+   * Instantiates new message with the same data and headers as at given message. Headers are not
+   * copied until builder modifies them.
    *
    * @param message the message to be copied
    * @return a new message, with the same data and headers
    */
   public static Builder from(ServiceMessage message) {
-    return ServiceMessage.builder().data(message.data()).headers(message.headers());
+    Builder builder = ServiceMessage.builder().data(message.data()).headers(message.headers);
+    builder.trace = message.trace != NOT_TRACED ? message.trace : null;
+    return builder;
   }
 
   /**
@@ -91,16 +109,26 @@ public final class ServiceMessage {
    * @param headers headers to set
    */
   void setHeaders(Map<String, String> headers) {
-    this.headers = Collections.unmodifiableMap(new HashMap<>(headers));
+    this.headers = MessageHeaders.of(headers);
   }
 
   /**
    * Returns the message headers.
    *
-   * @return message headers
+   * @return read-only message headers
    */
   public Map<String, String> headers() {
-    return headers;
+    return headers.asMap();
+  }
+
+  /**
+   * Returns lazily decoded headers this message was built with, as long as they weren't modified.
+   * Allows transport to reuse encoded form of headers it has decoded.
+   *
+   * @return lazily decoded headers or null if message headers are not decoded lazily
+   */
+  public LazyHeaders lazyHeaders() {
+    return headers.source();
   }
 
   /**
@@ -132,6 +160,21 @@ public final class ServiceMessage {
     return header(HEADER_DATA_FORMAT);
   }
 
+  /**
+   * Returns trace of the message. Trace is mutable and shared by messages which are built from this
+   * one, so stages marked in the same process don't require to rebuild the message.
+   *
+   * @return message trace, or null if message isn't traced
+   */
+  public MessageTrace trace() {
+    MessageTrace trace = this.trace;
+    if (trace == null) {
+      String value = header(HEADER_TRACE);
+      this.trace = trace = value != null ? MessageTrace.decode(value) : NOT_TRACED;
+    }
+    return trace != NOT_TRACED ? trace : null;
+  }
+
   public String dataFormatOrDefault() {
     return Optional.ofNullable(dataFormat()).orElse(DEFAULT_DATA_FORMAT);
   }
@@ -197,13 +240,15 @@ public final class ServiceMessage {
 
   @Override
   public String toString() {
-    return "ServiceMessage {headers: " + headers + ", data: " + data + '}';
+    return "ServiceMessage {headers: " + headers() + ", data: " + data + '}';
   }
 
   public static class Builder {
 
-    private Map<String, String> headers = new HashMap<>();
+    private MessageHeaders headers = MessageHeaders.EMPTY;
+    private boolean headersShared = true;
     private Object data;
+    private MessageTrace trace;
 
     private Builder() {}
 
@@ -213,24 +258,60 @@ public final class ServiceMessage {
     }
 
     public Builder dataType(Class<?> data) {
-      headers.put(HEADER_DATA_TYPE, data.getName());
+      mutableHeaders().put(HEADER_DATA_TYPE, data.getName());
       return this;
     }
 
     public Builder dataFormat(String dataFormat) {
-      headers.put(HEADER_DATA_FORMAT, dataFormat);
+      mutableHeaders().put(HEADER_DATA_FORMAT, dataFormat);
       return this;
     }
 
-    private Map<String, String> headers() {
-      return this.headers;
-    }
-
+    /**
+     * Sets all given headers.
+     *
+     * @param headers headers; not null
+     * @return self
+     */
     public Builder headers(Map<String, String> headers) {
+      MessageHeaders viewed = MessageHeaders.viewed(headers);
+      if (viewed != null) {
+        return headers(viewed);
+      }
       headers.forEach(this::header);
       return this;
     }
 
+    /**
+     * Sets headers which are decoded on demand. Intended for transports, so that routing a message
+     * doesn't require to decode all of its headers.
+     *
+     * @param headers lazily decoded headers; not null
+     * @return self
+     */
+    public Builder headers(LazyHeaders headers) {
+      Objects.requireNonNull(headers);
+      return headers(new LazyMessageHeaders(headers));
+    }
+
+    private Builder headers(MessageHeaders headers) {
+      if (this.headers.isEmpty()) {
+        this.headers = headers;
+        this.headersShared = true;
+      } else {
+        headers.forEach(this::header);
+      }
+      return this;
+    }
+
+    private MessageHeaders mutableHeaders() {
+      if (headersShared) {
+        headers = headers.copy();
+        headersShared = false;
+      }
+      return headers;
+    }
+
     /**
      * Sets a header key value pair.
      *
@@ -241,7 +322,7 @@ public final class ServiceMessage {
     public Builder header(String key, String value) {
       Objects.requireNonNull(key);
       Objects.requireNonNull(value);
-      headers.put(key, value);
+      mutableHeaders().put(key, value);
       return this;
     }
 
@@ -255,7 +336,22 @@ public final class ServiceMessage {
     public Builder header(String key, Object value) {
       Objects.requireNonNull(key);
       Objects.requireNonNull(value);
-      headers.put(key, value.toString());
+      mutableHeaders().put(key, value.toString());
+      return this;
+    }
+
+    /**
+     * Removes a header. Headers are copied only if there's such header, so that message without it
+     * keeps sharing headers (and their encoded form) with the original message.
+     *
+     * @param key key; not null
+     * @return self
+     */
+    public Builder removeHeader(String key) {
+      Objects.requireNonNull(key);
+      if (headers.get(key) != null) {
+        mutableHeaders().remove(key);
+      }
       return this;
     }
 
@@ -267,7 +363,22 @@ public final class ServiceMessage {
       return qualifier(Qualifier.asString(serviceName, methodName));
     }
 
+    /**
+     * Sets message trace. Trace header is encoded when message is built.
+     *
+     * @param trace message trace; not null
+     * @return self
+     */
+    public Builder trace(MessageTrace trace) {
+      this.trace = Objects.requireNonNull(trace);
+      return this;
+    }
+
     public ServiceMessage build() {
+      if (trace != null) {
+        mutableHeaders().put(HEADER_TRACE, trace.encode());
+      }
+      headersShared = true;
       return new ServiceMessage(this);
     }
   }
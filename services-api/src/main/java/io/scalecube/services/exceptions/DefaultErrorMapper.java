@@ -40,25 +40,29 @@ public final class DefaultErrorMapper
 
   @Override
   public ServiceMessage toMessage(Throwable throwable) {
-    int errorCode = DEFAULT_ERROR_CODE;
-    int errorType = DEFAULT_ERROR_CODE;
-
-    if (throwable instanceof ServiceException) {
-      errorCode = ((ServiceException) throwable).errorCode();
-      if (throwable instanceof BadRequestException) {
-        errorType = BadRequestException.ERROR_TYPE;
-      } else if (throwable instanceof UnauthorizedException) {
-        errorType = UnauthorizedException.ERROR_TYPE;
-      } else if (throwable instanceof ServiceUnavailableException) {
-        errorType = ServiceUnavailableException.ERROR_TYPE;
-      } else if (throwable instanceof InternalServiceException) {
-        errorType = InternalServiceException.ERROR_TYPE;
-      }
-    }
+    int errorCode =
+        throwable instanceof ServiceException
+            ? ((ServiceException) throwable).errorCode()
+            : DEFAULT_ERROR_CODE;
+    int errorType = toErrorType(throwable);
 
     String errorMessage =
         Optional.ofNullable(throwable.getMessage()).orElseGet(throwable::toString);
 
     return ServiceMessage.error(errorType, errorCode, errorMessage);
   }
+
+  @Override
+  public int toErrorType(Throwable throwable) {
+    if (throwable instanceof BadRequestException) {
+      return BadRequestException.ERROR_TYPE;
+    } else if (throwable instanceof UnauthorizedException) {
+      return UnauthorizedException.ERROR_TYPE;
+    } else if (throwable instanceof ServiceUnavailableException) {
+      return ServiceUnavailableException.ERROR_TYPE;
+    } else if (throwable instanceof InternalServiceException) {
+      return InternalServiceException.ERROR_TYPE;
+    }
+    return DEFAULT_ERROR_CODE;
+  }
 }
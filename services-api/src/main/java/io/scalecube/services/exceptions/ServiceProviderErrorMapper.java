@@ -12,4 +12,15 @@ public interface ServiceProviderErrorMapper {
    * @return a service message mapped from the supplied exception.
    */
   ServiceMessage toMessage(Throwable throwable);
+
+  /**
+   * Maps an exception to error type of the message it would be mapped to. Meant for metrics, so
+   * mappers are encouraged to override it without building the message.
+   *
+   * @param throwable the exception to map to error type.
+   * @return error type of the message mapped from the supplied exception.
+   */
+  default int toErrorType(Throwable throwable) {
+    return toMessage(throwable).errorType();
+  }
 }
@@ -0,0 +1,19 @@
+package io.scalecube.services.methods;
+
+/**
+ * Call site of a service method bound to the service instance. Implementations are created once,
+ * at registration time, and invoked for every request.
+ */
+@FunctionalInterface
+public interface MethodAccessor {
+
+  /**
+   * Invokes service method. Exception thrown by the service method must be propagated as is (i.e.
+   * not wrapped into {@link java.lang.reflect.InvocationTargetException}).
+   *
+   * @param request request argument, ignored if service method doesn't accept parameters
+   * @return result of the service method
+   * @throws Throwable exception thrown by the service method
+   */
+  Object invoke(Object request) throws Throwable;
+}
@@ -0,0 +1,31 @@
+package io.scalecube.services.methods;
+
+import java.lang.reflect.Method;
+
+/**
+ * Strategy of creating {@link MethodAccessor} for a service method.
+ */
+@FunctionalInterface
+public interface MethodAccessorFactory {
+
+  /**
+   * Strategy which calls service methods with {@link Method#invoke(Object, Object...)}.
+   */
+  MethodAccessorFactory REFLECTION = MethodAccessors::reflection;
+
+  /**
+   * Strategy which calls service methods via direct call sites generated with {@link
+   * java.lang.invoke.LambdaMetafactory}, falls back to reflection when call site can't be
+   * generated.
+   */
+  MethodAccessorFactory GENERATED = MethodAccessors::generated;
+
+  /**
+   * Creates method accessor.
+   *
+   * @param method service method
+   * @param service service instance
+   * @return method accessor
+   */
+  MethodAccessor create(Method method, Object service);
+}
@@ -0,0 +1,126 @@
+package io.scalecube.services.methods;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory methods of {@link MethodAccessor} implementations.
+ */
+public final class MethodAccessors {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MethodAccessors.class);
+
+  private MethodAccessors() {
+    // Do not instantiate
+  }
+
+  /**
+   * Creates method accessor which calls service method with reflection.
+   *
+   * @param method service method
+   * @param service service instance
+   * @return method accessor
+   */
+  public static MethodAccessor reflection(Method method, Object service) {
+    if (method.getParameterCount() == 0) {
+      return request -> invokeReflectively(method, service);
+    }
+    return request -> invokeReflectively(method, service, request);
+  }
+
+  /**
+   * Creates method accessor which calls service method through a call site generated with {@link
+   * LambdaMetafactory}, i.e. without reflection on the hot path. Falls back to {@link
+   * #reflection(Method, Object)} when service method isn't accessible for generated code.
+   *
+   * @param method service method
+   * @param service service instance
+   * @return method accessor
+   */
+  public static MethodAccessor generated(Method method, Object service) {
+    if (method.getParameterCount() > 1 || !isVisible(method)) {
+      return reflection(method, service);
+    }
+    try {
+      Lookup lookup = MethodHandles.lookup();
+      MethodHandle target = lookup.unreflect(method);
+      Class<?> receiverType = method.getDeclaringClass();
+      Class<?> returnType = method.getReturnType();
+
+      if (method.getParameterCount() == 0) {
+        CallSite callSite =
+            LambdaMetafactory.metafactory(
+                lookup,
+                "get",
+                MethodType.methodType(Supplier.class, receiverType),
+                MethodType.methodType(Object.class),
+                target,
+                MethodType.methodType(returnType));
+        Supplier<?> supplier = (Supplier<?>) callSite.getTarget().invoke(service);
+        return request -> supplier.get();
+      }
+
+      CallSite callSite =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "apply",
+              MethodType.methodType(Function.class, receiverType),
+              MethodType.methodType(Object.class, Object.class),
+              target,
+              MethodType.methodType(returnType, method.getParameterTypes()[0]));
+      //noinspection unchecked
+      Function<Object, ?> function = (Function<Object, ?>) callSite.getTarget().invoke(service);
+      return function::apply;
+    } catch (Throwable ex) {
+      LOGGER.debug("Failed to generate call site for {}, using reflection: {}", method, ex);
+      return reflection(method, service);
+    }
+  }
+
+  private static Object invokeReflectively(Method method, Object service, Object... args)
+      throws Throwable {
+    try {
+      return method.invoke(service, args);
+    } catch (InvocationTargetException ex) {
+      throw Optional.ofNullable(ex.getCause()).orElse(ex);
+    }
+  }
+
+  /**
+   * Generated call site is defined against class loader of this class, so it may only refer to
+   * types visible from it.
+   */
+  private static boolean isVisible(Method method) {
+    if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) {
+      return false;
+    }
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      if (!isVisible(parameterType)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isVisible(Class<?> type) {
+    if (type.isPrimitive()) {
+      return true;
+    }
+    try {
+      return Class.forName(type.getName(), false, MethodAccessors.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException ex) {
+      return false;
+    }
+  }
+}
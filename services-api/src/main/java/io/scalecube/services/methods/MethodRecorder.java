@@ -0,0 +1,56 @@
+package io.scalecube.services.methods;
+
+/**
+ * Recorder of calls of a service method. It's called on the hot path of every call, so
+ * implementations must be cheap, thread-safe and must not block.
+ */
+public interface MethodRecorder {
+
+  /** Recorder which records nothing. */
+  MethodRecorder NO_OP =
+      new MethodRecorder() {
+        @Override
+        public long onStart() {
+          return 0;
+        }
+
+        @Override
+        public void onNext() {
+          // no-op
+        }
+
+        @Override
+        public void onError(int errorType) {
+          // no-op
+        }
+
+        @Override
+        public void onFinish(long startTime) {
+          // no-op
+        }
+      };
+
+  /**
+   * Records start of a call.
+   *
+   * @return start time of the call, to be given to {@link #onFinish(long)}
+   */
+  long onStart();
+
+  /** Records response (stream element) of a call. */
+  void onNext();
+
+  /**
+   * Records error of a call.
+   *
+   * @param errorType error type
+   */
+  void onError(int errorType);
+
+  /**
+   * Records end of a call, either successful, failed or cancelled.
+   *
+   * @param startTime start time of the call returned by {@link #onStart()}
+   */
+  void onFinish(long startTime);
+}
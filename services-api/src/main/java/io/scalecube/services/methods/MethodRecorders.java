@@ -0,0 +1,101 @@
+package io.scalecube.services.methods;
+
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.DefaultErrorMapper;
+import io.scalecube.services.exceptions.ServiceProviderErrorMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Helpers to record calls of service methods with {@link MethodRecorder}. */
+public final class MethodRecorders {
+
+  private MethodRecorders() {
+    // Do not instantiate
+  }
+
+  /**
+   * Records call with single response. Errors are recorded whether they come as error messages or
+   * as error signal, error type of the latter is given by {@link DefaultErrorMapper}.
+   *
+   * @param response response of the call
+   * @param recorder method recorder
+   * @return recorded response
+   */
+  public static Mono<ServiceMessage> record(
+      Mono<ServiceMessage> response, MethodRecorder recorder) {
+    return record(response, recorder, DefaultErrorMapper.INSTANCE);
+  }
+
+  /**
+   * Records call with single response. Errors are recorded whether they come as error messages or
+   * as error signal, error type of the latter is given by error mapper.
+   *
+   * @param response response of the call
+   * @param recorder method recorder
+   * @param errorMapper error mapper
+   * @return recorded response
+   */
+  public static Mono<ServiceMessage> record(
+      Mono<ServiceMessage> response,
+      MethodRecorder recorder,
+      ServiceProviderErrorMapper errorMapper) {
+    if (recorder == MethodRecorder.NO_OP) {
+      return response;
+    }
+    return Mono.defer(
+        () -> {
+          long startTime = recorder.onStart();
+          return response
+              .doOnNext(message -> onNext(recorder, message))
+              .doOnError(throwable -> recorder.onError(errorMapper.toErrorType(throwable)))
+              .doFinally(signalType -> recorder.onFinish(startTime));
+        });
+  }
+
+  /**
+   * Records call with stream of responses. Errors are recorded whether they come as error messages
+   * or as error signal, error type of the latter is given by {@link DefaultErrorMapper}.
+   *
+   * @param responses responses of the call
+   * @param recorder method recorder
+   * @return recorded responses
+   */
+  public static Flux<ServiceMessage> record(
+      Flux<ServiceMessage> responses, MethodRecorder recorder) {
+    return record(responses, recorder, DefaultErrorMapper.INSTANCE);
+  }
+
+  /**
+   * Records call with stream of responses. Errors are recorded whether they come as error messages
+   * or as error signal, error type of the latter is given by error mapper.
+   *
+   * @param responses responses of the call
+   * @param recorder method recorder
+   * @param errorMapper error mapper
+   * @return recorded responses
+   */
+  public static Flux<ServiceMessage> record(
+      Flux<ServiceMessage> responses,
+      MethodRecorder recorder,
+      ServiceProviderErrorMapper errorMapper) {
+    if (recorder == MethodRecorder.NO_OP) {
+      return responses;
+    }
+    return Flux.defer(
+        () -> {
+          long startTime = recorder.onStart();
+          return responses
+              .doOnNext(message -> onNext(recorder, message))
+              .doOnError(throwable -> recorder.onError(errorMapper.toErrorType(throwable)))
+              .doFinally(signalType -> recorder.onFinish(startTime));
+        });
+  }
+
+  private static void onNext(MethodRecorder recorder, ServiceMessage message) {
+    if (message.isError()) {
+      recorder.onError(message.errorType());
+    } else {
+      recorder.onNext();
+    }
+  }
+}
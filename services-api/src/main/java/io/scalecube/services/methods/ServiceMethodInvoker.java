@@ -1,11 +1,12 @@
 package io.scalecube.services.methods;
 
+import io.scalecube.services.api.MessageTrace;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.BadRequestException;
 import io.scalecube.services.exceptions.ServiceProviderErrorMapper;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -17,10 +18,10 @@ import reactor.core.publisher.Mono;
  */
 public final class ServiceMethodInvoker {
 
-  private final Method method;
-  private final Object service;
+  private final MethodAccessor methodAccessor;
   private final MethodInfo methodInfo;
   private final ServiceProviderErrorMapper errorMapper;
+  private final MethodRecorder recorder;
 
   /**
    * Constructs a service method invoker out of real service object instance and method info.
@@ -35,10 +36,48 @@ public final class ServiceMethodInvoker {
       Object service,
       MethodInfo methodInfo,
       ServiceProviderErrorMapper errorMapper) {
-    this.method = method;
-    this.service = service;
+    this(method, service, methodInfo, errorMapper, MethodAccessorFactory.GENERATED);
+  }
+
+  /**
+   * Constructs a service method invoker out of real service object instance and method info.
+   *
+   * @param method service method
+   * @param service service instance
+   * @param methodInfo method information
+   * @param errorMapper error mapper
+   * @param accessorFactory strategy of calling service method
+   */
+  public ServiceMethodInvoker(
+      Method method,
+      Object service,
+      MethodInfo methodInfo,
+      ServiceProviderErrorMapper errorMapper,
+      MethodAccessorFactory accessorFactory) {
+    this(method, service, methodInfo, errorMapper, accessorFactory, MethodRecorder.NO_OP);
+  }
+
+  /**
+   * Constructs a service method invoker out of real service object instance and method info.
+   *
+   * @param method service method
+   * @param service service instance
+   * @param methodInfo method information
+   * @param errorMapper error mapper
+   * @param accessorFactory strategy of calling service method
+   * @param recorder recorder of calls of service method
+   */
+  public ServiceMethodInvoker(
+      Method method,
+      Object service,
+      MethodInfo methodInfo,
+      ServiceProviderErrorMapper errorMapper,
+      MethodAccessorFactory accessorFactory,
+      MethodRecorder recorder) {
+    this.methodAccessor = accessorFactory.create(method, service);
     this.methodInfo = methodInfo;
     this.errorMapper = errorMapper;
+    this.recorder = recorder;
   }
 
   /**
@@ -52,7 +91,9 @@ public final class ServiceMethodInvoker {
       ServiceMessage message, BiFunction<ServiceMessage, Class<?>, ServiceMessage> dataDecoder) {
     return Mono.defer(() -> Mono.from(invoke(toRequest(message, dataDecoder))))
         .map(this::toResponse)
-        .onErrorResume(throwable -> Mono.just(errorMapper.toMessage(throwable)));
+        .onErrorResume(throwable -> Mono.just(errorMapper.toMessage(throwable)))
+        .transform(response -> trace(response, message.trace()))
+        .transform(response -> MethodRecorders.record(response, recorder, errorMapper));
   }
 
   /**
@@ -66,7 +107,9 @@ public final class ServiceMethodInvoker {
       ServiceMessage message, BiFunction<ServiceMessage, Class<?>, ServiceMessage> dataDecoder) {
     return Flux.defer(() -> Flux.from(invoke(toRequest(message, dataDecoder))))
         .map(this::toResponse)
-        .onErrorResume(throwable -> Flux.just(errorMapper.toMessage(throwable)));
+        .onErrorResume(throwable -> Flux.just(errorMapper.toMessage(throwable)))
+        .transform(responses -> trace(responses, message.trace()))
+        .transform(responses -> MethodRecorders.record(responses, recorder, errorMapper));
   }
 
   /**
@@ -83,23 +126,66 @@ public final class ServiceMethodInvoker {
         .map(message -> toRequest(message, dataDecoder))
         .transform(this::invoke)
         .map(this::toResponse)
-        .onErrorResume(throwable -> Flux.just(errorMapper.toMessage(throwable)));
+        .onErrorResume(throwable -> Flux.just(errorMapper.toMessage(throwable)))
+        .transform(responses -> MethodRecorders.record(responses, recorder, errorMapper));
+  }
+
+  /**
+   * Marks invocation stages of request trace and passes the trace on to the response.
+   *
+   * @param response response of the call
+   * @param trace request trace, may be null
+   * @return traced response
+   */
+  private static Mono<ServiceMessage> trace(Mono<ServiceMessage> response, MessageTrace trace) {
+    if (trace == null) {
+      return response;
+    }
+    return Mono.defer(
+        () -> {
+          trace.mark(MessageTrace.INVOKE_START);
+          return response.map(
+              message -> {
+                trace.mark(MessageTrace.INVOKE_END);
+                return ServiceMessage.from(message).trace(trace).build();
+              });
+        });
+  }
+
+  /**
+   * Marks invocation stages of request trace and passes the trace on to the first response.
+   *
+   * @param responses responses of the call
+   * @param trace request trace, may be null
+   * @return traced responses
+   */
+  private static Flux<ServiceMessage> trace(Flux<ServiceMessage> responses, MessageTrace trace) {
+    if (trace == null) {
+      return responses;
+    }
+    return Flux.defer(
+        () -> {
+          trace.mark(MessageTrace.INVOKE_START);
+          AtomicBoolean first = new AtomicBoolean(true);
+          return responses.map(
+              message -> {
+                if (!first.compareAndSet(true, false)) {
+                  return message;
+                }
+                trace.mark(MessageTrace.INVOKE_END);
+                return ServiceMessage.from(message).trace(trace).build();
+              });
+        });
   }
 
   private Publisher<?> invoke(Object arguments) {
     Publisher<?> result = null;
     Throwable throwable = null;
     try {
-      if (method.getParameterCount() == 0) {
-        result = (Publisher<?>) method.invoke(service);
-      } else {
-        result = (Publisher<?>) method.invoke(service, arguments);
-      }
+      result = (Publisher<?>) methodAccessor.invoke(arguments);
       if (result == null) {
         result = Mono.empty();
       }
-    } catch (InvocationTargetException ex) {
-      throwable = Optional.ofNullable(ex.getCause()).orElse(ex);
     } catch (Throwable ex) {
       throwable = ex;
     }
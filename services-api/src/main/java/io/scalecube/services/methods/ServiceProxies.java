@@ -0,0 +1,78 @@
+package io.scalecube.services.methods;
+
+import java.lang.reflect.Constructor;
+import java.util.Optional;
+
+/**
+ * Lookup of service proxies generated at compile time by {@code
+ * io.scalecube.services.processor.ServiceProxyProcessor}. Generated proxy of service interface
+ * {@code a.b.Outer$Service} is a class {@code a.b.Outer_Service_ServiceProxy} which implements
+ * the interface and has public constructor accepting {@link ServiceProxyHandler}.
+ */
+public final class ServiceProxies {
+
+  public static final String PROXY_CLASS_SUFFIX = "_ServiceProxy";
+
+  private static final ClassValue<Optional<Constructor<?>>> CONSTRUCTORS =
+      new ClassValue<Optional<Constructor<?>>>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> serviceInterface) {
+          return findConstructor(serviceInterface);
+        }
+      };
+
+  private ServiceProxies() {
+    // Do not instantiate
+  }
+
+  /**
+   * Returns name of generated proxy class for the given service interface.
+   *
+   * @param serviceInterfaceName binary name of service interface
+   * @return name of generated proxy class
+   */
+  public static String proxyClassName(String serviceInterfaceName) {
+    int index = serviceInterfaceName.lastIndexOf('.') + 1;
+    return serviceInterfaceName.substring(0, index)
+        + serviceInterfaceName.substring(index).replace('$', '_')
+        + PROXY_CLASS_SUFFIX;
+  }
+
+  /**
+   * Creates instance of generated proxy for the given service interface.
+   *
+   * @param serviceInterface service interface
+   * @param handler handler of service method calls
+   * @param <T> type of service interface
+   * @return generated proxy or empty if proxy wasn't generated for the service interface
+   */
+  public static <T> Optional<T> create(Class<T> serviceInterface, ServiceProxyHandler handler) {
+    return CONSTRUCTORS
+        .get(serviceInterface)
+        .map(
+            constructor -> {
+              try {
+                return serviceInterface.cast(constructor.newInstance(handler));
+              } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException(
+                    "Failed to create generated proxy of " + serviceInterface, ex);
+              }
+            });
+  }
+
+  private static Optional<Constructor<?>> findConstructor(Class<?> serviceInterface) {
+    try {
+      Class<?> proxyClass =
+          Class.forName(
+              proxyClassName(serviceInterface.getName()),
+              true,
+              serviceInterface.getClassLoader());
+      if (!serviceInterface.isAssignableFrom(proxyClass)) {
+        return Optional.empty();
+      }
+      return Optional.of(proxyClass.getConstructor(ServiceProxyHandler.class));
+    } catch (ClassNotFoundException | NoSuchMethodException ex) {
+      return Optional.empty();
+    }
+  }
+}
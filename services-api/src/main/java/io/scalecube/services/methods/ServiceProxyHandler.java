@@ -0,0 +1,53 @@
+package io.scalecube.services.methods;
+
+import io.scalecube.services.CommunicationMode;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handler of calls made on a service proxy. Generated service proxies (see {@link ServiceProxies})
+ * delegate every service method call to this handler along with constant {@link MethodInfo} of
+ * the method.
+ */
+public interface ServiceProxyHandler {
+
+  /**
+   * Handles call of {@link CommunicationMode#FIRE_AND_FORGET} service method.
+   *
+   * @param methodInfo method info
+   * @param request request argument or null if method doesn't accept parameters
+   * @return mono completing when request was sent
+   */
+  Mono<Void> fireAndForget(MethodInfo methodInfo, Object request);
+
+  /**
+   * Handles call of {@link CommunicationMode#REQUEST_RESPONSE} service method.
+   *
+   * @param methodInfo method info
+   * @param request request argument or null if method doesn't accept parameters
+   * @param <T> type of response
+   * @return mono of response
+   */
+  <T> Mono<T> requestResponse(MethodInfo methodInfo, Object request);
+
+  /**
+   * Handles call of {@link CommunicationMode#REQUEST_STREAM} service method.
+   *
+   * @param methodInfo method info
+   * @param request request argument or null if method doesn't accept parameters
+   * @param <T> type of responses
+   * @return flux of responses
+   */
+  <T> Flux<T> requestStream(MethodInfo methodInfo, Object request);
+
+  /**
+   * Handles call of {@link CommunicationMode#REQUEST_CHANNEL} service method.
+   *
+   * @param methodInfo method info
+   * @param requests publisher of requests
+   * @param <T> type of responses
+   * @return flux of responses
+   */
+  <T> Flux<T> requestChannel(MethodInfo methodInfo, Publisher<?> requests);
+}
@@ -0,0 +1,39 @@
+package io.scalecube.services.routing;
+
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.transport.api.Address;
+
+/**
+ * Router which takes load of service endpoints into account. Service call notifies it about every
+ * remote request it routed, so that router can track requests in flight and response latency per
+ * endpoint address.
+ */
+public interface LoadAwareRouter extends Router {
+
+  /**
+   * Invoked when request routed to the given address is issued.
+   *
+   * @param request request which was routed
+   * @param address endpoint address
+   */
+  void requestStarted(ServiceMessage request, Address address);
+
+  /**
+   * Invoked when first response of the request arrives, or request completes without responses.
+   * Not invoked if request fails, since time to failure says nothing about endpoint latency.
+   *
+   * @param request request which was routed
+   * @param address endpoint address
+   * @param latencyNanos time passed since request was issued, in nanoseconds
+   */
+  void responseReceived(ServiceMessage request, Address address, long latencyNanos);
+
+  /**
+   * Invoked when request terminates or gets cancelled. Invoked exactly once per {@link
+   * #requestStarted(ServiceMessage, Address)}.
+   *
+   * @param request request which was routed
+   * @param address endpoint address
+   */
+  void requestFinished(ServiceMessage request, Address address);
+}
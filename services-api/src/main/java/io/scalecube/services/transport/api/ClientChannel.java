@@ -1,16 +1,60 @@
 package io.scalecube.services.transport.api;
 
 import io.scalecube.services.api.ServiceMessage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /** Client channel interface. */
 public interface ClientChannel {
 
+  /**
+   * Header of a response to batched request, its value is position of the request in the batch.
+   */
+  String HEADER_BATCH_INDEX = "_bi";
+
   Mono<ServiceMessage> requestResponse(ServiceMessage message);
 
   Flux<ServiceMessage> requestStream(ServiceMessage message);
 
   Flux<ServiceMessage> requestChannel(Publisher<ServiceMessage> publisher);
+
+  /**
+   * Issues batch of request-response requests. Responses come in any order, each one has {@link
+   * #HEADER_BATCH_INDEX} header, requests without response are completed empty. By default
+   * requests are sent one by one, transport may override it to send them all at once. Empty batch
+   * completes right away, nothing is sent.
+   *
+   * @param messages requests
+   * @return flux of responses
+   */
+  default Flux<ServiceMessage> requestBatch(List<ServiceMessage> messages) {
+    return Flux.range(0, messages.size())
+        .flatMap(
+            index ->
+                requestResponse(messages.get(index))
+                    .map(
+                        response ->
+                            ServiceMessage.from(response)
+                                .header(HEADER_BATCH_INDEX, index)
+                                .build()));
+  }
+
+  /**
+   * Schedules task on the thread which serves this channel, so that e.g. requests gathered for the
+   * channel are flushed without hopping threads. By default task runs on {@link
+   * Schedulers#parallel()}.
+   *
+   * @param task task
+   * @param delay delay
+   * @param unit unit of delay
+   * @return disposable which cancels the task
+   */
+  default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+    return Schedulers.parallel().schedule(task, delay, unit);
+  }
 }
@@ -1,5 +1,9 @@
 package io.scalecube.services.transport.api;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 /** Client service transport interface. */
 public interface ClientTransport {
 
@@ -10,4 +14,14 @@ public interface ClientTransport {
    * @return client channel instance.
    */
   ClientChannel create(Address address);
+
+  /**
+   * Returns number of outstanding requests of every open connection, by remote address. Meant for
+   * monitoring; transports which don't keep track of it return empty map.
+   *
+   * @return outstanding requests of connections by remote address
+   */
+  default Map<Address, List<Integer>> outstandingRequests() {
+    return Collections.emptyMap();
+  }
 }
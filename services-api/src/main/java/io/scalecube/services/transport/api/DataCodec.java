@@ -1,5 +1,8 @@
 package io.scalecube.services.transport.api;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.scalecube.services.ServiceLoaderUtil;
 import java.io.IOException;
 import java.io.InputStream;
@@ -41,5 +44,31 @@ public interface DataCodec {
 
   void encode(OutputStream stream, Object value) throws IOException;
 
+  /**
+   * Encodes value into the given buffer. Codecs capable of writing into {@link ByteBuf} directly
+   * should override it, by default value is written through {@link ByteBufOutputStream}.
+   *
+   * @param buffer target buffer
+   * @param value value
+   * @throws IOException in case of encoding error
+   */
+  default void encode(ByteBuf buffer, Object value) throws IOException {
+    encode(new ByteBufOutputStream(buffer), value);
+  }
+
   Object decode(InputStream stream, Class<?> type) throws IOException;
+
+  /**
+   * Decodes value from the given buffer. Buffer is not released by this method. Codecs capable of
+   * reading {@link ByteBuf} directly should override it, by default value is read through {@link
+   * ByteBufInputStream}.
+   *
+   * @param buffer source buffer
+   * @param type value type
+   * @return value
+   * @throws IOException in case of decoding error
+   */
+  default Object decode(ByteBuf buffer, Class<?> type) throws IOException {
+    return decode(new ByteBufInputStream(buffer), type);
+  }
 }
@@ -1,5 +1,8 @@
 package io.scalecube.services.transport.api;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.scalecube.services.ServiceLoaderUtil;
 import java.io.IOException;
 import java.io.InputStream;
@@ -32,5 +35,57 @@ public interface HeadersCodec {
 
   void encode(OutputStream stream, Map<String, String> headers) throws IOException;
 
+  /**
+   * Encodes headers into the given buffer. Codecs capable of writing into {@link ByteBuf} directly
+   * should override it, by default headers are written through {@link ByteBufOutputStream}.
+   *
+   * @param buffer target buffer
+   * @param headers headers
+   * @throws IOException in case of encoding error
+   */
+  default void encode(ByteBuf buffer, Map<String, String> headers) throws IOException {
+    encode(new ByteBufOutputStream(buffer), headers);
+  }
+
   Map<String, String> decode(InputStream stream) throws IOException;
+
+  /**
+   * Decodes headers from the given buffer. Buffer is not released by this method. Codecs capable of
+   * reading {@link ByteBuf} directly should override it, by default headers are read through {@link
+   * ByteBufInputStream}.
+   *
+   * @param buffer source buffer
+   * @return headers
+   * @throws IOException in case of decoding error
+   */
+  default Map<String, String> decode(ByteBuf buffer) throws IOException {
+    return decode(new ByteBufInputStream(buffer));
+  }
+
+  /**
+   * Decodes value of a single header from the given buffer. Buffer is not released by this method.
+   * Codecs which can find a header without decoding the rest of headers should override it, by
+   * default all headers are decoded.
+   *
+   * @param buffer source buffer
+   * @param name header name
+   * @return header value or null if there's no such header
+   * @throws IOException in case of decoding error
+   */
+  default String decodeHeader(ByteBuf buffer, String name) throws IOException {
+    return decode(buffer).get(name);
+  }
+
+  /**
+   * Tells whether the given buffer has no headers. Buffer is not released by this method. Codecs
+   * which can tell it without decoding headers should override it, by default all headers are
+   * decoded.
+   *
+   * @param buffer source buffer
+   * @return true if there are no headers
+   * @throws IOException in case of decoding error
+   */
+  default boolean isEmpty(ByteBuf buffer) throws IOException {
+    return !buffer.isReadable() || decode(buffer).isEmpty();
+  }
 }
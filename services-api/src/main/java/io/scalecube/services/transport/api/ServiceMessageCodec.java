@@ -2,12 +2,13 @@ package io.scalecube.services.transport.api;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.scalecube.services.api.ErrorData;
+import io.scalecube.services.api.LazyHeaders;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.MessageCodecException;
+import java.util.Map;
 import java.util.function.BiFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +23,15 @@ public final class ServiceMessageCodec {
     this.headersCodec = headersCodec;
   }
 
+  /**
+   * Returns headers codec of this message codec.
+   *
+   * @return headers codec
+   */
+  public HeadersCodec headersCodec() {
+    return headersCodec;
+  }
+
   /**
    * Encode a message, transform it to T.
    *
@@ -43,7 +53,7 @@ public final class ServiceMessageCodec {
       dataBuffer = ByteBufAllocator.DEFAULT.buffer();
       try {
         DataCodec dataCodec = DataCodec.getInstance(message.dataFormatOrDefault());
-        dataCodec.encode(new ByteBufOutputStream(dataBuffer), message.data());
+        dataCodec.encode(dataBuffer, message.data());
       } catch (Throwable ex) {
         ReferenceCountUtil.safestRelease(dataBuffer);
         LOGGER.error("Failed to encode data on: {}, cause: {}", message, ex);
@@ -52,10 +62,15 @@ public final class ServiceMessageCodec {
       }
     }
 
-    if (!message.headers().isEmpty()) {
+    LazyHeaders lazyHeaders = message.lazyHeaders();
+    if (lazyHeaders instanceof EncodedHeaders
+        && ((EncodedHeaders) lazyHeaders).isEncodedWith(headersCodec)) {
+      // headers weren't modified since they were decoded, so they are sent as they came
+      headersBuffer = ((EncodedHeaders) lazyHeaders).buffer();
+    } else if (!message.headers().isEmpty()) {
       headersBuffer = ByteBufAllocator.DEFAULT.buffer();
       try {
-        headersCodec.encode(new ByteBufOutputStream(headersBuffer), message.headers());
+        headersCodec.encode(headersBuffer, message.headers());
       } catch (Throwable ex) {
         ReferenceCountUtil.safestRelease(headersBuffer);
         ReferenceCountUtil.safestRelease(dataBuffer); // release data buf as well
@@ -69,7 +84,7 @@ public final class ServiceMessageCodec {
   }
 
   /**
-   * Decode buffers.
+   * Decode buffers. Headers are decoded lazily, on access, except the qualifier.
    *
    * @param dataBuffer the buffer of the data (payload)
    * @param headersBuffer the buffer of the headers
@@ -84,15 +99,19 @@ public final class ServiceMessageCodec {
       builder.data(dataBuffer);
     }
     if (headersBuffer.isReadable()) {
-      try (ByteBufInputStream stream = new ByteBufInputStream(headersBuffer, true)) {
-        builder.headers(headersCodec.decode(stream));
-      } catch (Throwable ex) {
-        ReferenceCountUtil.safestRelease(dataBuffer); // release data buf as well
-        throw new MessageCodecException("Failed to decode message headers", ex);
-      }
+      byte[] headers = ByteBufUtil.getBytes(headersBuffer);
+      ReferenceCountUtil.safestRelease(headersBuffer);
+      builder.headers(new EncodedHeaders(headersCodec, headers));
     }
 
-    return builder.build();
+    ServiceMessage message = builder.build();
+    try {
+      message.qualifier(); // fail fast on malformed headers
+    } catch (Throwable ex) {
+      ReferenceCountUtil.safestRelease(dataBuffer); // release data buf as well
+      throw new MessageCodecException("Failed to decode message headers", ex);
+    }
+    return message;
   }
 
   /**
@@ -116,14 +135,68 @@ public final class ServiceMessageCodec {
     Class<?> targetType = message.isError() ? ErrorData.class : dataType;
 
     ByteBuf dataBuffer = message.data();
-    try (ByteBufInputStream inputStream = new ByteBufInputStream(dataBuffer, true)) {
+    try {
       DataCodec dataCodec = DataCodec.getInstance(message.dataFormatOrDefault());
-      data = dataCodec.decode(inputStream, targetType);
+      data = dataCodec.decode(dataBuffer, targetType);
     } catch (Throwable ex) {
       throw new MessageCodecException(
           "Failed to decode data on message q=" + message.qualifier(), ex);
+    } finally {
+      ReferenceCountUtil.safestRelease(dataBuffer);
     }
 
     return ServiceMessage.from(message).data(data).build();
   }
+
+  /**
+   * Headers which are decoded from a copy of the metadata on access. Metadata is copied to heap
+   * rather than retained, because message has no release hook for it, and it's small anyway. The
+   * copy is never modified, so it's wrapped as is when message is encoded again with the same
+   * codec.
+   */
+  private static final class EncodedHeaders implements LazyHeaders {
+
+    private final HeadersCodec headersCodec;
+    private final byte[] headers;
+
+    private EncodedHeaders(HeadersCodec headersCodec, byte[] headers) {
+      this.headersCodec = headersCodec;
+      this.headers = headers;
+    }
+
+    @Override
+    public String header(String name) {
+      try {
+        return headersCodec.decodeHeader(buffer(), name);
+      } catch (Throwable ex) {
+        throw new MessageCodecException("Failed to decode message header " + name, ex);
+      }
+    }
+
+    @Override
+    public Map<String, String> headers() {
+      try {
+        return headersCodec.decode(buffer());
+      } catch (Throwable ex) {
+        throw new MessageCodecException("Failed to decode message headers", ex);
+      }
+    }
+
+    @Override
+    public boolean isEmpty() {
+      try {
+        return headersCodec.isEmpty(buffer());
+      } catch (Throwable ex) {
+        throw new MessageCodecException("Failed to decode message headers", ex);
+      }
+    }
+
+    private boolean isEncodedWith(HeadersCodec headersCodec) {
+      return this.headersCodec.contentType().equalsIgnoreCase(headersCodec.contentType());
+    }
+
+    private ByteBuf buffer() {
+      return Unpooled.wrappedBuffer(headers);
+    }
+  }
 }
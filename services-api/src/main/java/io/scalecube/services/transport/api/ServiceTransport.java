@@ -34,6 +34,18 @@ public interface ServiceTransport {
    */
   ClientTransport clientTransport(Resources resources);
 
+  /**
+   * Provider of client transport which encodes message headers with the given codec. Transports
+   * which don't support pluggable headers codec ignore it.
+   *
+   * @param resources service transport resources obtained at {@link #resources(int)}
+   * @param headersCodec headers codec
+   * @return client transport
+   */
+  default ClientTransport clientTransport(Resources resources, HeadersCodec headersCodec) {
+    return clientTransport(resources);
+  }
+
   /**
    * Provider of server transport.
    *
@@ -42,6 +54,18 @@ public interface ServiceTransport {
    */
   ServerTransport serverTransport(Resources resources);
 
+  /**
+   * Provider of server transport which uses the given headers codec by default, i.e. unless client
+   * negotiated another one. Transports which don't support pluggable headers codec ignore it.
+   *
+   * @param resources service transport resources obtained at {@link #resources(int)}
+   * @param headersCodec headers codec
+   * @return server transport
+   */
+  default ServerTransport serverTransport(Resources resources, HeadersCodec headersCodec) {
+    return serverTransport(resources);
+  }
+
   /** Service transport resources interface. */
   interface Resources {
 
@@ -0,0 +1,107 @@
+package io.scalecube.services.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class MessageTraceTest {
+
+  @Test
+  public void testTraceIsStartedOnlyIfRequested() {
+    ServiceMessage message = ServiceMessage.builder().qualifier("/service/method").build();
+    assertSame(message, MessageTrace.start(message, MessageTrace.GATEWAY_RECV));
+    assertNull(message.trace());
+
+    ServiceMessage requested =
+        ServiceMessage.from(message).header(ServiceMessage.HEADER_TRACE, "").build();
+    ServiceMessage traced = MessageTrace.start(requested, MessageTrace.GATEWAY_RECV);
+    assertNotNull(traced.trace());
+    assertTrue(traced.trace().timestamp(MessageTrace.GATEWAY_RECV) != 0);
+  }
+
+  @Test
+  public void testMissingTraceHeaderIsLookedUpOnce() {
+    AtomicInteger headerCalls = new AtomicInteger();
+    ServiceMessage message =
+        ServiceMessage.builder()
+            .headers(
+                new LazyHeaders() {
+                  @Override
+                  public String header(String name) {
+                    headerCalls.incrementAndGet();
+                    return null;
+                  }
+
+                  @Override
+                  public Map<String, String> headers() {
+                    return new HashMap<>();
+                  }
+                })
+            .build();
+
+    for (int i = 0; i < 3; i++) {
+      assertNull(message.trace());
+    }
+    assertEquals(1, headerCalls.get());
+
+    ServiceMessage requested =
+        ServiceMessage.from(message).header(ServiceMessage.HEADER_TRACE, "").build();
+    assertNotNull(requested.trace());
+  }
+
+  @Test
+  public void testTraceIsSharedByDerivedMessages() {
+    ServiceMessage request =
+        MessageTrace.start(
+            ServiceMessage.builder().header(ServiceMessage.HEADER_TRACE, "").build(),
+            MessageTrace.GATEWAY_RECV);
+
+    MessageTrace.mark(ServiceMessage.from(request).data("data").build(), MessageTrace.ROUTE);
+
+    assertTrue(request.trace().duration(MessageTrace.GATEWAY_RECV, MessageTrace.ROUTE) >= 0);
+  }
+
+  @Test
+  public void testTraceHeaderRoundTrip() {
+    ServiceMessage request =
+        MessageTrace.start(
+            ServiceMessage.builder().header(ServiceMessage.HEADER_TRACE, "").build(),
+            MessageTrace.GATEWAY_RECV);
+    ServiceMessage sent = MessageTrace.markAndEncode(request, MessageTrace.ROUTE);
+
+    // as if decoded by transport
+    ServiceMessage received = ServiceMessage.builder().headers(sent.headers()).build();
+    MessageTrace trace = received.trace();
+
+    for (int stage = MessageTrace.GATEWAY_RECV; stage <= MessageTrace.ROUTE; stage++) {
+      assertEquals(request.trace().timestamp(stage), trace.timestamp(stage));
+    }
+    assertEquals(-1, trace.duration(MessageTrace.SERVICE_RECV, MessageTrace.INVOKE_START));
+  }
+
+  @Test
+  public void testSpans() {
+    MessageTrace trace = new MessageTrace();
+    trace.mark(MessageTrace.GATEWAY_RECV);
+    trace.mark(MessageTrace.ROUTE);
+    trace.mark(MessageTrace.INVOKE_START);
+    trace.mark(MessageTrace.INVOKE_END);
+
+    Map<String, Long> spans = new HashMap<>();
+    trace.forEachSpan(spans::put);
+
+    assertEquals(3, spans.size());
+    assertTrue(spans.containsKey("route"));
+    assertTrue(spans.containsKey("local-dispatch"));
+    assertTrue(spans.containsKey("invoke"));
+    assertFalse(spans.containsKey("transport-send"));
+  }
+}
@@ -0,0 +1,137 @@
+package io.scalecube.services.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ServiceMessageTest {
+
+  @Test
+  public void testHeadersAsMap() {
+    Map<String, String> expected = new HashMap<>();
+    expected.put("q", "/service/method");
+    expected.put("_data_format", "application/json");
+    expected.put("sid", "42");
+    for (int i = 0; i < 20; i++) {
+      expected.put("header" + i, "value" + i);
+    }
+
+    ServiceMessage message = ServiceMessage.builder().headers(expected).build();
+
+    assertEquals(expected, message.headers());
+    assertEquals(expected.hashCode(), message.headers().hashCode());
+    assertEquals("/service/method", message.qualifier());
+    assertEquals("value7", message.header("header7"));
+    assertNull(message.header("_type"));
+    assertNull(message.header("header20"));
+    assertThrows(UnsupportedOperationException.class, () -> message.headers().put("k", "v"));
+  }
+
+  @Test
+  public void testDerivedMessageSharesHeadersUntilModified() {
+    ServiceMessage message =
+        ServiceMessage.builder().qualifier("/service/method").header("key", "value").build();
+
+    ServiceMessage copy = ServiceMessage.from(message).data("data").build();
+    assertSame(message.headers(), copy.headers());
+
+    ServiceMessage modified =
+        ServiceMessage.from(message).qualifier("/service/other").header("key", "other").build();
+    assertEquals("/service/method", message.qualifier());
+    assertEquals("value", message.header("key"));
+    assertEquals("/service/other", modified.qualifier());
+    assertEquals("other", modified.header("key"));
+  }
+
+  @Test
+  public void testRemoveHeader() {
+    Map<String, String> expected = new HashMap<>();
+    expected.put("q", "/service/method");
+    for (int i = 0; i < 20; i++) {
+      expected.put("header" + i, "value" + i);
+    }
+    ServiceMessage message = ServiceMessage.builder().headers(expected).build();
+
+    ServiceMessage same = ServiceMessage.from(message).removeHeader("absent").build();
+    assertSame(message.headers(), same.headers());
+
+    ServiceMessage.Builder builder = ServiceMessage.from(message).removeHeader("q");
+    for (int i = 0; i < 20; i += 2) {
+      builder.removeHeader("header" + i);
+      expected.remove("header" + i);
+    }
+    expected.remove("q");
+    ServiceMessage modified = builder.build();
+
+    assertEquals(expected, modified.headers());
+    assertNull(modified.qualifier());
+    assertEquals("value7", modified.header("header7"));
+    assertEquals("/service/method", message.qualifier());
+    assertEquals("value8", message.header("header8"));
+  }
+
+  @Test
+  public void testBuilderReuseDoesNotModifyBuiltMessage() {
+    ServiceMessage.Builder builder = ServiceMessage.builder().header("key", "value");
+    ServiceMessage first = builder.build();
+    ServiceMessage second = builder.header("key", "other").build();
+
+    assertEquals("value", first.header("key"));
+    assertEquals("other", second.header("key"));
+  }
+
+  @Test
+  public void testLazyHeadersDecodedOnDemand() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("q", "/service/method");
+    headers.put("key", "value");
+    AtomicInteger headerCalls = new AtomicInteger();
+    AtomicInteger headersCalls = new AtomicInteger();
+
+    ServiceMessage message =
+        ServiceMessage.builder()
+            .headers(
+                new LazyHeaders() {
+                  @Override
+                  public String header(String name) {
+                    headerCalls.incrementAndGet();
+                    return headers.get(name);
+                  }
+
+                  @Override
+                  public Map<String, String> headers() {
+                    headersCalls.incrementAndGet();
+                    return headers;
+                  }
+
+                  @Override
+                  public boolean isEmpty() {
+                    return headers.isEmpty();
+                  }
+                })
+            .build();
+    ServiceMessage derived = ServiceMessage.from(message).data("data").build();
+
+    assertEquals("/service/method", derived.qualifier());
+    assertEquals("/service/method", derived.qualifier());
+    assertNull(derived.dataFormat());
+    assertFalse(derived.headers().isEmpty());
+    assertEquals(2, headerCalls.get());
+    assertEquals(0, headersCalls.get());
+
+    assertEquals(headers, derived.headers());
+    assertEquals("value", message.header("key"));
+    assertEquals(1, headersCalls.get());
+
+    ServiceMessage modified = ServiceMessage.from(message).header("key", "other").build();
+    assertEquals("other", modified.header("key"));
+    assertEquals("value", message.header("key"));
+  }
+}
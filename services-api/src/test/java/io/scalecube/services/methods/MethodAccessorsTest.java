@@ -0,0 +1,52 @@
+package io.scalecube.services.methods;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Method;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class MethodAccessorsTest {
+
+  private final StubService stubService = new StubServiceImpl();
+
+  static Stream<MethodAccessorFactory> accessorFactories() {
+    return Stream.of(MethodAccessorFactory.REFLECTION, MethodAccessorFactory.GENERATED);
+  }
+
+  @ParameterizedTest
+  @MethodSource("accessorFactories")
+  @DisplayName("Accessor should return result of service method")
+  void testInvokeReturnsResult(MethodAccessorFactory accessorFactory) throws Throwable {
+    Method method = StubService.class.getMethod("returnNull3", Flux.class);
+    MethodAccessor accessor = accessorFactory.create(method, stubService);
+
+    assertNull(accessor.invoke(Flux.just("hello")));
+  }
+
+  @ParameterizedTest
+  @MethodSource("accessorFactories")
+  @DisplayName("Accessor should propagate exception of service method as is")
+  void testInvokePropagatesException(MethodAccessorFactory accessorFactory) {
+    RuntimeException exception = new RuntimeException("expected");
+    ThrowingService service =
+        () -> {
+          throw exception;
+        };
+    Method method = ThrowingService.class.getMethods()[0];
+    MethodAccessor accessor = accessorFactory.create(method, service);
+
+    assertSame(exception, assertThrows(RuntimeException.class, () -> accessor.invoke(null)));
+  }
+
+  public interface ThrowingService {
+
+    Mono<String> fail();
+  }
+}
@@ -2,9 +2,12 @@ package io.scalecube.services.benchmarks;
 
 import io.scalecube.benchmarks.BenchmarkState;
 import io.scalecube.benchmarks.metrics.BenchmarkTimer;
+import io.scalecube.services.api.MessageTrace;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.gateway.clientsdk.ClientMessage;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
@@ -17,6 +20,8 @@ public final class LatencyHelper {
 
   private final BenchmarkTimer clientToServiceTimer;
   private final BenchmarkTimer serviceToClientTimer;
+  private final Map<String, BenchmarkTimer> spanTimers = new ConcurrentHashMap<>(); // by span
+  private final BenchmarkState state;
 
   /**
    * Creates an instance which helps calculate gateway latency by the headers into received message.
@@ -24,6 +29,7 @@ public final class LatencyHelper {
    * @param state a benchmark state
    */
   public LatencyHelper(BenchmarkState state) {
+    this.state = state;
     clientToServiceTimer = state.timer("timer.client-to-service");
     serviceToClientTimer = state.timer("timer.service-to-client");
   }
@@ -45,6 +51,9 @@ public final class LatencyHelper {
         message.header(CLIENT_RECV_TIME),
         message.header(SERVICE_SEND_TIME),
         (v1, v2) -> serviceToClientTimer.update(v1 - v2, TimeUnit.MILLISECONDS));
+
+    // latency breakdown
+    calculateTrace(message.header(ServiceMessage.HEADER_TRACE));
   }
 
   /**
@@ -64,6 +73,20 @@ public final class LatencyHelper {
         message.header(CLIENT_RECV_TIME),
         message.header(SERVICE_SEND_TIME),
         (v1, v2) -> serviceToClientTimer.update(v1 - v2, TimeUnit.MILLISECONDS));
+
+    // latency breakdown
+    calculateTrace(message.header(ServiceMessage.HEADER_TRACE));
+  }
+
+  private void calculateTrace(String value) {
+    if (value != null) {
+      MessageTrace.decode(value)
+          .forEachSpan(
+              (name, duration) ->
+                  spanTimers
+                      .computeIfAbsent(name, key -> state.timer("timer.trace." + key))
+                      .update(duration, TimeUnit.NANOSECONDS));
+    }
   }
 
   private void eval(String value0, String value1, BiConsumer<Long, Long> consumer) {
@@ -5,6 +5,7 @@ import static io.scalecube.services.examples.BenchmarkService.CLIENT_SEND_TIME;
 
 import io.scalecube.benchmarks.BenchmarkSettings;
 import io.scalecube.benchmarks.metrics.BenchmarkMeter;
+import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.benchmarks.LatencyHelper;
 import io.scalecube.services.gateway.clientsdk.Client;
 import io.scalecube.services.gateway.clientsdk.ClientMessage;
@@ -77,6 +78,7 @@ public final class RequestOneScenario {
     return ClientMessage.builder()
         .qualifier(QUALIFIER)
         .header(CLIENT_SEND_TIME, System.currentTimeMillis())
+        .header(ServiceMessage.HEADER_TRACE, "")
         .build();
   }
 }
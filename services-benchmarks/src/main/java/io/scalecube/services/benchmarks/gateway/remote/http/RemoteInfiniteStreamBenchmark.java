@@ -0,0 +1,31 @@
+package io.scalecube.services.benchmarks.gateway.remote.http;
+
+import static io.scalecube.services.benchmarks.gateway.remote.RemoteBenchmarkState.HTTP_PORT;
+
+import io.scalecube.services.benchmarks.gateway.InfiniteStreamScenario;
+import io.scalecube.services.benchmarks.gateway.remote.RemoteBenchmarkState;
+import io.scalecube.services.gateway.clientsdk.Client;
+import io.scalecube.services.gateway.clientsdk.ClientSettings;
+
+public class RemoteInfiniteStreamBenchmark {
+
+  /**
+   * Main runner.
+   *
+   * @param args program arguments
+   */
+  public static void main(String[] args) {
+    InfiniteStreamScenario.runWith(
+        args,
+        benchmarkSettings ->
+            new RemoteBenchmarkState(
+                benchmarkSettings,
+                HTTP_PORT,
+                (address, loopResources) ->
+                    Client.onHttp(
+                        ClientSettings.builder()
+                            .address(address)
+                            .loopResources(loopResources)
+                            .build())));
+  }
+}
@@ -3,6 +3,7 @@ package io.scalecube.services.benchmarks.gateway.standalone;
 import io.scalecube.benchmarks.BenchmarkSettings;
 import io.scalecube.services.Microservices;
 import io.scalecube.services.benchmarks.gateway.AbstractBenchmarkState;
+import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
 import io.scalecube.services.examples.BenchmarkServiceImpl;
 import io.scalecube.services.gateway.GatewayConfig;
 import io.scalecube.services.gateway.clientsdk.Client;
@@ -34,6 +35,7 @@ public class StandaloneBenchmarkState extends AbstractBenchmarkState<StandaloneB
 
     microservices =
         Microservices.builder()
+            .discovery(ScalecubeServiceDiscovery::new)
             .services(new BenchmarkServiceImpl())
             .gateway(GatewayConfig.builder("rsws", RSocketGateway.class).build())
             .gateway(GatewayConfig.builder("ws", WebsocketGateway.class).build())
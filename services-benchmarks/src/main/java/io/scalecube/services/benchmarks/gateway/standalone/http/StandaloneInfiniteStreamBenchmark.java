@@ -0,0 +1,29 @@
+package io.scalecube.services.benchmarks.gateway.standalone.http;
+
+import io.scalecube.services.benchmarks.gateway.InfiniteStreamScenario;
+import io.scalecube.services.benchmarks.gateway.standalone.StandaloneBenchmarkState;
+import io.scalecube.services.gateway.clientsdk.Client;
+import io.scalecube.services.gateway.clientsdk.ClientSettings;
+
+public class StandaloneInfiniteStreamBenchmark {
+
+  /**
+   * Main runner.
+   *
+   * @param args program arguments
+   */
+  public static void main(String[] args) {
+    InfiniteStreamScenario.runWith(
+        args,
+        benchmarkSettings ->
+            new StandaloneBenchmarkState(
+                benchmarkSettings,
+                "http",
+                (address, loopResources) ->
+                    Client.onHttp(
+                        ClientSettings.builder()
+                            .address(address)
+                            .loopResources(loopResources)
+                            .build())));
+  }
+}
@@ -0,0 +1,13 @@
+package io.scalecube.services.benchmarks.methods;
+
+public class GeneratedMethodInvokerBenchmark {
+
+  /**
+   * Main method.
+   *
+   * @param args - params of main method.
+   */
+  public static void main(String[] args) {
+    MethodInvokerScenario.runWith(args, MethodInvokerBenchmarkState.Generated::new);
+  }
+}
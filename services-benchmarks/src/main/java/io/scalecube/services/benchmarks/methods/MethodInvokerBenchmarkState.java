@@ -0,0 +1,83 @@
+package io.scalecube.services.benchmarks.methods;
+
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.BenchmarkState;
+import io.scalecube.services.CommunicationMode;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.examples.BenchmarkService;
+import io.scalecube.services.examples.BenchmarkServiceImpl;
+import io.scalecube.services.exceptions.DefaultErrorMapper;
+import io.scalecube.services.methods.MethodAccessor;
+import io.scalecube.services.methods.MethodAccessorFactory;
+import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.methods.ServiceMethodInvoker;
+import java.lang.reflect.Method;
+
+public class MethodInvokerBenchmarkState extends BenchmarkState<MethodInvokerBenchmarkState> {
+
+  private final MethodAccessorFactory accessorFactory;
+
+  private MethodAccessor methodAccessor;
+  private ServiceMethodInvoker methodInvoker;
+  private ServiceMessage message;
+
+  /**
+   * State for benchmarking {@link ServiceMethodInvoker} with different {@link
+   * MethodAccessorFactory}-s.
+   *
+   * @param settings - setting of this benchmark test.
+   * @param accessorFactory - strategy of calling service method under test.
+   */
+  public MethodInvokerBenchmarkState(
+      BenchmarkSettings settings, MethodAccessorFactory accessorFactory) {
+    super(settings);
+    this.accessorFactory = accessorFactory;
+  }
+
+  @Override
+  protected void beforeAll() throws Exception {
+    BenchmarkService service = new BenchmarkServiceImpl();
+    Method method = BenchmarkService.class.getMethod("requestVoid", ServiceMessage.class);
+
+    MethodInfo methodInfo =
+        new MethodInfo(
+            BenchmarkService.NAMESPACE,
+            method.getName(),
+            Void.class,
+            CommunicationMode.REQUEST_RESPONSE,
+            method.getParameterCount(),
+            ServiceMessage.class);
+
+    this.methodAccessor = accessorFactory.create(method, service);
+    this.methodInvoker =
+        new ServiceMethodInvoker(
+            method, service, methodInfo, DefaultErrorMapper.INSTANCE, accessorFactory);
+    this.message = ServiceMessage.builder().qualifier(methodInfo.qualifier()).build();
+  }
+
+  public MethodAccessor methodAccessor() {
+    return methodAccessor;
+  }
+
+  public ServiceMethodInvoker methodInvoker() {
+    return methodInvoker;
+  }
+
+  public ServiceMessage message() {
+    return message;
+  }
+
+  public static class Reflection extends MethodInvokerBenchmarkState {
+
+    public Reflection(BenchmarkSettings settings) {
+      super(settings, MethodAccessorFactory.REFLECTION);
+    }
+  }
+
+  public static class Generated extends MethodInvokerBenchmarkState {
+
+    public Generated(BenchmarkSettings settings) {
+      super(settings, MethodAccessorFactory.GENERATED);
+    }
+  }
+}
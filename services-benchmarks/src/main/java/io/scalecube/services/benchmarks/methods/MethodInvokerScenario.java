@@ -0,0 +1,63 @@
+package io.scalecube.services.benchmarks.methods;
+
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.BenchmarkState;
+import io.scalecube.benchmarks.metrics.BenchmarkMeter;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer.Context;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.methods.MethodAccessor;
+import io.scalecube.services.methods.ServiceMethodInvoker;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class MethodInvokerScenario {
+
+  private MethodInvokerScenario() {
+    // Do not instantiate
+  }
+
+  /**
+   * Runner function for benchmarks.
+   *
+   * @param args program arguments
+   * @param benchmarkStateFactory producer function for {@link BenchmarkState}
+   */
+  public static void runWith(
+      String[] args,
+      Function<BenchmarkSettings, MethodInvokerBenchmarkState> benchmarkStateFactory) {
+
+    BenchmarkSettings settings =
+        BenchmarkSettings.from(args).durationUnit(TimeUnit.NANOSECONDS).build();
+
+    MethodInvokerBenchmarkState benchmarkState = benchmarkStateFactory.apply(settings);
+
+    benchmarkState.runForSync(
+        state -> {
+          BenchmarkTimer accessorTimer = state.timer("timer-accessor");
+          BenchmarkTimer invokerTimer = state.timer("timer-invoker");
+          BenchmarkMeter meter = state.meter("meter");
+          MethodAccessor methodAccessor = state.methodAccessor();
+          ServiceMethodInvoker methodInvoker = state.methodInvoker();
+          ServiceMessage message = state.message();
+          BiFunction<ServiceMessage, Class<?>, ServiceMessage> dataDecoder = (msg, type) -> msg;
+
+          return i -> {
+            Context accessorContext = accessorTimer.time();
+            try {
+              methodAccessor.invoke(message);
+            } catch (Throwable throwable) {
+              throw new RuntimeException(throwable);
+            }
+            accessorContext.stop();
+
+            Context invokerContext = invokerTimer.time();
+            ServiceMessage response = methodInvoker.invokeOne(message, dataDecoder).block();
+            invokerContext.stop();
+            meter.mark();
+            return response;
+          };
+        });
+  }
+}
@@ -0,0 +1,70 @@
+package io.scalecube.services.benchmarks.registry;
+
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.BenchmarkState;
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.ServiceMethodDefinition;
+import io.scalecube.services.ServiceRegistration;
+import io.scalecube.services.registry.ServiceRegistryImpl;
+import io.scalecube.services.registry.api.ServiceRegistry;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class RegistryBenchmarkState extends BenchmarkState<RegistryBenchmarkState> {
+
+  private static final String ENDPOINTS = "endpoints";
+  private static final String METHODS = "methods";
+
+  private final int endpointsCount;
+  private final int methodsCount;
+
+  private ServiceRegistry serviceRegistry;
+  private ServiceEndpoint[] serviceEndpoints;
+
+  /**
+   * State with service registry populated by a number of endpoints (10000 by default, see {@code
+   * endpoints} setting), each of them serving the same service with a number of methods (10 by
+   * default, see {@code methods} setting).
+   *
+   * @param settings - setting of this benchmark test.
+   */
+  public RegistryBenchmarkState(BenchmarkSettings settings) {
+    super(settings);
+    this.endpointsCount = Integer.parseInt(settings.find(ENDPOINTS, "10000"));
+    this.methodsCount = Integer.parseInt(settings.find(METHODS, "10"));
+  }
+
+  @Override
+  protected void beforeAll() {
+    List<ServiceMethodDefinition> methods =
+        IntStream.range(0, methodsCount)
+            .mapToObj(i -> new ServiceMethodDefinition("method" + i))
+            .collect(Collectors.toList());
+    ServiceRegistration serviceRegistration =
+        new ServiceRegistration("benchmarks", Collections.emptyMap(), methods);
+
+    serviceRegistry = new ServiceRegistryImpl();
+    serviceEndpoints = new ServiceEndpoint[endpointsCount];
+    for (int i = 0; i < endpointsCount; i++) {
+      serviceEndpoints[i] =
+          new ServiceEndpoint(
+              "endpoint" + i,
+              "host" + i,
+              4801,
+              Collections.singleton("application/json"),
+              Collections.emptyMap(),
+              Collections.singletonList(serviceRegistration));
+      serviceRegistry.registerService(serviceEndpoints[i]);
+    }
+  }
+
+  public ServiceRegistry serviceRegistry() {
+    return serviceRegistry;
+  }
+
+  public ServiceEndpoint[] serviceEndpoints() {
+    return serviceEndpoints;
+  }
+}
@@ -0,0 +1,59 @@
+package io.scalecube.services.benchmarks.registry;
+
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.metrics.BenchmarkMeter;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer.Context;
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.registry.api.ServiceRegistry;
+import java.util.concurrent.TimeUnit;
+
+public class RegistryChurnBenchmark {
+
+  private static final ServiceMessage LOOKUP_REQUEST =
+      ServiceMessage.builder().qualifier("/benchmarks/method0").build();
+
+  /**
+   * Main method. Every iteration unregisters one of the endpoints and registers it back, the same
+   * way as it happens on a rolling restart of the cluster, and then looks up one of the methods all
+   * endpoints share, so that the cost of rebuilding its routing snapshot is measured too.
+   *
+   * @param args - params of main method.
+   */
+  public static void main(String[] args) {
+    BenchmarkSettings settings =
+        BenchmarkSettings.from(args).durationUnit(TimeUnit.NANOSECONDS).build();
+
+    new RegistryBenchmarkState(settings)
+        .runForSync(
+            state -> {
+              BenchmarkTimer unregisterTimer = state.timer("timer-unregister");
+              BenchmarkTimer registerTimer = state.timer("timer-register");
+              BenchmarkTimer lookupTimer = state.timer("timer-lookup");
+              BenchmarkMeter meter = state.meter("meter");
+              ServiceRegistry serviceRegistry = state.serviceRegistry();
+              ServiceEndpoint[] serviceEndpoints = state.serviceEndpoints();
+
+              return i -> {
+                ServiceEndpoint serviceEndpoint =
+                    serviceEndpoints[(int) (i % serviceEndpoints.length)];
+
+                Context unregisterContext = unregisterTimer.time();
+                serviceRegistry.unregisterService(serviceEndpoint.id());
+                unregisterContext.stop();
+
+                Context registerContext = registerTimer.time();
+                serviceRegistry.registerService(serviceEndpoint);
+                registerContext.stop();
+
+                Context lookupContext = lookupTimer.time();
+                serviceRegistry.lookupService(LOOKUP_REQUEST);
+                lookupContext.stop();
+
+                meter.mark();
+                return serviceEndpoint;
+              };
+            });
+  }
+}
@@ -63,6 +63,7 @@ public class RequestOneBenchmark {
     return ServiceMessage.builder()
         .qualifier(QUALIFIER)
         .header(CLIENT_SEND_TIME, System.currentTimeMillis())
+        .header(ServiceMessage.HEADER_TRACE, "")
         .build();
   }
 }
@@ -0,0 +1,126 @@
+package io.scalecube.services.benchmarks.transport.affinity;
+
+import io.netty.channel.EventLoopGroup;
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.BenchmarkState;
+import io.scalecube.services.Microservices;
+import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
+import io.scalecube.services.examples.BenchmarkServiceImpl;
+import io.scalecube.services.transport.api.Address;
+import io.scalecube.services.transport.api.ClientTransport;
+import io.scalecube.services.transport.api.ServiceTransport;
+import io.scalecube.services.transport.rsocket.RSocketServiceTransport;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.publisher.Mono;
+
+/**
+ * State for comparing request/response latency of {@link ClientTransport} when requests are issued
+ * on its event loops (and so go through connections of the same loop) versus on other threads.
+ */
+public abstract class EventLoopAffinityBenchmarkState
+    extends BenchmarkState<EventLoopAffinityBenchmarkState> {
+
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(6);
+
+  private Microservices node;
+  private ServiceTransport.Resources resources;
+  private ClientTransport clientTransport;
+  private Address address;
+
+  public EventLoopAffinityBenchmarkState(BenchmarkSettings settings) {
+    super(settings);
+  }
+
+  @Override
+  public void beforeAll() {
+    node =
+        Microservices.builder()
+            .discovery(ScalecubeServiceDiscovery::new)
+            .services(new BenchmarkServiceImpl())
+            .startAwait();
+
+    InetSocketAddress serviceAddress = node.serviceAddress();
+    address = Address.create(serviceAddress.getHostString(), serviceAddress.getPort());
+
+    ServiceTransport transport = new RSocketServiceTransport();
+    resources = transport.resources(Runtime.getRuntime().availableProcessors());
+    clientTransport = transport.clientTransport(resources);
+  }
+
+  @Override
+  public void afterAll() {
+    try {
+      Mono.when(resources.shutdown(), node.shutdown()).block(SHUTDOWN_TIMEOUT);
+    } catch (Throwable ignore) {
+      // ignore
+    }
+  }
+
+  public ClientTransport clientTransport() {
+    return clientTransport;
+  }
+
+  public Address address() {
+    return address;
+  }
+
+  protected EventLoopGroup eventLoopGroup() {
+    return (EventLoopGroup) resources.workerPool().get();
+  }
+
+  /**
+   * Returns executor on which the next request should be issued.
+   *
+   * @return caller executor
+   */
+  public abstract Executor caller();
+
+  public static class SameLoop extends EventLoopAffinityBenchmarkState {
+
+    public SameLoop(BenchmarkSettings settings) {
+      super(settings);
+    }
+
+    @Override
+    public Executor caller() {
+      return eventLoopGroup().next();
+    }
+  }
+
+  public static class CrossLoop extends EventLoopAffinityBenchmarkState {
+
+    private final ExecutorService[] callers =
+        new ExecutorService[Runtime.getRuntime().availableProcessors()];
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * State which issues requests on single-threaded executors, one per event loop.
+     *
+     * @param settings - setting of this benchmark test.
+     */
+    public CrossLoop(BenchmarkSettings settings) {
+      super(settings);
+      for (int i = 0; i < callers.length; i++) {
+        callers[i] = Executors.newSingleThreadExecutor();
+      }
+    }
+
+    @Override
+    public void afterAll() {
+      super.afterAll();
+      for (ExecutorService caller : callers) {
+        caller.shutdownNow();
+      }
+    }
+
+    @Override
+    public Executor caller() {
+      return callers[(counter.getAndIncrement() & Integer.MAX_VALUE) % callers.length];
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package io.scalecube.services.benchmarks.transport.affinity;
+
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.metrics.BenchmarkMeter;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer.Context;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.transport.api.Address;
+import io.scalecube.services.transport.api.ClientTransport;
+import io.scalecube.services.transport.api.ReferenceCountUtil;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+
+public class EventLoopAffinityScenario {
+
+  private static final String QUALIFIER = "/benchmarks/one";
+
+  private EventLoopAffinityScenario() {
+    // Do not instantiate
+  }
+
+  /**
+   * Runner function for benchmarks.
+   *
+   * @param args program arguments
+   * @param benchmarkStateFactory producer function for {@link EventLoopAffinityBenchmarkState}
+   */
+  public static void runWith(
+      String[] args,
+      Function<BenchmarkSettings, EventLoopAffinityBenchmarkState> benchmarkStateFactory) {
+
+    BenchmarkSettings settings =
+        BenchmarkSettings.from(args).durationUnit(TimeUnit.MICROSECONDS).build();
+
+    benchmarkStateFactory
+        .apply(settings)
+        .runForAsync(
+            state -> {
+              BenchmarkTimer timer = state.timer("timer");
+              BenchmarkMeter meter = state.meter("meter");
+              ClientTransport clientTransport = state.clientTransport();
+              Address address = state.address();
+              ServiceMessage request = ServiceMessage.builder().qualifier(QUALIFIER).build();
+
+              return i -> {
+                Executor caller = state.caller();
+                Mono<ServiceMessage> response =
+                    Mono.create(
+                        sink ->
+                            caller.execute(
+                                () -> {
+                                  Context timeContext = timer.time();
+                                  clientTransport
+                                      .create(address)
+                                      .requestResponse(request)
+                                      .doOnSuccess(message -> timeContext.stop())
+                                      .subscribe(sink::success, sink::error);
+                                }));
+                return response.doOnNext(
+                    message -> {
+                      meter.mark();
+                      ReferenceCountUtil.safestRelease(message.data());
+                    });
+              };
+            });
+  }
+}
@@ -0,0 +1,13 @@
+package io.scalecube.services.benchmarks.transport.affinity;
+
+public class SameLoopRequestOneBenchmark {
+
+  /**
+   * Main method.
+   *
+   * @param args - params of main method.
+   */
+  public static void main(String[] args) {
+    EventLoopAffinityScenario.runWith(args, EventLoopAffinityBenchmarkState.SameLoop::new);
+  }
+}
@@ -12,6 +12,7 @@ import io.scalecube.services.transport.api.HeadersCodec;
 import io.scalecube.services.transport.api.ServiceMessageCodec;
 import io.scalecube.services.transport.jackson.JacksonCodec;
 import io.scalecube.services.transport.protostuff.ProtostuffCodec;
+import io.scalecube.services.transport.rsocket.BinaryHeadersCodec;
 import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -180,4 +181,14 @@ public class SmCodecBenchmarkState extends BenchmarkState<SmCodecBenchmarkState>
       super(settings, CODEC, CODEC);
     }
   }
+
+  public static class JacksonBinaryHeaders extends SmCodecBenchmarkState {
+
+    private static final JacksonCodec DATA_CODEC = new JacksonCodec();
+    private static final BinaryHeadersCodec HEADERS_CODEC = new BinaryHeadersCodec();
+
+    public JacksonBinaryHeaders(BenchmarkSettings settings) {
+      super(settings, DATA_CODEC, HEADERS_CODEC);
+    }
+  }
 }
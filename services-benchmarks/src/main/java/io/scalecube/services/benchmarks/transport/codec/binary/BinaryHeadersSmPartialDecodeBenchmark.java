@@ -0,0 +1,16 @@
+package io.scalecube.services.benchmarks.transport.codec.binary;
+
+import io.scalecube.services.benchmarks.transport.codec.SmCodecBenchmarkState;
+import io.scalecube.services.benchmarks.transport.codec.SmPartialDecodeScenario;
+
+public class BinaryHeadersSmPartialDecodeBenchmark {
+
+  /**
+   * Main method.
+   *
+   * @param args - params of main method.
+   */
+  public static void main(String[] args) {
+    SmPartialDecodeScenario.runWith(args, SmCodecBenchmarkState.JacksonBinaryHeaders::new);
+  }
+}
@@ -0,0 +1,16 @@
+package io.scalecube.services.benchmarks.transport.codec.binary;
+
+import io.scalecube.services.benchmarks.transport.codec.SmCodecBenchmarkState;
+import io.scalecube.services.benchmarks.transport.codec.SmPartialEncodeScenario;
+
+public class BinaryHeadersSmPartialEncodeBenchmark {
+
+  /**
+   * Main method.
+   *
+   * @param args - params of main method.
+   */
+  public static void main(String[] args) {
+    SmPartialEncodeScenario.runWith(args, SmCodecBenchmarkState.JacksonBinaryHeaders::new);
+  }
+}
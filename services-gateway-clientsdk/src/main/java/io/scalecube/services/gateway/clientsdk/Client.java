@@ -9,11 +9,14 @@ import io.scalecube.services.gateway.clientsdk.rsocket.RSocketClientTransport;
 import io.scalecube.services.gateway.clientsdk.websocket.WebsocketClientCodec;
 import io.scalecube.services.gateway.clientsdk.websocket.WebsocketClientTransport;
 import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.methods.ServiceProxies;
 import io.scalecube.services.transport.api.DataCodec;
 import io.scalecube.services.transport.api.HeadersCodec;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -83,6 +86,24 @@ public final class Client {
     return new Client(clientTransport, clientCodec, clientSettings.errorMapper());
   }
 
+  /**
+   * Client on websocket client transport, which negotiates binary format of messages with {@link
+   * WebsocketClientCodec#BINARY_PROTOCOL} sub-protocol.
+   *
+   * @param clientSettings client settings
+   * @return client
+   */
+  public static Client onWebsocketBinary(ClientSettings clientSettings) {
+    WebsocketClientCodec clientCodec =
+        new WebsocketClientCodec(
+            DataCodec.getInstance(clientSettings.contentType()), true, true);
+
+    WebsocketClientTransport clientTransport =
+        new WebsocketClientTransport(clientSettings, clientCodec, clientSettings.loopResources());
+
+    return new Client(clientTransport, clientCodec, clientSettings.errorMapper());
+  }
+
   /**
    * Client on http client transport.
    *
@@ -142,6 +163,16 @@ public final class Client {
         proxyMap.computeIfAbsent(
             serviceClazz,
             (clazz) -> {
+              // proxy generated at compile time doesn't need reflection on calls
+              Optional<T> generatedProxy =
+                  ServiceProxies.create(
+                      serviceClazz,
+                      new RemoteInvocationHandler(
+                          transport, Collections.emptyMap(), codec, errorMapper));
+              if (generatedProxy.isPresent()) {
+                return generatedProxy.get();
+              }
+
               Map<Method, MethodInfo> methods = Reflect.methodsInfo(serviceClazz);
               return Proxy.newProxyInstance(
                   serviceClazz.getClassLoader(),
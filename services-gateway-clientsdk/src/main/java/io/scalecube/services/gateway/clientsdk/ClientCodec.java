@@ -1,7 +1,6 @@
 package io.scalecube.services.gateway.clientsdk;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
 import io.scalecube.services.gateway.clientsdk.exceptions.MessageCodecException;
 import io.scalecube.services.transport.api.DataCodec;
 import org.slf4j.Logger;
@@ -35,11 +34,13 @@ public interface ClientCodec<T> {
     Class<?> targetType = message.isError() ? ErrorData.class : dataType;
 
     ByteBuf dataBuffer = message.data();
-    try (ByteBufInputStream inputStream = new ByteBufInputStream(dataBuffer, true)) {
-      data = getDataCodec().decode(inputStream, targetType);
+    try {
+      data = getDataCodec().decode(dataBuffer, targetType);
     } catch (Throwable ex) {
       throw new MessageCodecException(
           "Failed to decode data on message q=" + message.qualifier(), ex);
+    } finally {
+      ReferenceCountUtil.safestRelease(dataBuffer);
     }
 
     return ClientMessage.from(message).data(data).build();
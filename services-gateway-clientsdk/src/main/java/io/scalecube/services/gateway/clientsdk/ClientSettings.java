@@ -18,6 +18,7 @@ public class ClientSettings {
   private final boolean followRedirect;
   private final SslProvider sslProvider;
   private final ClientErrorMapper errorMapper;
+  private final int maxConnections;
 
   private ClientSettings(Builder builder) {
     this.host = builder.host;
@@ -27,6 +28,7 @@ public class ClientSettings {
     this.followRedirect = builder.followRedirect;
     this.sslProvider = builder.sslProvider;
     this.errorMapper = builder.errorMapper;
+    this.maxConnections = builder.maxConnections;
   }
 
   public String host() {
@@ -57,6 +59,10 @@ public class ClientSettings {
     return errorMapper;
   }
 
+  public int maxConnections() {
+    return maxConnections;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -70,6 +76,7 @@ public class ClientSettings {
     sb.append(", loopResources=").append(loopResources);
     sb.append(", followRedirect=").append(followRedirect);
     sb.append(", sslProvider=").append(sslProvider);
+    sb.append(", maxConnections=").append(maxConnections);
     sb.append('}');
     return sb.toString();
   }
@@ -82,6 +89,7 @@ public class ClientSettings {
     private boolean followRedirect = true;
     private SslProvider sslProvider;
     private ClientErrorMapper errorMapper = DefaultClientErrorMapper.INSTANCE;
+    private int maxConnections;
 
     private Builder() {}
 
@@ -146,6 +154,21 @@ public class ClientSettings {
       return this;
     }
 
+    /**
+     * Specifies max number of kept-alive connections of http client, over which requests are
+     * spread and which are reused by subsequent requests; when all are busy, requests wait for a
+     * free one. Streaming request holds its connection till the end of stream. By default (zero)
+     * number of connections is unbounded, i.e. new connection is opened for each concurrent
+     * request.
+     *
+     * @param maxConnections max number of connections
+     * @return builder
+     */
+    public Builder maxConnections(int maxConnections) {
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
     public ClientSettings build() {
       return new ClientSettings(this);
     }
@@ -2,12 +2,16 @@ package io.scalecube.services.gateway.clientsdk;
 
 import io.scalecube.services.gateway.clientsdk.exceptions.ClientErrorMapper;
 import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.methods.ServiceProxyHandler;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Map;
+import org.reactivestreams.Publisher;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-public class RemoteInvocationHandler implements InvocationHandler {
+public class RemoteInvocationHandler implements InvocationHandler, ServiceProxyHandler {
 
   private final ClientTransport transport;
   private final Map<Method, MethodInfo> methods;
@@ -35,33 +39,55 @@ public class RemoteInvocationHandler implements InvocationHandler {
   @Override
   public Object invoke(Object proxy, Method method, Object[] args) {
     MethodInfo methodInfo = methods.get(method);
-
-    ClientMessage request =
-        ClientMessage.builder()
-            .qualifier(methodInfo.qualifier())
-            .data(methodInfo.parameterCount() != 0 ? args[0] : null)
-            .build();
-
-    Class<?> responseType = methodInfo.parameterizedReturnType();
+    Object request = methodInfo.parameterCount() != 0 ? args[0] : null;
 
     switch (methodInfo.communicationMode()) {
       case REQUEST_RESPONSE:
-        return transport
-            .requestResponse(request)
-            .map(response -> codec.decodeData(response, responseType))
-            .map(this::throwIfError)
-            .map(ClientMessage::data);
+        return requestResponse(methodInfo, request);
       case REQUEST_STREAM:
-        return transport
-            .requestStream(request)
-            .map(clientMessage -> codec.decodeData(clientMessage, responseType))
-            .map(this::throwIfError)
-            .map(ClientMessage::data);
+        return requestStream(methodInfo, request);
       default:
         throw new IllegalArgumentException("Unsupported communication mode");
     }
   }
 
+  @Override
+  public Mono<Void> fireAndForget(MethodInfo methodInfo, Object request) {
+    throw new IllegalArgumentException("Unsupported communication mode");
+  }
+
+  @Override
+  public <T> Mono<T> requestResponse(MethodInfo methodInfo, Object request) {
+    Class<?> responseType = methodInfo.parameterizedReturnType();
+    return transport
+        .requestResponse(toRequest(methodInfo, request))
+        .map(response -> codec.decodeData(response, responseType))
+        .map(this::throwIfError)
+        .map(ClientMessage::data);
+  }
+
+  @Override
+  public <T> Flux<T> requestStream(MethodInfo methodInfo, Object request) {
+    Class<?> responseType = methodInfo.parameterizedReturnType();
+    return transport
+        .requestStream(toRequest(methodInfo, request))
+        .map(clientMessage -> codec.decodeData(clientMessage, responseType))
+        .map(this::throwIfError)
+        .map(ClientMessage::data);
+  }
+
+  @Override
+  public <T> Flux<T> requestChannel(MethodInfo methodInfo, Publisher<?> requests) {
+    throw new IllegalArgumentException("Unsupported communication mode");
+  }
+
+  private ClientMessage toRequest(MethodInfo methodInfo, Object request) {
+    return ClientMessage.builder()
+        .qualifier(methodInfo.qualifier())
+        .data(methodInfo.parameterCount() != 0 ? request : null)
+        .build();
+  }
+
   private ClientMessage throwIfError(ClientMessage response) {
     if (response.isError() && response.hasData(ErrorData.class)) {
       throw Exceptions.propagate(errorMapper.toError(response));
@@ -0,0 +1,125 @@
+package io.scalecube.services.gateway.clientsdk.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ByteProcessor;
+import io.scalecube.services.gateway.clientsdk.ClientMessage;
+import io.scalecube.services.gateway.clientsdk.ReferenceCountUtil;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import reactor.core.publisher.Flux;
+
+/**
+ * Decoder of server-sent events stream of http gateway response. Each event becomes a message with
+ * event data, event name (if any) is an error qualifier of the message. Instance is stateful, i.e.
+ * it must be used for one response only.
+ */
+final class EventStreamDecoder {
+
+  private static final String DATA_FIELD = "data";
+  private static final String EVENT_FIELD = "event";
+
+  private final String qualifier;
+
+  private final ByteBuf pending = Unpooled.buffer();
+  private String event;
+  private ByteBuf data;
+
+  EventStreamDecoder(String qualifier) {
+    this.qualifier = qualifier;
+  }
+
+  /**
+   * Decodes messages from given chunks of response content.
+   *
+   * @param content response content
+   * @return messages
+   */
+  Flux<ClientMessage> decode(Flux<ByteBuf> content) {
+    return content
+        .map(ByteBuf::retain)
+        .concatMapIterable(this::decodeChunk)
+        .doFinally(signalType -> release());
+  }
+
+  private List<ClientMessage> decodeChunk(ByteBuf chunk) {
+    try {
+      pending.writeBytes(chunk);
+    } finally {
+      ReferenceCountUtil.safestRelease(chunk);
+    }
+
+    List<ClientMessage> messages = Collections.emptyList();
+    int lineEnd;
+    while ((lineEnd = pending.forEachByte(ByteProcessor.FIND_LF)) >= 0) {
+      int lineStart = pending.readerIndex();
+      int length = lineEnd - lineStart;
+      if (length > 0 && pending.getByte(lineEnd - 1) == '\r') {
+        length--;
+      }
+      ClientMessage message = decodeLine(lineStart, length);
+      pending.readerIndex(lineEnd + 1);
+      if (message != null) {
+        if (messages.isEmpty()) {
+          messages = new ArrayList<>(1);
+        }
+        messages.add(message);
+      }
+    }
+    pending.discardSomeReadBytes();
+    return messages;
+  }
+
+  private ClientMessage decodeLine(int index, int length) {
+    if (length == 0) {
+      return dispatch();
+    }
+
+    int colon = pending.indexOf(index, index + length, (byte) ':');
+    int nameLength = colon < 0 ? length : colon - index;
+    String name = pending.toString(index, nameLength, StandardCharsets.UTF_8);
+
+    int valueIndex = colon < 0 ? index + length : colon + 1;
+    if (valueIndex < index + length && pending.getByte(valueIndex) == ' ') {
+      valueIndex++;
+    }
+    int valueLength = index + length - valueIndex;
+
+    switch (name) {
+      case DATA_FIELD:
+        if (data == null) {
+          data = Unpooled.buffer(valueLength);
+        } else {
+          data.writeByte('\n');
+        }
+        data.writeBytes(pending, valueIndex, valueLength);
+        break;
+      case EVENT_FIELD:
+        event = pending.toString(valueIndex, valueLength, StandardCharsets.UTF_8);
+        break;
+      default:
+        // ignore comments and unknown fields
+    }
+    return null;
+  }
+
+  private ClientMessage dispatch() {
+    if (data == null) {
+      event = null;
+      return null;
+    }
+    ClientMessage message =
+        ClientMessage.builder().qualifier(event != null ? event : qualifier).data(data).build();
+    event = null;
+    data = null;
+    return message;
+  }
+
+  private void release() {
+    ReferenceCountUtil.safestRelease(pending);
+    ReferenceCountUtil.safestRelease(data);
+    data = null;
+  }
+}
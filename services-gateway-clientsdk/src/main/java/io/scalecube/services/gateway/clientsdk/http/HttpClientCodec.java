@@ -2,7 +2,6 @@ package io.scalecube.services.gateway.clientsdk.http;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufOutputStream;
 import io.scalecube.services.gateway.clientsdk.ClientCodec;
 import io.scalecube.services.gateway.clientsdk.ClientMessage;
 import io.scalecube.services.gateway.clientsdk.ReferenceCountUtil;
@@ -36,7 +35,7 @@ public final class HttpClientCodec implements ClientCodec<ByteBuf> {
     } else {
       content = ByteBufAllocator.DEFAULT.buffer();
       try {
-        dataCodec.encode(new ByteBufOutputStream(content), message.data());
+        dataCodec.encode(content, message.data());
       } catch (Throwable t) {
         ReferenceCountUtil.safestRelease(content);
         LOGGER.error("Failed to encode data on: {}, cause: {}", message, t);
@@ -1,6 +1,7 @@
 package io.scalecube.services.gateway.clientsdk.http;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.scalecube.services.api.Qualifier;
 import io.scalecube.services.gateway.clientsdk.ClientCodec;
 import io.scalecube.services.gateway.clientsdk.ClientMessage;
@@ -20,6 +21,8 @@ public final class HttpClientTransport implements ClientTransport {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientTransport.class);
 
+  private static final String EVENT_STREAM = "text/event-stream";
+
   private final ClientCodec<ByteBuf> codec;
   private final HttpClient httpClient;
   private final ConnectionProvider connectionProvider;
@@ -36,7 +39,10 @@ public final class HttpClientTransport implements ClientTransport {
 
     this.codec = codec;
 
-    connectionProvider = ConnectionProvider.elastic("http-client-sdk");
+    connectionProvider =
+        settings.maxConnections() > 0
+            ? ConnectionProvider.fixed("http-client-sdk", settings.maxConnections())
+            : ConnectionProvider.elastic("http-client-sdk");
 
     httpClient =
         HttpClient.create(connectionProvider)
@@ -73,8 +79,30 @@ public final class HttpClientTransport implements ClientTransport {
 
   @Override
   public Flux<ClientMessage> requestStream(ClientMessage request) {
-    return Flux.error(
-        new UnsupportedOperationException("Request stream is not supported by HTTP/1.x"));
+    return Flux.defer(
+        () -> {
+          ByteBuf byteBuf = codec.encode(request);
+          return httpClient
+              .post()
+              .uri(request.qualifier())
+              .send(
+                  (httpRequest, out) -> {
+                    LOGGER.debug("Sending request stream {}", request);
+                    // prepare request headers
+                    request.headers().forEach(httpRequest::header);
+                    httpRequest.header(HttpHeaderNames.ACCEPT, EVENT_STREAM);
+                    return out.sendObject(byteBuf).then();
+                  })
+              .response(
+                  (httpResponse, content) ->
+                      isError(httpResponse.status().code())
+                          ? content
+                              .aggregate()
+                              .map(ByteBuf::retain)
+                              .map(data -> toMessage(httpResponse, data))
+                              .flux()
+                          : new EventStreamDecoder(request.qualifier()).decode(content));
+        });
   }
 
   @Override
@@ -2,8 +2,6 @@ package io.scalecube.services.gateway.clientsdk.rsocket;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.rsocket.Payload;
 import io.rsocket.util.ByteBufPayload;
@@ -67,11 +65,13 @@ public final class RSocketClientCodec implements ClientCodec<Payload> {
     }
 
     if (headersBuffer.isReadable()) {
-      try (ByteBufInputStream stream = new ByteBufInputStream(headersBuffer, true)) {
-        builder.headers(headersCodec.decode(stream));
+      try {
+        builder.headers(headersCodec.decode(headersBuffer));
       } catch (Throwable ex) {
         ReferenceCountUtil.safestRelease(dataBuffer); // release data as well
         throw new MessageCodecException("Failed to decode message headers", ex);
+      } finally {
+        ReferenceCountUtil.safestRelease(headersBuffer);
       }
     }
 
@@ -99,7 +99,7 @@ public final class RSocketClientCodec implements ClientCodec<Payload> {
     } else if (message.hasData()) {
       dataBuffer = ByteBufAllocator.DEFAULT.buffer();
       try {
-        dataCodec.encode(new ByteBufOutputStream(dataBuffer), message.data());
+        dataCodec.encode(dataBuffer, message.data());
       } catch (Throwable ex) {
         ReferenceCountUtil.safestRelease(dataBuffer);
         LOGGER.error("Failed to encode data on: {}, cause: {}", message, ex);
@@ -111,7 +111,7 @@ public final class RSocketClientCodec implements ClientCodec<Payload> {
     if (!message.headers().isEmpty()) {
       headersBuffer = ByteBufAllocator.DEFAULT.buffer();
       try {
-        headersCodec.encode(new ByteBufOutputStream(headersBuffer), message.headers());
+        headersCodec.encode(headersBuffer, message.headers());
       } catch (Throwable ex) {
         ReferenceCountUtil.safestRelease(headersBuffer);
         ReferenceCountUtil.safestRelease(dataBuffer); // release data as well
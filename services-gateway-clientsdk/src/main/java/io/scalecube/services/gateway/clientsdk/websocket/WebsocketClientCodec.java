@@ -18,6 +18,8 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
 import io.scalecube.services.exceptions.MessageCodecException;
 import io.scalecube.services.gateway.clientsdk.ClientCodec;
 import io.scalecube.services.gateway.clientsdk.ClientMessage;
@@ -25,6 +27,8 @@ import io.scalecube.services.gateway.clientsdk.ReferenceCountUtil;
 import io.scalecube.services.transport.api.DataCodec;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -34,6 +38,17 @@ public final class WebsocketClientCodec implements ClientCodec<ByteBuf> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(WebsocketClientCodec.class);
 
+  /**
+   * Websocket sub-protocol of binary format of websocket gateway messages.
+   */
+  public static final String BINARY_PROTOCOL = "scalecube-binary";
+
+  private static final int FLAG_STREAM_ID = 1;
+  private static final int FLAG_SIGNAL = 1 << 1;
+  private static final int FLAG_QUALIFIER = 1 << 2;
+  private static final int FLAG_INACTIVITY = 1 << 3;
+  private static final int FLAG_RATE_LIMIT = 1 << 4;
+
   private static final MappingJsonFactory jsonFactory = new MappingJsonFactory(objectMapper());
 
   // special numeric fields
@@ -41,11 +56,14 @@ public final class WebsocketClientCodec implements ClientCodec<ByteBuf> {
   private static final String SIGNAL_FIELD = "sig";
   private static final String INACTIVITY_FIELD = "i";
   private static final String RATE_LIMIT_FIELD = "rlimit";
+  // qualifier field
+  private static final String QUALIFIER_FIELD = "q";
   // data field
   private static final String DATA_FIELD = "d";
 
   private final DataCodec dataCodec;
   private final boolean releaseDataOnEncode;
+  private final boolean binary;
 
   /**
    * Constructor for codec which encode/decode client message to/from websocket gateway message
@@ -65,8 +83,31 @@ public final class WebsocketClientCodec implements ClientCodec<ByteBuf> {
    * @param releaseDataOnEncode release data on encode flag.
    */
   public WebsocketClientCodec(DataCodec dataCodec, boolean releaseDataOnEncode) {
+    this(dataCodec, releaseDataOnEncode, false);
+  }
+
+  /**
+   * Constructor for codec which encode/decode client message to/from websocket gateway message
+   * represented either by json or by binary format of {@link #BINARY_PROTOCOL} sub-protocol and
+   * transformed in {@link ByteBuf}.
+   *
+   * @param dataCodec data message codec.
+   * @param releaseDataOnEncode release data on encode flag.
+   * @param binary whether messages are in binary format rather than in json.
+   */
+  public WebsocketClientCodec(DataCodec dataCodec, boolean releaseDataOnEncode, boolean binary) {
     this.dataCodec = dataCodec;
     this.releaseDataOnEncode = releaseDataOnEncode; // always release by default
+    this.binary = binary;
+  }
+
+  /**
+   * Returns whether this codec uses binary format, i.e. its messages go in binary frames.
+   *
+   * @return true if format is binary
+   */
+  public boolean isBinary() {
+    return binary;
   }
 
   @Override
@@ -76,6 +117,9 @@ public final class WebsocketClientCodec implements ClientCodec<ByteBuf> {
 
   @Override
   public ByteBuf encode(ClientMessage message) {
+    if (binary) {
+      return encodeBinary(message);
+    }
     ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer();
 
     try (JsonGenerator generator =
@@ -133,6 +177,9 @@ public final class WebsocketClientCodec implements ClientCodec<ByteBuf> {
 
   @Override
   public ClientMessage decode(ByteBuf encodedMessage) {
+    if (binary) {
+      return decodeBinary(encodedMessage);
+    }
     try (InputStream stream = new ByteBufInputStream(encodedMessage, true)) {
       JsonParser jp = jsonFactory.createParser(stream);
       ClientMessage.Builder result = ClientMessage.builder();
@@ -175,6 +222,169 @@ public final class WebsocketClientCodec implements ClientCodec<ByteBuf> {
     }
   }
 
+  private ByteBuf encodeBinary(ClientMessage message) {
+    ByteBuf header = ByteBufAllocator.DEFAULT.buffer();
+    ByteBuf data = null;
+    try {
+      Map<String, String> headers = message.headers();
+      final String streamId = headers.get(STREAM_ID_FIELD);
+      final String signal = headers.get(SIGNAL_FIELD);
+      final String qualifier = headers.get(QUALIFIER_FIELD);
+      final String inactivity = headers.get(INACTIVITY_FIELD);
+      final String rateLimit = headers.get(RATE_LIMIT_FIELD);
+
+      int flags = 0;
+      int wellKnown = 0;
+      if (streamId != null) {
+        flags |= FLAG_STREAM_ID;
+        wellKnown++;
+      }
+      if (signal != null) {
+        flags |= FLAG_SIGNAL;
+        wellKnown++;
+      }
+      if (qualifier != null) {
+        flags |= FLAG_QUALIFIER;
+        wellKnown++;
+      }
+      if (inactivity != null) {
+        flags |= FLAG_INACTIVITY;
+        wellKnown++;
+      }
+      if (rateLimit != null) {
+        flags |= FLAG_RATE_LIMIT;
+        wellKnown++;
+      }
+      header.writeByte(flags);
+      if (streamId != null) {
+        writeVarlong(header, Long.parseLong(streamId));
+      }
+      if (signal != null) {
+        writeVarlong(header, Long.parseLong(signal));
+      }
+      if (qualifier != null) {
+        writeString(header, qualifier);
+      }
+      if (inactivity != null) {
+        writeVarlong(header, Long.parseLong(inactivity));
+      }
+      if (rateLimit != null) {
+        writeVarlong(header, Long.parseLong(rateLimit));
+      }
+
+      writeVarlong(header, headers.size() - wellKnown);
+      for (Entry<String, String> entry : headers.entrySet()) {
+        if (!isWellKnown(entry.getKey())) {
+          writeString(header, entry.getKey());
+          writeString(header, entry.getValue());
+        }
+      }
+
+      Object messageData = message.data();
+      if (messageData instanceof ByteBuf) {
+        data = (ByteBuf) messageData;
+        if (!releaseDataOnEncode) {
+          data.retain();
+        }
+      } else if (messageData != null) {
+        data = ByteBufAllocator.DEFAULT.buffer();
+        dataCodec.encode(data, messageData);
+      }
+    } catch (Throwable ex) {
+      ReferenceCountUtil.safestRelease(header);
+      ReferenceCountUtil.safestRelease(data);
+      Optional.ofNullable(message.data()).ifPresent(ReferenceCountUtil::safestRelease);
+      LOGGER.error("Failed to encode message: {}", message, ex);
+      throw new MessageCodecException("Failed to encode message", ex);
+    }
+
+    if (data == null) {
+      return header;
+    }
+    CompositeByteBuf frame = ByteBufAllocator.DEFAULT.compositeBuffer(2);
+    return frame.addComponents(true, header, data);
+  }
+
+  private ClientMessage decodeBinary(ByteBuf encodedMessage) {
+    try {
+      ClientMessage.Builder result = ClientMessage.builder();
+      int flags = encodedMessage.readUnsignedByte();
+      if ((flags & FLAG_STREAM_ID) != 0) {
+        result.header(STREAM_ID_FIELD, readVarlong(encodedMessage));
+      }
+      if ((flags & FLAG_SIGNAL) != 0) {
+        result.header(SIGNAL_FIELD, readVarlong(encodedMessage));
+      }
+      if ((flags & FLAG_QUALIFIER) != 0) {
+        result.header(QUALIFIER_FIELD, readString(encodedMessage));
+      }
+      if ((flags & FLAG_INACTIVITY) != 0) {
+        result.header(INACTIVITY_FIELD, readVarlong(encodedMessage));
+      }
+      if ((flags & FLAG_RATE_LIMIT) != 0) {
+        result.header(RATE_LIMIT_FIELD, readVarlong(encodedMessage));
+      }
+      for (long i = readVarlong(encodedMessage); i > 0; i--) {
+        result.header(readString(encodedMessage), readString(encodedMessage));
+      }
+      // data
+      if (encodedMessage.isReadable()) {
+        result.data(encodedMessage.retainedSlice());
+      }
+      return result.build();
+    } catch (Throwable ex) {
+      throw new MessageCodecException("Failed to decode message", ex);
+    } finally {
+      ReferenceCountUtil.safestRelease(encodedMessage);
+    }
+  }
+
+  private static boolean isWellKnown(String name) {
+    switch (name) {
+      case STREAM_ID_FIELD:
+      case SIGNAL_FIELD:
+      case QUALIFIER_FIELD:
+      case INACTIVITY_FIELD:
+      case RATE_LIMIT_FIELD:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static void writeString(ByteBuf buffer, String value) {
+    writeVarlong(buffer, ByteBufUtil.utf8Bytes(value));
+    ByteBufUtil.writeUtf8(buffer, value);
+  }
+
+  private static String readString(ByteBuf buffer) {
+    int length = (int) readVarlong(buffer);
+    if (length < 0 || length > buffer.readableBytes()) {
+      throw new IllegalArgumentException("Malformed message: string length exceeds frame");
+    }
+    return buffer.readCharSequence(length, StandardCharsets.UTF_8).toString();
+  }
+
+  private static void writeVarlong(ByteBuf buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.writeByte((int) value);
+  }
+
+  private static long readVarlong(ByteBuf buffer) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = buffer.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed message: varint is too long");
+  }
+
   private static ObjectMapper objectMapper() {
     ObjectMapper mapper = new ObjectMapper();
     mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
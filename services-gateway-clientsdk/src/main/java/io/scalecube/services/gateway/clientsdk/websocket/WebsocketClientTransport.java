@@ -122,8 +122,13 @@ public final class WebsocketClientTransport implements ClientTransport {
       return prev;
     }
 
+    String protocols =
+        codec instanceof WebsocketClientCodec && ((WebsocketClientCodec) codec).isBinary()
+            ? WebsocketClientCodec.BINARY_PROTOCOL
+            : "";
+
     return httpClient
-        .websocket()
+        .websocket(protocols)
         .uri("/")
         .connect()
         .map(
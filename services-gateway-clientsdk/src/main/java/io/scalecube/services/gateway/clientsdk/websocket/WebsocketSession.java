@@ -1,7 +1,9 @@
 package io.scalecube.services.gateway.clientsdk.websocket;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.scalecube.services.gateway.clientsdk.ClientCodec;
 import io.scalecube.services.gateway.clientsdk.ClientMessage;
 import io.scalecube.services.gateway.clientsdk.ErrorData;
@@ -10,6 +12,7 @@ import io.scalecube.services.gateway.clientsdk.exceptions.DefaultClientErrorMapp
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import org.jctools.maps.NonBlockingHashMapLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +35,7 @@ final class WebsocketSession {
   private final ClientCodec<ByteBuf> codec;
   private final Connection connection;
   private final WebsocketOutbound outbound;
+  private final Function<ByteBuf, WebSocketFrame> frameFactory;
 
   // processor by sid mapping
   private final Map<Long, UnicastProcessor<ClientMessage>> inboundProcessors =
@@ -42,6 +46,10 @@ final class WebsocketSession {
     this.codec = codec;
     this.connection = connection;
     this.outbound = (WebsocketOutbound) connection.outbound().options(SendOptions::flushOnEach);
+    this.frameFactory =
+        codec instanceof WebsocketClientCodec && ((WebsocketClientCodec) codec).isBinary()
+            ? BinaryWebSocketFrame::new
+            : TextWebSocketFrame::new;
 
     WebsocketInbound inbound = (WebsocketInbound) connection.inbound();
     inbound
@@ -86,7 +94,7 @@ final class WebsocketSession {
     return Mono.defer(
         () ->
             outbound
-                .sendObject(Mono.just(byteBuf).map(TextWebSocketFrame::new))
+                .sendObject(Mono.just(byteBuf).map(frameFactory))
                 .then()
                 .doOnSuccess(
                     avoid -> {
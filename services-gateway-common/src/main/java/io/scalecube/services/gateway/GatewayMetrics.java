@@ -3,6 +3,7 @@ package io.scalecube.services.gateway;
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
 import io.scalecube.services.metrics.Metrics;
+import io.scalecube.services.metrics.StripedCounter;
 
 public class GatewayMetrics {
 
@@ -11,11 +12,22 @@ public class GatewayMetrics {
   public static final String METRIC_RESP = "response";
   public static final String METRIC_SERVICE_RESP = "service-response";
 
+  /**
+   * Gateway config option, which being set to true makes gateway metrics striped counters rather
+   * than meters.
+   */
+  public static final String STRIPED_OPTION = "stripedMetrics";
+
   private final Counter connectionCounter;
   private final Meter requestMeter;
   private final Meter responseMeter;
   private final Meter serviceResponseMeter;
 
+  private final StripedCounter connections;
+  private final StripedCounter requests;
+  private final StripedCounter responses;
+  private final StripedCounter serviceResponses;
+
   /**
    * Constructor for gateway metrics.
    *
@@ -23,44 +35,73 @@ public class GatewayMetrics {
    * @param metrics microservices metrics
    */
   public GatewayMetrics(String prefix, Metrics metrics) {
-    connectionCounter = metrics != null ? metrics.getCounter(prefix, METRIC_CONNECTION) : null;
-    requestMeter = metrics != null ? metrics.getMeter(prefix, "", METRIC_REQ) : null;
-    responseMeter = metrics != null ? metrics.getMeter(prefix, "", METRIC_RESP) : null;
-    serviceResponseMeter =
-        metrics != null ? metrics.getMeter(prefix, "", METRIC_SERVICE_RESP) : null;
+    this(prefix, metrics, false);
+  }
+
+  /**
+   * Constructor for gateway metrics.
+   *
+   * @param prefix prefix for gateway metrics instance
+   * @param metrics microservices metrics
+   * @param striped whether metrics are {@link StripedCounter}s, i.e. event loops update their own
+   *     counters, which are summed up when reported, rather than {@link Meter}s, which calculate
+   *     rates on each update
+   */
+  public GatewayMetrics(String prefix, Metrics metrics, boolean striped) {
+    boolean meters = metrics != null && !striped;
+    connectionCounter = meters ? metrics.getCounter(prefix, METRIC_CONNECTION) : null;
+    requestMeter = meters ? metrics.getMeter(prefix, "", METRIC_REQ) : null;
+    responseMeter = meters ? metrics.getMeter(prefix, "", METRIC_RESP) : null;
+    serviceResponseMeter = meters ? metrics.getMeter(prefix, "", METRIC_SERVICE_RESP) : null;
+
+    boolean counters = metrics != null && striped;
+    connections = counters ? metrics.getStripedCounter(prefix, METRIC_CONNECTION) : null;
+    requests = counters ? metrics.getStripedCounter(prefix, METRIC_REQ) : null;
+    responses = counters ? metrics.getStripedCounter(prefix, METRIC_RESP) : null;
+    serviceResponses = counters ? metrics.getStripedCounter(prefix, METRIC_SERVICE_RESP) : null;
   }
 
   /** Increment connection counter. */
   public void incConnection() {
-    if (connectionCounter != null) {
+    if (connections != null) {
+      connections.increment();
+    } else if (connectionCounter != null) {
       connectionCounter.inc();
     }
   }
 
   /** Decrement connection counter. */
   public void decConnection() {
-    if (connectionCounter != null) {
+    if (connections != null) {
+      connections.decrement();
+    } else if (connectionCounter != null) {
       connectionCounter.dec();
     }
   }
 
   /** Mark request for calls/sec measurement. */
   public void markRequest() {
-    if (requestMeter != null) {
+    if (requests != null) {
+      requests.increment();
+    } else if (requestMeter != null) {
       requestMeter.mark();
     }
   }
 
   /** Mark response for calls/sec measurement. */
   public void markResponse() {
-    if (responseMeter != null) {
+    if (responses != null) {
+      responses.increment();
+    } else if (responseMeter != null) {
       responseMeter.mark();
     }
   }
 
   /** Mark service response for calls/sec measurement. */
   public void markServiceResponse() {
-    if (serviceResponseMeter != null) {
+    if (serviceResponses != null) {
+      serviceResponses.increment();
+    } else if (serviceResponseMeter != null) {
       serviceResponseMeter.mark();
     }
   }
@@ -1,5 +1,6 @@
 package io.scalecube.services.gateway;
 
+import io.scalecube.services.metrics.Metrics;
 import java.net.InetSocketAddress;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -13,6 +14,20 @@ public abstract class GatewayTemplate implements Gateway {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(GatewayTemplate.class);
 
+  /**
+   * Creates gateway metrics, which are striped counters if {@link GatewayMetrics#STRIPED_OPTION}
+   * is set to true in gateway config.
+   *
+   * @param config gateway config
+   * @param metrics microservices metrics
+   * @return gateway metrics
+   */
+  protected final GatewayMetrics prepareMetrics(GatewayConfig config, Metrics metrics) {
+    boolean striped =
+        config.get(GatewayMetrics.STRIPED_OPTION).map(Boolean::parseBoolean).orElse(false);
+    return new GatewayMetrics(config.name(), metrics, striped);
+  }
+
   /**
    * Builds generic http server with given parameters.
    *
@@ -20,6 +20,12 @@ public class HttpGateway extends GatewayTemplate {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(HttpGateway.class);
 
+  /**
+   * Gateway config option of max length of request content which gets aggregated before request
+   * is sent to service, unbounded by default.
+   */
+  public static final String MAX_CONTENT_LENGTH_OPTION = "maxContentLength";
+
   private DisposableServer server;
   private LoopResources loopResources;
 
@@ -31,8 +37,14 @@ public class HttpGateway extends GatewayTemplate {
         () -> {
           LOGGER.info("Starting gateway with {}", config);
 
-          GatewayMetrics metrics1 = new GatewayMetrics(config.name(), metrics);
-          HttpGatewayAcceptor acceptor = new HttpGatewayAcceptor(call.create(), metrics1);
+          GatewayMetrics metrics1 = prepareMetrics(config, metrics);
+          int maxContentLength =
+              config
+                  .get(MAX_CONTENT_LENGTH_OPTION)
+                  .map(Integer::parseInt)
+                  .orElse(Integer.MAX_VALUE);
+          HttpGatewayAcceptor acceptor =
+              new HttpGatewayAcceptor(call.create(), metrics1, maxContentLength);
 
           if (workerPool != null) {
             loopResources = new GatewayLoopResources((EventLoopGroup) workerPool);
@@ -1,51 +1,112 @@
 package io.scalecube.services.gateway.http;
 
+import static io.netty.handler.codec.http.HttpHeaderNames.ACCEPT;
 import static io.netty.handler.codec.http.HttpHeaderNames.ALLOW;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 import static io.netty.handler.codec.http.HttpMethod.POST;
 import static io.netty.handler.codec.http.HttpResponseStatus.METHOD_NOT_ALLOWED;
 import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
+import static io.netty.handler.codec.http.HttpResponseStatus.UNSUPPORTED_MEDIA_TYPE;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ByteProcessor;
 import io.scalecube.services.ServiceCall;
 import io.scalecube.services.api.ErrorData;
+import io.scalecube.services.api.MessageTrace;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.api.ServiceMessage.Builder;
 import io.scalecube.services.exceptions.DefaultErrorMapper;
 import io.scalecube.services.gateway.GatewayMetrics;
 import io.scalecube.services.gateway.ReferenceCountUtil;
 import io.scalecube.services.transport.api.DataCodec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
 import reactor.netty.ByteBufMono;
+import reactor.netty.NettyPipeline.SendOptions;
 import reactor.netty.http.server.HttpServerRequest;
 import reactor.netty.http.server.HttpServerResponse;
 
+/**
+ * Acceptor of http gateway requests. Request is POST to service qualifier, by default it's handled
+ * as request-response. If request accepts {@link #EVENT_STREAM} or {@link #NDJSON} content then
+ * it's handled as request-stream, where response elements are written in chunks as they arrive:
+ *
+ * <ul>
+ *   <li>{@link #EVENT_STREAM} - each element is a server-sent event with element data, error is an
+ *       event named by error qualifier. Data which spans several lines is written as several data
+ *       fields, which client joins back with line feeds;
+ *   <li>{@link #NDJSON} - each element is a line with object which has element data in {@code
+ *       data} field, error is a line with object which has error data in {@code error} field.
+ * </ul>
+ *
+ * <p>Both of stream types are text, so element data of other formats can't be streamed: objects
+ * are encoded as JSON, while raw data of non-text format (non-JSON one for {@link #NDJSON}) is
+ * rejected with 406 error.
+ *
+ * <p>Error ends the stream. Stream is backpressured by the channel, i.e. next elements are
+ * requested from service as previous ones get written.
+ *
+ * <p>Request body is aggregated up to max content length, request with larger body is rejected
+ * with 413 status. If request has {@link #BODY_STREAM} header set to true then its body isn't
+ * aggregated, instead it's sent as it arrives to request-channel of service, which accepts stream
+ * of requests; response is the first element of service stream, or the stream itself as described
+ * above. Such body must be {@link #NDJSON} (otherwise request is rejected with 415 status), each of
+ * its lines is one request, however body is split into chunks; line longer than max content length
+ * is rejected with 413 status.
+ */
 public class HttpGatewayAcceptor
     implements BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(HttpGatewayAcceptor.class);
 
+  public static final String EVENT_STREAM = "text/event-stream";
+  public static final String NDJSON = "application/x-ndjson";
+  public static final String BODY_STREAM = "body-stream";
+
   private static final String SERVICE_RECV_TIME = "service-recv-time";
   private static final String SERVICE_SEND_TIME = "service-send-time";
   private static final String CLIENT_RECV_TIME = "client-recv-time";
   private static final String CLIENT_SEND_TIME = "client-send-time";
 
+  private static final String JSON_FORMAT = "application/json";
+
+  private static final ByteBuf EVENT_DATA = unreleasableBuffer("data: ");
+  private static final ByteBuf NEW_LINE = unreleasableBuffer("\n");
+  private static final ByteBuf LINE_DATA = unreleasableBuffer("{\"data\":");
+  private static final ByteBuf LINE_ERROR = unreleasableBuffer("{\"error\":");
+  private static final ByteBuf LINE_END = unreleasableBuffer("}\n");
+  private static final ByteBuf NULL = unreleasableBuffer("null");
+
   private final ServiceCall serviceCall;
   private final GatewayMetrics metrics;
+  private final int maxContentLength;
 
   HttpGatewayAcceptor(ServiceCall serviceCall, GatewayMetrics metrics) {
+    this(serviceCall, metrics, Integer.MAX_VALUE);
+  }
+
+  HttpGatewayAcceptor(ServiceCall serviceCall, GatewayMetrics metrics, int maxContentLength) {
     this.serviceCall = serviceCall;
     this.metrics = metrics;
+    this.maxContentLength = maxContentLength;
   }
 
   @Override
@@ -61,17 +122,54 @@ public class HttpGatewayAcceptor
       return methodNotAllowed(httpResponse);
     }
 
-    return httpRequest
-        .receive()
+    HttpHeaders requestHeaders = httpRequest.requestHeaders();
+    String streamType = streamType(requestHeaders);
+
+    if (requestHeaders.contains(BODY_STREAM, Boolean.TRUE.toString(), true)) {
+      String contentType = requestHeaders.get(CONTENT_TYPE);
+      if (contentType == null || !contentType.contains(NDJSON)) {
+        LOGGER.error("Unsupported content type of body stream, expected {}", NDJSON);
+        return unsupportedMediaType(httpResponse);
+      }
+      return handleBodyStream(streamType, httpRequest, httpResponse)
+          .doOnSuccess(avoid -> metrics.markResponse())
+          .onErrorResume(TooLongFrameException.class, t -> contentTooLarge(httpResponse))
+          .onErrorResume(t -> error(httpResponse, DefaultErrorMapper.INSTANCE.toMessage(t)));
+    }
+
+    if (requestHeaders.getInt(CONTENT_LENGTH, 0) > maxContentLength) {
+      LOGGER.error("Request content length exceeds max content length {}", maxContentLength);
+      return contentTooLarge(httpResponse);
+    }
+
+    AtomicLong contentLength = new AtomicLong();
+
+    return ByteBufFlux.fromInbound(
+            httpRequest
+                .receive()
+                .doOnNext(
+                    chunk -> checkContentLength(contentLength.addAndGet(chunk.readableBytes()))))
         .aggregate()
         .switchIfEmpty(Mono.defer(() -> ByteBufMono.just(Unpooled.EMPTY_BUFFER)))
         .map(ByteBuf::retain)
         .doOnNext(content -> metrics.markRequest())
-        .flatMap(content -> handleRequest(content, httpRequest, httpResponse))
+        .flatMap(
+            content ->
+                streamType != null
+                    ? handleStream(content, streamType, httpRequest, httpResponse)
+                    : handleRequest(content, httpRequest, httpResponse))
         .doOnSuccess(avoid -> metrics.markResponse())
+        .onErrorResume(TooLongFrameException.class, t -> contentTooLarge(httpResponse))
         .onErrorResume(t -> error(httpResponse, DefaultErrorMapper.INSTANCE.toMessage(t)));
   }
 
+  private void checkContentLength(long contentLength) {
+    if (contentLength > maxContentLength) {
+      throw new TooLongFrameException(
+          "Request content length exceeds max content length " + maxContentLength);
+    }
+  }
+
   private Mono<Void> handleRequest(
       ByteBuf content, HttpServerRequest httpRequest, HttpServerResponse httpResponse) {
 
@@ -79,8 +177,51 @@ public class HttpGatewayAcceptor
     Builder builder = ServiceMessage.builder().qualifier(qualifier).data(content);
     enrichRequest(httpRequest.requestHeaders(), builder);
 
-    return serviceCall
-        .requestOne(builder.build())
+    ServiceMessage request = MessageTrace.start(builder.build(), MessageTrace.GATEWAY_RECV);
+
+    return sendResponse(qualifier, serviceCall.requestOne(request), httpResponse);
+  }
+
+  private Mono<Void> handleStream(
+      ByteBuf content,
+      String streamType,
+      HttpServerRequest httpRequest,
+      HttpServerResponse httpResponse) {
+
+    Builder builder = ServiceMessage.builder().qualifier(httpRequest.uri()).data(content);
+    enrichRequest(httpRequest.requestHeaders(), builder);
+
+    ServiceMessage request = MessageTrace.start(builder.build(), MessageTrace.GATEWAY_RECV);
+
+    return sendStream(streamType, serviceCall.requestMany(request), httpResponse);
+  }
+
+  private Mono<Void> handleBodyStream(
+      String streamType, HttpServerRequest httpRequest, HttpServerResponse httpResponse) {
+
+    String qualifier = httpRequest.uri();
+
+    Flux<ServiceMessage> requests =
+        new LineDecoder(maxContentLength)
+            .decode(httpRequest.receive())
+            .doOnNext(line -> metrics.markRequest())
+            .map(
+                line -> {
+                  Builder builder = ServiceMessage.builder().qualifier(qualifier).data(line);
+                  enrichRequest(httpRequest.requestHeaders(), builder);
+                  return builder.build();
+                });
+
+    Flux<ServiceMessage> responses = serviceCall.requestBidirectional(requests);
+
+    return streamType != null
+        ? sendStream(streamType, responses, httpResponse)
+        : sendResponse(qualifier, responses.next(), httpResponse);
+  }
+
+  private Mono<Void> sendResponse(
+      String qualifier, Mono<ServiceMessage> responses, HttpServerResponse httpResponse) {
+    return responses
         .doOnNext(message -> metrics.markServiceResponse())
         .switchIfEmpty(
             Mono.defer(() -> Mono.just(ServiceMessage.builder().qualifier(qualifier).build())))
@@ -97,10 +238,151 @@ public class HttpGatewayAcceptor
             });
   }
 
+  private Mono<Void> sendStream(
+      String streamType, Flux<ServiceMessage> responses, HttpServerResponse httpResponse) {
+
+    boolean eventStream = EVENT_STREAM.equals(streamType);
+
+    Flux<ByteBuf> chunks =
+        responses
+            .doOnNext(message -> metrics.markServiceResponse())
+            .onErrorResume(th -> Mono.just(DefaultErrorMapper.INSTANCE.toMessage(th)))
+            .map(response -> checkDataFormat(response, streamType))
+            .takeUntil(ServiceMessage::isError)
+            .map(response -> eventStream ? toEvent(response) : toLine(response));
+
+    return httpResponse
+        .status(OK)
+        .header(CONTENT_TYPE, streamType)
+        .chunkedTransfer(true)
+        .options(SendOptions::flushOnEach)
+        .send(chunks)
+        .then();
+  }
+
+  private String streamType(HttpHeaders requestHeaders) {
+    String accept = requestHeaders.get(ACCEPT);
+    if (accept == null) {
+      return null;
+    }
+    if (accept.contains(EVENT_STREAM)) {
+      return EVENT_STREAM;
+    }
+    if (accept.contains(NDJSON)) {
+      return NDJSON;
+    }
+    return null;
+  }
+
+  /**
+   * Replaces response, whose raw data is of format which can't be written to stream of given type,
+   * with 406 error.
+   */
+  private ServiceMessage checkDataFormat(ServiceMessage response, String streamType) {
+    if (!response.hasData(ByteBuf.class)) {
+      return response; // to be encoded as JSON if needed
+    }
+    String dataFormat = response.dataFormatOrDefault();
+    if (EVENT_STREAM.equals(streamType) ? isText(dataFormat) : isJson(dataFormat)) {
+      return response;
+    }
+    ReferenceCountUtil.safestRelease(response.data());
+    LOGGER.error("Data format {} can't be written to {} stream", dataFormat, streamType);
+    return ServiceMessage.error(
+        406, 406, "Data format " + dataFormat + " can't be written to " + streamType + " stream");
+  }
+
+  private ByteBuf toEvent(ServiceMessage response) {
+    ByteBuf data = toData(response);
+    List<ByteBuf> event = new ArrayList<>();
+    if (response.isError()) {
+      event.add(
+          Unpooled.copiedBuffer("event: " + response.qualifier() + "\n", StandardCharsets.UTF_8));
+    }
+    // line breaks would end data field, so every line of data goes to its own data field
+    int index = data.readerIndex();
+    int end = data.writerIndex();
+    for (; ; ) {
+      int lineEnd =
+          index < end ? data.forEachByte(index, end - index, ByteProcessor.FIND_CRLF) : -1;
+      event.add(EVENT_DATA.duplicate());
+      event.add(data.retainedSlice(index, (lineEnd < 0 ? end : lineEnd) - index));
+      event.add(NEW_LINE.duplicate());
+      if (lineEnd < 0) {
+        break;
+      }
+      index = lineEnd + 1;
+      if (data.getByte(lineEnd) == '\r' && index < end && data.getByte(index) == '\n') {
+        index++; // CRLF is one line break
+      }
+    }
+    event.add(NEW_LINE.duplicate());
+    ReferenceCountUtil.safestRelease(data);
+    return Unpooled.wrappedBuffer(event.toArray(new ByteBuf[0]));
+  }
+
+  private ByteBuf toLine(ServiceMessage response) {
+    ByteBuf data = toData(response);
+    if (!data.isReadable()) {
+      ReferenceCountUtil.safestRelease(data);
+      data = NULL.duplicate();
+    } else if (data.forEachByte(ByteProcessor.FIND_CRLF) >= 0) {
+      data = singleLine(data);
+    }
+    return Unpooled.wrappedBuffer(
+        response.isError() ? LINE_ERROR.duplicate() : LINE_DATA.duplicate(),
+        data,
+        LINE_END.duplicate());
+  }
+
+  /**
+   * Replaces line breaks of JSON data with spaces. Line breaks can't occur inside of JSON strings,
+   * so outside of them they're just whitespace.
+   */
+  private static ByteBuf singleLine(ByteBuf data) {
+    ByteBuf result = data.copy();
+    ReferenceCountUtil.safestRelease(data);
+    for (int i = result.readerIndex(); i < result.writerIndex(); i++) {
+      byte b = result.getByte(i);
+      if (b == '\r' || b == '\n') {
+        result.setByte(i, ' ');
+      }
+    }
+    return result;
+  }
+
+  private ByteBuf toData(ServiceMessage response) {
+    if (response.hasData(ByteBuf.class)) {
+      return response.data();
+    }
+    String dataFormat = response.dataFormatOrDefault();
+    return encodeData(response.data(), isJson(dataFormat) ? dataFormat : JSON_FORMAT);
+  }
+
+  private static boolean isJson(String dataFormat) {
+    return dataFormat.toLowerCase().contains("json");
+  }
+
+  private static boolean isText(String dataFormat) {
+    return dataFormat.toLowerCase().startsWith("text/") || isJson(dataFormat);
+  }
+
+  private static ByteBuf unreleasableBuffer(String value) {
+    return Unpooled.unreleasableBuffer(Unpooled.copiedBuffer(value, StandardCharsets.UTF_8));
+  }
+
   private Publisher<Void> methodNotAllowed(HttpServerResponse httpResponse) {
     return httpResponse.addHeader(ALLOW, POST.name()).status(METHOD_NOT_ALLOWED).send();
   }
 
+  private Mono<Void> unsupportedMediaType(HttpServerResponse httpResponse) {
+    return httpResponse.status(UNSUPPORTED_MEDIA_TYPE).send().then();
+  }
+
+  private Mono<Void> contentTooLarge(HttpServerResponse httpResponse) {
+    return httpResponse.status(REQUEST_ENTITY_TOO_LARGE).send().then();
+  }
+
   private Mono<Void> error(HttpServerResponse httpResponse, ServiceMessage response) {
     int code = response.errorType();
     HttpResponseStatus status = HttpResponseStatus.valueOf(code);
@@ -130,7 +412,7 @@ public class HttpGatewayAcceptor
     ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer();
 
     try {
-      DataCodec.getInstance(dataFormat).encode(new ByteBufOutputStream(byteBuf), data);
+      DataCodec.getInstance(dataFormat).encode(byteBuf, data);
     } catch (Throwable t) {
       ReferenceCountUtil.safestRelease(byteBuf);
       LOGGER.error("Failed to encode data: {}", data, t);
@@ -152,6 +434,9 @@ public class HttpGatewayAcceptor
 
     Optional.ofNullable(requestHeaders.get(SERVICE_SEND_TIME))
         .ifPresent(value -> builder.header(SERVICE_SEND_TIME, value));
+
+    Optional.ofNullable(requestHeaders.get(ServiceMessage.HEADER_TRACE))
+        .ifPresent(value -> builder.header(ServiceMessage.HEADER_TRACE, value));
   }
 
   private void enrichResponse(HttpServerResponse httpResponse, ServiceMessage response) {
@@ -166,5 +451,8 @@ public class HttpGatewayAcceptor
 
     Optional.ofNullable(response.header(SERVICE_SEND_TIME))
         .ifPresent(value -> httpResponse.header(SERVICE_SEND_TIME, value));
+
+    Optional.ofNullable(response.header(ServiceMessage.HEADER_TRACE))
+        .ifPresent(value -> httpResponse.header(ServiceMessage.HEADER_TRACE, value));
   }
 }
@@ -0,0 +1,133 @@
+package io.scalecube.services.gateway.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.ByteProcessor;
+import io.scalecube.services.gateway.ReferenceCountUtil;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decoder of newline delimited request body, which splits its chunks into lines regardless of
+ * where chunk boundaries are. Empty lines are skipped, last line doesn't need to be terminated.
+ * Instance is stateful, i.e. it must be used for one request only.
+ */
+final class LineDecoder {
+
+  private final int maxLineLength;
+
+  private final ByteBuf pending = Unpooled.buffer();
+
+  // lines decoded but not yet emitted, owned by decoder until they are taken
+  private final Queue<ByteBuf> decoded = new ConcurrentLinkedQueue<>();
+
+  LineDecoder(int maxLineLength) {
+    this.maxLineLength = maxLineLength;
+  }
+
+  /**
+   * Decodes lines from given chunks of request content. Lines are new buffers, chunks are copied
+   * on arrival and never retained. Lines not emitted before cancellation or error are released.
+   * Line longer than max line length fails the flux with {@link TooLongFrameException}.
+   *
+   * @param content request content
+   * @return lines without line breaks
+   */
+  Flux<ByteBuf> decode(Flux<ByteBuf> content) {
+    return content
+        .map(this::decodeChunk)
+        .concatMapIterable(this::take)
+        .concatWith(Mono.fromSupplier(this::lastLine))
+        .doFinally(signalType -> release());
+  }
+
+  /**
+   * Copies chunk to pending bytes and moves complete lines to decoded queue. Runs synchronously
+   * within onNext of the chunk, so the chunk is not referenced after this method returns.
+   *
+   * @param chunk content chunk, not owned by decoder
+   * @return number of lines decoded from the chunk
+   */
+  private int decodeChunk(ByteBuf chunk) {
+    pending.writeBytes(chunk);
+
+    int count = 0;
+    int lineEnd;
+    while ((lineEnd = pending.forEachByte(ByteProcessor.FIND_LF)) >= 0) {
+      int length = lineEnd - pending.readerIndex();
+      if (length > 0 && pending.getByte(lineEnd - 1) == '\r') {
+        length--;
+      }
+      ByteBuf line = readLine(length);
+      pending.readerIndex(lineEnd + 1);
+      if (line != null) {
+        decoded.add(line);
+        count++;
+      }
+    }
+    // the rest of line is pending, it can't exceed max length either
+    if (pending.readableBytes() > maxLineLength) {
+      throw tooLongLine();
+    }
+    pending.discardSomeReadBytes();
+    return count;
+  }
+
+  private Iterable<ByteBuf> take(int count) {
+    if (count == 0) {
+      return Collections.emptyList();
+    }
+    return () ->
+        new Iterator<ByteBuf>() {
+          private int remaining = count;
+
+          @Override
+          public boolean hasNext() {
+            return remaining > 0;
+          }
+
+          @Override
+          public ByteBuf next() {
+            ByteBuf line = remaining > 0 ? decoded.poll() : null;
+            if (line == null) {
+              throw new NoSuchElementException();
+            }
+            remaining--;
+            return line;
+          }
+        };
+  }
+
+  private void release() {
+    ReferenceCountUtil.safestRelease(pending);
+    ByteBuf line;
+    while ((line = decoded.poll()) != null) {
+      ReferenceCountUtil.safestRelease(line);
+    }
+  }
+
+  private ByteBuf lastLine() {
+    int length = pending.readableBytes();
+    if (length > 0 && pending.getByte(pending.writerIndex() - 1) == '\r') {
+      length--;
+    }
+    return readLine(length);
+  }
+
+  private ByteBuf readLine(int length) {
+    if (length > maxLineLength) {
+      throw tooLongLine();
+    }
+    return length > 0 ? pending.copy(pending.readerIndex(), length) : null;
+  }
+
+  private TooLongFrameException tooLongLine() {
+    return new TooLongFrameException("Line length exceeds max line length " + maxLineLength);
+  }
+}
@@ -35,7 +35,7 @@ public class RSocketGateway extends GatewayTemplate {
         () -> {
           LOGGER.info("Starting gateway with {}", config);
 
-          GatewayMetrics metrics1 = new GatewayMetrics(config.name(), metrics);
+          GatewayMetrics metrics1 = prepareMetrics(config, metrics);
           RSocketGatewayAcceptor acceptor = new RSocketGatewayAcceptor(call.create(), metrics1);
 
           if (workerPool != null) {
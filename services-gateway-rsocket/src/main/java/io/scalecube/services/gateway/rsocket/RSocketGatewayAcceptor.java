@@ -7,6 +7,7 @@ import io.rsocket.RSocket;
 import io.rsocket.SocketAcceptor;
 import io.rsocket.util.ByteBufPayload;
 import io.scalecube.services.ServiceCall;
+import io.scalecube.services.api.MessageTrace;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.gateway.GatewayMetrics;
 import io.scalecube.services.transport.api.HeadersCodec;
@@ -84,7 +85,7 @@ public class RSocketGatewayAcceptor implements SocketAcceptor {
           () -> {
             metrics.markRequest();
             return serviceCall
-                .requestOne(toMessage(payload))
+                .requestOne(MessageTrace.start(toMessage(payload), MessageTrace.GATEWAY_RECV))
                 .map(this::toPayload)
                 .doOnNext(payload1 -> metrics.markServiceResponse());
           });
@@ -96,7 +97,7 @@ public class RSocketGatewayAcceptor implements SocketAcceptor {
           () -> {
             metrics.markRequest();
             return serviceCall
-                .requestMany(toMessage(payload))
+                .requestMany(MessageTrace.start(toMessage(payload), MessageTrace.GATEWAY_RECV))
                 .map(this::toPayload)
                 .doOnNext(payload1 -> metrics.markServiceResponse());
           });
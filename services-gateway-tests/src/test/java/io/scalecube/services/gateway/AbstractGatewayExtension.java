@@ -76,6 +76,10 @@ public abstract class AbstractGatewayExtension
     return client;
   }
 
+  public InetSocketAddress gatewayAddress() {
+    return gatewayAddress;
+  }
+
   /** Start services. */
   public void startServices() {
     services =
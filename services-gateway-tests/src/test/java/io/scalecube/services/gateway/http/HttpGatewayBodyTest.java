@@ -0,0 +1,135 @@
+package io.scalecube.services.gateway.http;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.ACCEPT;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+
+class HttpGatewayBodyTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+  private static final int MAX_CONTENT_LENGTH = 32;
+  private static final String QUALIFIER = "/" + EchoService.NAMESPACE + "/echo";
+
+  @RegisterExtension
+  static HttpGatewayExtension extension =
+      new HttpGatewayExtension(
+          new EchoServiceImpl(),
+          Collections.singletonMap(
+              HttpGateway.MAX_CONTENT_LENGTH_OPTION, String.valueOf(MAX_CONTENT_LENGTH)));
+
+  @Test
+  void shouldSplitBodyStreamIntoLinesRegardlessOfChunks() {
+    String response =
+        post(
+            headers -> {
+              headers.set(HttpGatewayAcceptor.BODY_STREAM, true);
+              headers.set(CONTENT_TYPE, HttpGatewayAcceptor.NDJSON);
+              headers.set(ACCEPT, HttpGatewayAcceptor.NDJSON);
+            },
+            Flux.just("\"a\"\n\"b", "\"\r\n\n\"c", "\""));
+
+    assertEquals(
+        "200 {\"data\":\"Echo:a\"}\n{\"data\":\"Echo:b\"}\n{\"data\":\"Echo:c\"}\n", response);
+  }
+
+  @Test
+  void shouldRejectBodyStreamWhichIsNotNdjson() {
+    String response =
+        post(
+            headers -> {
+              headers.set(HttpGatewayAcceptor.BODY_STREAM, true);
+              headers.set(CONTENT_TYPE, "application/json");
+            },
+            Flux.just("\"a\""));
+
+    assertEquals("415 ", response);
+  }
+
+  @Test
+  void shouldRejectBodyStreamWithTooLongLine() {
+    String response =
+        post(
+            headers -> {
+              headers.set(HttpGatewayAcceptor.BODY_STREAM, true);
+              headers.set(CONTENT_TYPE, HttpGatewayAcceptor.NDJSON);
+            },
+            Flux.just("\"" + repeat('a', MAX_CONTENT_LENGTH) + "\"\n"));
+
+    assertEquals("413 ", response);
+  }
+
+  @Test
+  void shouldRejectRequestByContentLength() {
+    String body = "\"" + repeat('a', MAX_CONTENT_LENGTH) + "\"";
+    String response =
+        post(headers -> headers.set(CONTENT_LENGTH, body.length()), Mono.just(body));
+
+    assertEquals("413 ", response);
+  }
+
+  @Test
+  void shouldRejectRequestByReceivedBytes() {
+    // chunked body, so there's no content length to check up front
+    String response =
+        post(
+            headers -> {},
+            Flux.just("\"" + repeat('a', MAX_CONTENT_LENGTH / 2), repeat('a', MAX_CONTENT_LENGTH)));
+
+    assertEquals("413 ", response);
+  }
+
+  private static String post(Consumer<HttpHeaders> headers, Publisher<String> body) {
+    InetSocketAddress address = extension.gatewayAddress();
+    return HttpClient.create()
+        .baseUrl("http://" + address.getHostName() + ":" + address.getPort())
+        .headers(headers)
+        .post()
+        .uri(QUALIFIER)
+        .send(ByteBufFlux.fromString(body))
+        .responseSingle(
+            (response, content) ->
+                content
+                    .asString()
+                    .defaultIfEmpty("")
+                    .map(data -> response.status().code() + " " + data))
+        .block(TIMEOUT);
+  }
+
+  private static String repeat(char value, int count) {
+    return new String(new char[count]).replace('\0', value);
+  }
+
+  @Service(EchoService.NAMESPACE)
+  public interface EchoService {
+
+    String NAMESPACE = "echo";
+
+    @ServiceMethod
+    Flux<String> echo(Flux<String> names);
+  }
+
+  public static class EchoServiceImpl implements EchoService {
+
+    @Override
+    public Flux<String> echo(Flux<String> names) {
+      return names.map(name -> "Echo:" + name);
+    }
+  }
+}
@@ -8,6 +8,8 @@ import io.scalecube.services.gateway.clientsdk.ClientTransport;
 import io.scalecube.services.gateway.clientsdk.http.HttpClientCodec;
 import io.scalecube.services.gateway.clientsdk.http.HttpClientTransport;
 import io.scalecube.services.transport.api.DataCodec;
+import java.util.Collections;
+import java.util.Map;
 import reactor.netty.resources.LoopResources;
 
 class HttpGatewayExtension extends AbstractGatewayExtension {
@@ -15,7 +17,13 @@ class HttpGatewayExtension extends AbstractGatewayExtension {
   private static final String GATEWAY_ALIAS_NAME = "http";
 
   HttpGatewayExtension(Object serviceInstance) {
-    super(serviceInstance, GatewayConfig.builder(GATEWAY_ALIAS_NAME, HttpGateway.class).build());
+    this(serviceInstance, Collections.emptyMap());
+  }
+
+  HttpGatewayExtension(Object serviceInstance, Map<String, String> options) {
+    super(
+        serviceInstance,
+        GatewayConfig.builder(GATEWAY_ALIAS_NAME, HttpGateway.class).addOptions(options).build());
   }
 
   @Override
@@ -5,11 +5,15 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import io.scalecube.services.examples.GreetingRequest;
+import io.scalecube.services.examples.GreetingResponse;
 import io.scalecube.services.examples.GreetingService;
 import io.scalecube.services.examples.GreetingServiceImpl;
 import io.scalecube.services.exceptions.InternalServiceException;
 import io.scalecube.services.exceptions.ServiceUnavailableException;
 import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -96,4 +100,43 @@ class HttpGatewayTest {
         .expectComplete()
         .verify(TIMEOUT);
   }
+
+  @Test
+  void shouldReturnManyResponsesWithSimpleRequest() {
+    StepVerifier.create(service.manyStream(5L))
+        .expectNext(0L, 1L, 2L, 3L, 4L)
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  void shouldReturnManyResponsesWithPojoRequest() {
+    int expectedResponseNum = 3;
+    List<GreetingResponse> expected =
+        IntStream.range(0, expectedResponseNum)
+            .mapToObj(i -> new GreetingResponse("Greeting (" + i + ") to: hello"))
+            .collect(Collectors.toList());
+
+    StepVerifier.create(service.pojoMany(new GreetingRequest("hello")).take(expectedResponseNum))
+        .expectNextSequence(expected)
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  void shouldReturnNoResponsesWhenStreamIsEmpty() {
+    StepVerifier.create(service.emptyMany("hello")).expectComplete().verify(TIMEOUT);
+  }
+
+  @Test
+  void shouldReturnErrorAfterResponsesWhenStreamFails() {
+    StepVerifier.create(service.failingMany("hello"))
+        .expectNext("Echo:hello", "Echo:hello")
+        .expectErrorSatisfies(
+            throwable -> {
+              assertEquals(InternalServiceException.class, throwable.getClass());
+              assertEquals("Echo:hello", throwable.getMessage());
+            })
+        .verify(TIMEOUT);
+  }
 }
@@ -0,0 +1,60 @@
+package io.scalecube.services.gateway.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class LineDecoderTest {
+
+  @Test
+  void shouldNotRetainChunksBeyondOnNext() {
+    ByteBuf chunk = chunk("a\nb\nc\nd");
+    List<ByteBuf> lines = new ArrayList<>();
+    // like transport, chunk is released as soon as onNext returns
+    Flux<ByteBuf> content =
+        Flux.create(
+            sink -> {
+              sink.next(chunk);
+              chunk.release();
+            });
+
+    StepVerifier.create(new LineDecoder(16).decode(content).doOnNext(lines::add), 1)
+        .expectNextCount(1)
+        .thenCancel()
+        .verify();
+
+    assertEquals(0, chunk.refCnt());
+    assertEquals(1, lines.size());
+    assertEquals("a", lines.get(0).toString(StandardCharsets.UTF_8));
+    lines.forEach(ByteBuf::release);
+  }
+
+  @Test
+  void shouldSplitLinesAcrossChunks() {
+    StepVerifier.create(
+            new LineDecoder(16)
+                .decode(Flux.just(chunk("a\r\nb"), chunk("c\n\n"), chunk("d")))
+                .map(LineDecoderTest::asString))
+        .expectNext("a", "bc", "d")
+        .verifyComplete();
+  }
+
+  private static ByteBuf chunk(String content) {
+    return Unpooled.copiedBuffer(content, StandardCharsets.UTF_8);
+  }
+
+  private static String asString(ByteBuf line) {
+    try {
+      return line.toString(StandardCharsets.UTF_8);
+    } finally {
+      line.release();
+    }
+  }
+}
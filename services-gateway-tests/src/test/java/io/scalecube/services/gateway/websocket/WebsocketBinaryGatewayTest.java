@@ -0,0 +1,60 @@
+package io.scalecube.services.gateway.websocket;
+
+import io.scalecube.services.examples.GreetingRequest;
+import io.scalecube.services.examples.GreetingResponse;
+import io.scalecube.services.examples.GreetingService;
+import io.scalecube.services.examples.GreetingServiceImpl;
+import io.scalecube.services.exceptions.InternalServiceException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import reactor.test.StepVerifier;
+
+class WebsocketBinaryGatewayTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+  @RegisterExtension
+  static WebsocketGatewayExtension extension =
+      new WebsocketGatewayExtension(new GreetingServiceImpl(), true);
+
+  private GreetingService service;
+
+  @BeforeEach
+  void initService() {
+    service = extension.client().forService(GreetingService.class);
+  }
+
+  @Test
+  void shouldReturnSingleResponseWithSimpleRequest() {
+    StepVerifier.create(service.one("hello"))
+        .expectNext("Echo:hello")
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  void shouldReturnManyResponsesWithPojoRequest() {
+    int expectedResponseNum = 3;
+    List<GreetingResponse> expected =
+        IntStream.range(0, expectedResponseNum)
+            .mapToObj(i -> new GreetingResponse("Greeting (" + i + ") to: hello"))
+            .collect(Collectors.toList());
+
+    StepVerifier.create(service.pojoMany(new GreetingRequest("hello")).take(expectedResponseNum))
+        .expectNextSequence(expected)
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  void shouldReturnErrorDataWhenServiceFails() {
+    StepVerifier.create(service.failingOne("hello"))
+        .expectErrorMatches(throwable -> throwable instanceof InternalServiceException)
+        .verify(TIMEOUT);
+  }
+}
@@ -0,0 +1,95 @@
+package io.scalecube.services.gateway.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.channel.ChannelOption;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.gateway.ws.WebsocketGateway;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+class WebsocketGatewayBackpressureTest {
+
+  private static final int SESSION_PENDING_BYTES_LIMIT = 64 * 1024;
+  private static final int RESPONSE_SIZE = 1024;
+  private static final String REQUEST =
+      "{\"q\":\"/" + InfiniteService.NAMESPACE + "/stream\",\"sid\":1,\"d\":" + RESPONSE_SIZE + "}";
+
+  // without backpressure infinite stream emits millions of responses in a second
+  private static final long MAX_EMITTED = 100_000;
+
+  private static final AtomicLong emitted = new AtomicLong();
+
+  @RegisterExtension
+  static WebsocketGatewayExtension extension =
+      new WebsocketGatewayExtension(
+          new InfiniteServiceImpl(),
+          Collections.singletonMap(
+              WebsocketGateway.SESSION_PENDING_BYTES_LIMIT,
+              String.valueOf(SESSION_PENDING_BYTES_LIMIT)));
+
+  @Test
+  void shouldStopRequestingResponsesWhenClientDoesntRead() throws InterruptedException {
+    Disposable client = connectNonReadingClient(REQUEST);
+    try {
+      // let socket buffers and pending bytes fill up
+      Thread.sleep(2000);
+      long emittedBefore = emitted.get();
+      Thread.sleep(1000);
+      long emittedAfter = emitted.get();
+
+      assertTrue(emittedBefore > 0, "stream wasn't started");
+      assertEquals(emittedBefore, emittedAfter, "upstream is still requested");
+      assertTrue(emittedAfter < MAX_EMITTED, "upstream is requested unbounded: " + emittedAfter);
+    } finally {
+      client.dispose();
+    }
+  }
+
+  private static Disposable connectNonReadingClient(String request) {
+    InetSocketAddress address = extension.gatewayAddress();
+    return HttpClient.create()
+        .tcpConfiguration(tcpClient -> tcpClient.option(ChannelOption.SO_RCVBUF, 4096))
+        .websocket()
+        .uri("ws://" + address.getHostName() + ":" + address.getPort() + "/")
+        .handle(
+            (inbound, outbound) -> {
+              // handshake is done, from now on nothing is read from the socket
+              outbound.withConnection(
+                  connection -> connection.channel().config().setAutoRead(false));
+              return outbound.sendString(Mono.just(request)).then(Mono.never());
+            })
+        .subscribe();
+  }
+
+  @Service(InfiniteService.NAMESPACE)
+  public interface InfiniteService {
+
+    String NAMESPACE = "infinite";
+
+    @ServiceMethod
+    Flux<String> stream(Integer responseSize);
+  }
+
+  public static class InfiniteServiceImpl implements InfiniteService {
+
+    @Override
+    public Flux<String> stream(Integer responseSize) {
+      String response = new String(new char[responseSize]).replace('\0', 'a');
+      return Flux.generate(
+          sink -> {
+            emitted.incrementAndGet();
+            sink.next(response);
+          });
+    }
+  }
+}
@@ -9,15 +9,36 @@ import io.scalecube.services.gateway.clientsdk.websocket.WebsocketClientCodec;
 import io.scalecube.services.gateway.clientsdk.websocket.WebsocketClientTransport;
 import io.scalecube.services.gateway.ws.WebsocketGateway;
 import io.scalecube.services.transport.api.DataCodec;
+import java.util.Collections;
+import java.util.Map;
 import reactor.netty.resources.LoopResources;
 
 class WebsocketGatewayExtension extends AbstractGatewayExtension {
 
   private static final String GATEWAY_ALIAS_NAME = "ws";
 
+  private final boolean binary;
+
   WebsocketGatewayExtension(Object serviceInstance) {
+    this(serviceInstance, false);
+  }
+
+  WebsocketGatewayExtension(Object serviceInstance, boolean binary) {
+    this(serviceInstance, binary, Collections.emptyMap());
+  }
+
+  WebsocketGatewayExtension(Object serviceInstance, Map<String, String> options) {
+    this(serviceInstance, false, options);
+  }
+
+  private WebsocketGatewayExtension(
+      Object serviceInstance, boolean binary, Map<String, String> options) {
     super(
-        serviceInstance, GatewayConfig.builder(GATEWAY_ALIAS_NAME, WebsocketGateway.class).build());
+        serviceInstance,
+        GatewayConfig.builder(GATEWAY_ALIAS_NAME, WebsocketGateway.class)
+            .addOptions(options)
+            .build());
+    this.binary = binary;
   }
 
   @Override
@@ -28,7 +49,8 @@ class WebsocketGatewayExtension extends AbstractGatewayExtension {
 
   @Override
   protected ClientCodec<ByteBuf> clientMessageCodec() {
-    return new WebsocketClientCodec(DataCodec.getInstance(clientSettings().contentType()));
+    return new WebsocketClientCodec(
+        DataCodec.getInstance(clientSettings().contentType()), true, binary);
   }
 
   @Override
@@ -83,6 +83,16 @@ class WebsocketGatewayTest {
         .verify(TIMEOUT);
   }
 
+  @Test
+  void shouldReturnManyResponsesBeyondRequestWindow() {
+    long expectedResponseNum = 10_000;
+
+    StepVerifier.create(service.manyStream(expectedResponseNum))
+        .expectNextCount(expectedResponseNum)
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
   @Test
   void shouldReturnExceptionWhenServiceIsDown() {
     extension.shutdownServices();
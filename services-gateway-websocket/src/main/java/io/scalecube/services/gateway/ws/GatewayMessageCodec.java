@@ -3,6 +3,7 @@ package io.scalecube.services.gateway.ws;
 import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
 import static io.scalecube.services.gateway.ws.GatewayMessage.DATA_FIELD;
 import static io.scalecube.services.gateway.ws.GatewayMessage.INACTIVITY_FIELD;
+import static io.scalecube.services.gateway.ws.GatewayMessage.QUALIFIER_FIELD;
 import static io.scalecube.services.gateway.ws.GatewayMessage.RATE_LIMIT_FIELD;
 import static io.scalecube.services.gateway.ws.GatewayMessage.SIGNAL_FIELD;
 import static io.scalecube.services.gateway.ws.GatewayMessage.STREAM_ID_FIELD;
@@ -23,30 +24,100 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
 import io.scalecube.services.exceptions.MessageCodecException;
 import io.scalecube.services.gateway.ReferenceCountUtil;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Codec of websocket gateway messages. By default messages are JSON objects carried by text
+ * frames. Clients may negotiate binary format with {@link #BINARY_PROTOCOL} sub-protocol or {@link
+ * #BINARY_CONTENT_TYPE} content type, where message is a compact header followed by raw data:
+ *
+ * <ul>
+ *   <li>flags byte, telling which of sid, sig, q, i and rlimit headers are present;
+ *   <li>sid as varint, sig as varint, q as length-prefixed UTF-8 string, i and rlimit as varints
+ *       (only present ones, in this order);
+ *   <li>varint number of other headers, followed by their length-prefixed names and values;
+ *   <li>data till the end of frame.
+ * </ul>
+ */
 public class GatewayMessageCodec {
   private static final Logger LOGGER = LoggerFactory.getLogger(GatewayMessageCodec.class);
 
+  /**
+   * Websocket sub-protocol of binary format.
+   */
+  public static final String BINARY_PROTOCOL = "scalecube-binary";
+
+  /**
+   * Content type of binary format, alternative to sub-protocol for non-browser clients.
+   */
+  public static final String BINARY_CONTENT_TYPE = "application/x-scalecube-binary";
+
+  private static final int FLAG_STREAM_ID = 1;
+  private static final int FLAG_SIGNAL = 1 << 1;
+  private static final int FLAG_QUALIFIER = 1 << 2;
+  private static final int FLAG_INACTIVITY = 1 << 3;
+  private static final int FLAG_RATE_LIMIT = 1 << 4;
+
   private static final ObjectMapper objectMapper = objectMapper();
 
   private static final MappingJsonFactory jsonFactory = new MappingJsonFactory(objectMapper);
 
   private final boolean releaseDataOnEncode;
+  private final boolean binary;
+  private final boolean sliceDataOnDecode;
 
   public GatewayMessageCodec() {
     this(true /*always release by default*/);
   }
 
   public GatewayMessageCodec(boolean releaseDataOnEncode) {
+    this(releaseDataOnEncode, false);
+  }
+
+  /**
+   * Creates gateway message codec.
+   *
+   * @param releaseDataOnEncode release data on encode flag
+   * @param binary whether messages are in binary format rather than in JSON
+   */
+  public GatewayMessageCodec(boolean releaseDataOnEncode, boolean binary) {
+    this(releaseDataOnEncode, binary, false);
+  }
+
+  /**
+   * Creates gateway message codec.
+   *
+   * @param releaseDataOnEncode release data on encode flag
+   * @param binary whether messages are in binary format rather than in JSON
+   * @param sliceDataOnDecode whether decoded data of JSON message is a retained slice of given
+   *     buffer rather than a copy of it; such data shares memory with the whole frame, which is
+   *     freed only when data is released downstream (binary messages are always decoded so)
+   */
+  public GatewayMessageCodec(
+      boolean releaseDataOnEncode, boolean binary, boolean sliceDataOnDecode) {
     this.releaseDataOnEncode = releaseDataOnEncode;
+    this.binary = binary;
+    this.sliceDataOnDecode = sliceDataOnDecode;
+  }
+
+  /**
+   * Returns whether this codec uses binary format, i.e. its messages go in binary frames.
+   *
+   * @return true if format is binary
+   */
+  public boolean isBinary() {
+    return binary;
   }
 
   /**
@@ -56,6 +127,9 @@ public class GatewayMessageCodec {
    * @throws MessageCodecException in case of issues during encoding.
    */
   public ByteBuf encode(GatewayMessage message) throws MessageCodecException {
+    if (binary) {
+      return encodeBinary(message);
+    }
     ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer();
     try (JsonGenerator generator =
         jsonFactory.createGenerator(
@@ -118,6 +192,10 @@ public class GatewayMessageCodec {
    * @throws MessageCodecException - in case of issues during deserialization.
    */
   public GatewayMessage decode(ByteBuf byteBuf) throws MessageCodecException {
+    if (binary) {
+      return decodeBinary(byteBuf);
+    }
+    final int offset = byteBuf.readerIndex();
     try (InputStream stream = new ByteBufInputStream(byteBuf, true)) {
       JsonParser jp = jsonFactory.createParser(stream);
       GatewayMessage.Builder result = GatewayMessage.builder();
@@ -152,7 +230,12 @@ public class GatewayMessageCodec {
       }
       // data
       if (dataEnd > dataStart) {
-        result.data(byteBuf.copy((int) dataStart, (int) (dataEnd - dataStart)));
+        int index = offset + (int) dataStart;
+        int length = (int) (dataEnd - dataStart);
+        result.data(
+            sliceDataOnDecode
+                ? byteBuf.retainedSlice(index, length)
+                : byteBuf.copy(index, length));
       }
       return result.build();
     } catch (Throwable ex) {
@@ -160,6 +243,169 @@ public class GatewayMessageCodec {
     }
   }
 
+  private ByteBuf encodeBinary(GatewayMessage message) {
+    ByteBuf header = ByteBufAllocator.DEFAULT.buffer();
+    ByteBuf data = null;
+    try {
+      Map<String, String> headers = message.headers();
+      final String streamId = headers.get(STREAM_ID_FIELD);
+      final String signal = headers.get(SIGNAL_FIELD);
+      final String qualifier = headers.get(QUALIFIER_FIELD);
+      final String inactivity = headers.get(INACTIVITY_FIELD);
+      final String rateLimit = headers.get(RATE_LIMIT_FIELD);
+
+      int flags = 0;
+      int wellKnown = 0;
+      if (streamId != null) {
+        flags |= FLAG_STREAM_ID;
+        wellKnown++;
+      }
+      if (signal != null) {
+        flags |= FLAG_SIGNAL;
+        wellKnown++;
+      }
+      if (qualifier != null) {
+        flags |= FLAG_QUALIFIER;
+        wellKnown++;
+      }
+      if (inactivity != null) {
+        flags |= FLAG_INACTIVITY;
+        wellKnown++;
+      }
+      if (rateLimit != null) {
+        flags |= FLAG_RATE_LIMIT;
+        wellKnown++;
+      }
+      header.writeByte(flags);
+      if (streamId != null) {
+        writeVarlong(header, Long.parseLong(streamId));
+      }
+      if (signal != null) {
+        writeVarlong(header, Long.parseLong(signal));
+      }
+      if (qualifier != null) {
+        writeString(header, qualifier);
+      }
+      if (inactivity != null) {
+        writeVarlong(header, Long.parseLong(inactivity));
+      }
+      if (rateLimit != null) {
+        writeVarlong(header, Long.parseLong(rateLimit));
+      }
+
+      writeVarlong(header, headers.size() - wellKnown);
+      for (Entry<String, String> entry : headers.entrySet()) {
+        if (!isWellKnown(entry.getKey())) {
+          writeString(header, entry.getKey());
+          writeString(header, entry.getValue());
+        }
+      }
+
+      Object messageData = message.data();
+      if (messageData instanceof ByteBuf) {
+        data = (ByteBuf) messageData;
+        if (!releaseDataOnEncode) {
+          data.retain();
+        }
+      } else if (messageData != null) {
+        data = ByteBufAllocator.DEFAULT.buffer();
+        objectMapper.writeValue((OutputStream) new ByteBufOutputStream(data), messageData);
+      }
+    } catch (Throwable ex) {
+      ReferenceCountUtil.safestRelease(header);
+      ReferenceCountUtil.safestRelease(data);
+      Optional.ofNullable(message.data()).ifPresent(ReferenceCountUtil::safestRelease);
+      LOGGER.error("Failed to encode message: {}", message, ex);
+      throw new MessageCodecException("Failed to encode message", ex);
+    }
+
+    if (data == null) {
+      return header;
+    }
+    CompositeByteBuf frame = ByteBufAllocator.DEFAULT.compositeBuffer(2);
+    return frame.addComponents(true, header, data);
+  }
+
+  private GatewayMessage decodeBinary(ByteBuf byteBuf) {
+    try {
+      GatewayMessage.Builder result = GatewayMessage.builder();
+      int flags = byteBuf.readUnsignedByte();
+      if ((flags & FLAG_STREAM_ID) != 0) {
+        result.header(STREAM_ID_FIELD, readVarlong(byteBuf));
+      }
+      if ((flags & FLAG_SIGNAL) != 0) {
+        result.header(SIGNAL_FIELD, readVarlong(byteBuf));
+      }
+      if ((flags & FLAG_QUALIFIER) != 0) {
+        result.header(QUALIFIER_FIELD, readString(byteBuf));
+      }
+      if ((flags & FLAG_INACTIVITY) != 0) {
+        result.header(INACTIVITY_FIELD, readVarlong(byteBuf));
+      }
+      if ((flags & FLAG_RATE_LIMIT) != 0) {
+        result.header(RATE_LIMIT_FIELD, readVarlong(byteBuf));
+      }
+      for (long i = readVarlong(byteBuf); i > 0; i--) {
+        result.header(readString(byteBuf), readString(byteBuf));
+      }
+      // data
+      if (byteBuf.isReadable()) {
+        result.data(byteBuf.retainedSlice());
+      }
+      return result.build();
+    } catch (Throwable ex) {
+      throw new MessageCodecException("Failed to decode message", ex);
+    } finally {
+      ReferenceCountUtil.safestRelease(byteBuf);
+    }
+  }
+
+  private static boolean isWellKnown(String name) {
+    switch (name) {
+      case STREAM_ID_FIELD:
+      case SIGNAL_FIELD:
+      case QUALIFIER_FIELD:
+      case INACTIVITY_FIELD:
+      case RATE_LIMIT_FIELD:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static void writeString(ByteBuf buffer, String value) {
+    writeVarlong(buffer, ByteBufUtil.utf8Bytes(value));
+    ByteBufUtil.writeUtf8(buffer, value);
+  }
+
+  private static String readString(ByteBuf buffer) {
+    int length = (int) readVarlong(buffer);
+    if (length < 0 || length > buffer.readableBytes()) {
+      throw new IllegalArgumentException("Malformed message: string length exceeds frame");
+    }
+    return buffer.readCharSequence(length, StandardCharsets.UTF_8).toString();
+  }
+
+  private static void writeVarlong(ByteBuf buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.writeByte((int) value);
+  }
+
+  private static long readVarlong(ByteBuf buffer) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = buffer.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed message: varint is too long");
+  }
+
   private static ObjectMapper objectMapper() {
     ObjectMapper mapper = new ObjectMapper();
     mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
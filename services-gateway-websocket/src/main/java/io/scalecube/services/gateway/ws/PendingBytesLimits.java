@@ -0,0 +1,62 @@
+package io.scalecube.services.gateway.ws;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits of memory held by frames which are sent but not written yet, per session and for all
+ * sessions of the gateway. Streams of a session stop requesting new responses while any of the
+ * limits is exceeded. Session which has no pending frames may always request, so that one session
+ * can't be starved by the others.
+ */
+final class PendingBytesLimits {
+
+  static final long DEFAULT_SESSION_LIMIT = 4 * 1024 * 1024;
+  static final long DEFAULT_GLOBAL_LIMIT = 256 * 1024 * 1024;
+
+  static final PendingBytesLimits DEFAULT =
+      new PendingBytesLimits(DEFAULT_SESSION_LIMIT, DEFAULT_GLOBAL_LIMIT);
+
+  private final long sessionLimit;
+  private final long globalLimit;
+  private final AtomicLong globalPendingBytes = new AtomicLong();
+
+  PendingBytesLimits(long sessionLimit, long globalLimit) {
+    if (sessionLimit <= 0 || globalLimit <= 0) {
+      throw new IllegalArgumentException(
+          "Pending bytes limits must be positive: " + sessionLimit + ", " + globalLimit);
+    }
+    this.sessionLimit = sessionLimit;
+    this.globalLimit = globalLimit;
+  }
+
+  /**
+   * Checks whether session with given amount of pending bytes may request more responses.
+   *
+   * @param sessionPendingBytes pending bytes of the session
+   * @return true if session is within limits
+   */
+  boolean isWithinLimits(long sessionPendingBytes) {
+    return sessionPendingBytes == 0
+        || (sessionPendingBytes < sessionLimit && globalPendingBytes.get() < globalLimit);
+  }
+
+  void add(long bytes) {
+    globalPendingBytes.addAndGet(bytes);
+  }
+
+  void release(long bytes) {
+    globalPendingBytes.addAndGet(-bytes);
+  }
+
+  @Override
+  public String toString() {
+    return "PendingBytesLimits{"
+        + "sessionLimit="
+        + sessionLimit
+        + ", globalLimit="
+        + globalLimit
+        + ", globalPendingBytes="
+        + globalPendingBytes
+        + '}';
+  }
+}
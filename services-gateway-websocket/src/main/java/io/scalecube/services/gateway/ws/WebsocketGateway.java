@@ -20,6 +20,18 @@ public class WebsocketGateway extends GatewayTemplate {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(WebsocketGateway.class);
 
+  /**
+   * Option of {@link GatewayConfig}: max bytes of responses which are sent but not written yet,
+   * per session. Streams of session stop requesting responses while it's exceeded.
+   */
+  public static final String SESSION_PENDING_BYTES_LIMIT = "sessionPendingBytesLimit";
+
+  /**
+   * Option of {@link GatewayConfig}: max bytes of responses which are sent but not written yet,
+   * for all sessions of the gateway.
+   */
+  public static final String PENDING_BYTES_LIMIT = "pendingBytesLimit";
+
   private DisposableServer server;
   private LoopResources loopResources;
 
@@ -31,8 +43,19 @@ public class WebsocketGateway extends GatewayTemplate {
         () -> {
           LOGGER.info("Starting gateway with {}", config);
 
-          GatewayMetrics metrics1 = new GatewayMetrics(config.name(), metrics);
-          WebsocketGatewayAcceptor acceptor = new WebsocketGatewayAcceptor(call.create(), metrics1);
+          GatewayMetrics metrics1 = prepareMetrics(config, metrics);
+          PendingBytesLimits limits =
+              new PendingBytesLimits(
+                  config
+                      .get(SESSION_PENDING_BYTES_LIMIT)
+                      .map(Long::parseLong)
+                      .orElse(PendingBytesLimits.DEFAULT_SESSION_LIMIT),
+                  config
+                      .get(PENDING_BYTES_LIMIT)
+                      .map(Long::parseLong)
+                      .orElse(PendingBytesLimits.DEFAULT_GLOBAL_LIMIT));
+          WebsocketGatewayAcceptor acceptor =
+              new WebsocketGatewayAcceptor(call.create(), metrics1, limits);
 
           if (workerPool != null) {
             loopResources = new GatewayLoopResources((EventLoopGroup) workerPool);
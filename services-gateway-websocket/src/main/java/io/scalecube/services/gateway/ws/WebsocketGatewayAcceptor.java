@@ -1,33 +1,40 @@
 package io.scalecube.services.gateway.ws;
 
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.scalecube.services.ServiceCall;
+import io.scalecube.services.api.MessageTrace;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.DefaultErrorMapper;
 import io.scalecube.services.gateway.GatewayMetrics;
 import io.scalecube.services.gateway.ReferenceCountUtil;
 import io.scalecube.services.gateway.ws.GatewayMessage.Builder;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.core.Disposable;
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.netty.http.server.HttpServerRequest;
 import reactor.netty.http.server.HttpServerResponse;
 import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
+import reactor.util.concurrent.Queues;
 
 public class WebsocketGatewayAcceptor
     implements BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(WebsocketGatewayAcceptor.class);
 
+  private static final int DEFAULT_WINDOW = Queues.SMALL_BUFFER_SIZE;
+
   private final ServiceCall serviceCall;
   private final GatewayMetrics metrics;
-  private final GatewayMessageCodec messageCodec = new GatewayMessageCodec();
+  private final PendingBytesLimits limits;
+  private final GatewayMessageCodec messageCodec = new GatewayMessageCodec(true, false, true);
+  private final GatewayMessageCodec binaryMessageCodec = new GatewayMessageCodec(true, true);
 
   /**
    * Constructor for websocket acceptor.
@@ -36,15 +43,34 @@ public class WebsocketGatewayAcceptor
    * @param metrics metrics instance
    */
   public WebsocketGatewayAcceptor(ServiceCall serviceCall, GatewayMetrics metrics) {
+    this(serviceCall, metrics, PendingBytesLimits.DEFAULT);
+  }
+
+  WebsocketGatewayAcceptor(
+      ServiceCall serviceCall, GatewayMetrics metrics, PendingBytesLimits limits) {
     this.serviceCall = serviceCall;
     this.metrics = metrics;
+    this.limits = limits;
   }
 
   @Override
   public Publisher<Void> apply(HttpServerRequest httpRequest, HttpServerResponse httpResponse) {
     return httpResponse.sendWebsocket(
+        GatewayMessageCodec.BINARY_PROTOCOL,
         (WebsocketInbound inbound, WebsocketOutbound outbound) ->
-            onConnect(new WebsocketSession(messageCodec, httpRequest, inbound, outbound)));
+            onConnect(
+                new WebsocketSession(
+                    selectCodec(httpRequest, inbound), httpRequest, inbound, outbound, limits)));
+  }
+
+  private GatewayMessageCodec selectCodec(
+      HttpServerRequest httpRequest, WebsocketInbound inbound) {
+    String contentType = httpRequest.requestHeaders().get(HttpHeaderNames.CONTENT_TYPE);
+    if (GatewayMessageCodec.BINARY_PROTOCOL.equals(inbound.selectedSubprotocol())
+        || GatewayMessageCodec.BINARY_CONTENT_TYPE.equals(contentType)) {
+      return binaryMessageCodec;
+    }
+    return messageCodec;
   }
 
   private Mono<Void> onConnect(WebsocketSession session) {
@@ -54,7 +80,7 @@ public class WebsocketGatewayAcceptor
         .receive()
         .subscribe(
             byteBuf ->
-                Mono.fromCallable(() -> messageCodec.decode(byteBuf))
+                Mono.fromCallable(() -> session.codec().decode(byteBuf))
                     .doOnNext(message -> metrics.markRequest())
                     .map(this::checkSid)
                     .flatMap(msg -> handleCancel(session, msg))
@@ -85,42 +111,12 @@ public class WebsocketGatewayAcceptor
   private void handleMessage(WebsocketSession session, GatewayMessage request) {
     Long sid = request.streamId();
 
-    AtomicBoolean receivedError = new AtomicBoolean(false);
-
-    final Flux<ServiceMessage> serviceStream =
-        serviceCall.requestMany(GatewayMessage.toServiceMessage(request));
-
-    Disposable disposable =
-        Optional.ofNullable(request.rateLimit())
-            .map(serviceStream::limitRate)
-            .orElse(serviceStream)
-            .map(response -> prepareResponse(sid, response, receivedError))
-            .doOnNext(response -> metrics.markServiceResponse())
-            .doFinally(signalType -> session.dispose(sid))
-            .subscribe(
-                response ->
-                    session
-                        .send(response)
-                        .subscribe(
-                            avoid -> metrics.markResponse(),
-                            th ->
-                                LOGGER.error(
-                                    "Exception occurred on sending response: "
-                                        + "{} for request: {}, session={}",
-                                    response,
-                                    request,
-                                    session.id(),
-                                    th)),
-                th -> {
-                  // handle error
-                  handleError(session, request, th);
-                },
-                () -> {
-                  // handle complete
-                  handleCompletion(session, sid, receivedError);
-                });
-
-    session.register(sid, disposable);
+    ResponseSubscriber subscriber = new ResponseSubscriber(session, request);
+    ServiceMessage message =
+        MessageTrace.start(GatewayMessage.toServiceMessage(request), MessageTrace.GATEWAY_RECV);
+    serviceCall.requestMany(message).subscribe(subscriber);
+
+    session.register(sid, subscriber);
   }
 
   private void handleError(WebsocketSession session, GatewayMessage req, Throwable th) {
@@ -142,8 +138,8 @@ public class WebsocketGatewayAcceptor
                     throwable));
   }
 
-  private void handleCompletion(WebsocketSession session, Long sid, AtomicBoolean receivedError) {
-    if (!receivedError.get()) {
+  private void handleCompletion(WebsocketSession session, Long sid, boolean receivedError) {
+    if (!receivedError) {
       Builder builder = GatewayMessage.builder();
       Optional.ofNullable(sid).ifPresent(builder::streamId);
       GatewayMessage response = builder.signal(Signal.COMPLETE).build();
@@ -200,13 +196,71 @@ public class WebsocketGatewayAcceptor
     }
   }
 
-  private GatewayMessage prepareResponse(
-      Long streamId, ServiceMessage message, AtomicBoolean receivedErrorMessage) {
-    GatewayMessage.Builder response = GatewayMessage.from(message).streamId(streamId);
-    if (message.isError()) {
-      receivedErrorMessage.set(true);
-      response.signal(Signal.ERROR);
+  /**
+   * Subscriber of service stream which sends responses to websocket session. It requests a window
+   * of responses (value of {@link GatewayMessage#rateLimit()}, if any) and then requests more as
+   * responses get written and memory held by pending responses is within limits, so that slow
+   * client backpressures service stream rather than gateway buffers responses without limit.
+   */
+  private final class ResponseSubscriber extends BaseSubscriber<ServiceMessage> {
+
+    private final WebsocketSession session;
+    private final GatewayMessage request;
+    private final Long sid;
+    private final int window;
+    private final int replenishThreshold;
+    private final Runnable onWritten = this::onWritten;
+
+    private boolean receivedError;
+    private int written; // accessed on session event loop only
+
+    private ResponseSubscriber(WebsocketSession session, GatewayMessage request) {
+      this.session = session;
+      this.request = request;
+      this.sid = request.streamId();
+      Integer rateLimit = request.rateLimit();
+      this.window = rateLimit != null && rateLimit > 0 ? rateLimit : DEFAULT_WINDOW;
+      this.replenishThreshold = Math.max(1, window - (window >> 2));
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+      subscription.request(window);
+    }
+
+    @Override
+    protected void hookOnNext(ServiceMessage message) {
+      metrics.markServiceResponse();
+      Builder response = GatewayMessage.from(message).streamId(sid);
+      if (message.isError()) {
+        receivedError = true;
+        response.signal(Signal.ERROR);
+      }
+      session.enqueue(response.build(), onWritten);
+      metrics.markResponse();
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+      handleError(session, request, throwable);
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      handleCompletion(session, sid, receivedError);
+    }
+
+    @Override
+    protected void hookFinally(SignalType type) {
+      session.dispose(sid);
+    }
+
+    private void onWritten() {
+      if (++written >= replenishThreshold) {
+        int n = written;
+        written = 0;
+        request(n);
+      }
     }
-    return response.build();
   }
 }
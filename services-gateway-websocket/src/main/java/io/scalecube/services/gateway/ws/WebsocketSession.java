@@ -2,7 +2,9 @@ package io.scalecube.services.gateway.ws;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import java.util.Map;
 import java.util.Optional;
 import org.jctools.maps.NonBlockingHashMapLong;
@@ -11,7 +13,6 @@ import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.netty.NettyPipeline.SendOptions;
 import reactor.netty.http.server.HttpServerRequest;
 import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
@@ -25,7 +26,7 @@ public final class WebsocketSession {
   private final Map<Long, Disposable> subscriptions = new NonBlockingHashMapLong<>(1024);
 
   private final WebsocketInbound inbound;
-  private final WebsocketOutbound outbound;
+  private final WebsocketSessionOutbound outbound;
   private final GatewayMessageCodec codec;
 
   private final String id;
@@ -44,6 +45,15 @@ public final class WebsocketSession {
       HttpServerRequest httpRequest,
       WebsocketInbound inbound,
       WebsocketOutbound outbound) {
+    this(codec, httpRequest, inbound, outbound, PendingBytesLimits.DEFAULT);
+  }
+
+  WebsocketSession(
+      GatewayMessageCodec codec,
+      HttpServerRequest httpRequest,
+      WebsocketInbound inbound,
+      WebsocketOutbound outbound,
+      PendingBytesLimits limits) {
     this.codec = codec;
     this.id = Integer.toHexString(System.identityHashCode(this));
 
@@ -53,7 +63,7 @@ public final class WebsocketSession {
     this.inbound =
         (WebsocketInbound) inbound.withConnection(c -> c.onDispose(this::clearSubscriptions));
 
-    this.outbound = (WebsocketOutbound) outbound.options(SendOptions::flushOnEach);
+    this.outbound = WebsocketSessionOutbound.of(outbound, limits);
   }
 
   public String id() {
@@ -64,6 +74,15 @@ public final class WebsocketSession {
     return contentType;
   }
 
+  /**
+   * Returns codec of messages of this session.
+   *
+   * @return message codec
+   */
+  public GatewayMessageCodec codec() {
+    return codec;
+  }
+
   /**
    * Method for receiving request messages coming a form of websocket frames.
    *
@@ -80,12 +99,44 @@ public final class WebsocketSession {
    * @return mono void
    */
   public Mono<Void> send(GatewayMessage response) {
-    return Mono.defer(
-        () ->
-            outbound
-                .sendObject(Mono.just(response).map(codec::encode).map(TextWebSocketFrame::new))
-                .then()
-                .doOnSuccessOrError((avoid, th) -> logSend(response, th)));
+    return Mono.<Void>create(sink -> outbound.send(encode(response), sink))
+        .doOnSuccessOrError((avoid, th) -> logSend(response, th));
+  }
+
+  /**
+   * Enqueues response to be sent along with other responses of this session, without waiting for
+   * it to be written. Responses are written in the order they were enqueued and flushed in
+   * batches, failures are logged.
+   *
+   * @param response response
+   * @param onWritten callback which is run on session event loop once response is written (or
+   *     failed) and memory held by pending responses is within limits, i.e. when it's fine to
+   *     request one more response from upstream
+   */
+  public void enqueue(GatewayMessage response, Runnable onWritten) {
+    WebSocketFrame frame;
+    try {
+      frame = encode(response);
+    } catch (Throwable th) {
+      logSend(response, th);
+      outbound.whenWritable(onWritten);
+      return;
+    }
+    outbound.send(
+        frame,
+        future -> {
+          if (!future.isSuccess() || LOGGER.isDebugEnabled()) {
+            logSend(response, future.cause());
+          }
+          outbound.whenWritable(onWritten);
+        });
+  }
+
+  private WebSocketFrame encode(GatewayMessage response) {
+    ByteBuf content = codec.encode(response);
+    return codec.isBinary()
+        ? new BinaryWebSocketFrame(content)
+        : new TextWebSocketFrame(content);
   }
 
   private void logSend(GatewayMessage response, Throwable th) {
@@ -105,7 +156,7 @@ public final class WebsocketSession {
    * @return mono void
    */
   public Mono<Void> close() {
-    return outbound.sendClose().then();
+    return Mono.create(outbound::close);
   }
 
   /**
@@ -0,0 +1,225 @@
+package io.scalecube.services.gateway.ws;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.scalecube.services.gateway.ReferenceCountUtil;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+import reactor.core.publisher.MonoSink;
+import reactor.netty.Connection;
+import reactor.netty.NettyOutbound;
+
+/**
+ * Outbound pipeline of websocket session. Frames of all streams of the session go to one MPSC
+ * queue, which is drained on the channel event loop: frames are written while the channel is
+ * writable and flushed once per drain, or earlier when {@link #FLUSH_THRESHOLD} bytes are written.
+ * When the channel becomes unwritable the rest of the queue waits for it to become writable again.
+ * Single queue keeps frames of every stream in the order they were sent.
+ *
+ * <p>Bytes of frames which are sent but not written yet are accounted against {@link
+ * PendingBytesLimits}, see {@link #whenWritable(Runnable)}.
+ */
+final class WebsocketSessionOutbound {
+
+  private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+  private static final int QUEUE_CHUNK_SIZE = 256;
+
+  private final Channel channel;
+  private final PendingBytesLimits limits;
+  private final Queue<Entry> queue = new MpscUnboundedArrayQueue<>(QUEUE_CHUNK_SIZE);
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final Runnable drainTask = this::drain;
+  private final AtomicLong pendingBytes = new AtomicLong();
+  private final Queue<Runnable> parked = new ArrayDeque<>(); // accessed on event loop only
+
+  private WebsocketSessionOutbound(Connection connection, PendingBytesLimits limits) {
+    this.channel = connection.channel();
+    this.limits = limits;
+    connection.addHandlerLast(
+        WebsocketSessionOutbound.class.getSimpleName(),
+        new ChannelInboundHandlerAdapter() {
+          @Override
+          public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+            if (ctx.channel().isWritable()) {
+              scheduleDrain();
+            }
+            ctx.fireChannelWritabilityChanged();
+          }
+        });
+    connection.onDispose(this::scheduleDrain);
+  }
+
+  /**
+   * Creates outbound pipeline on the connection of the given websocket outbound.
+   *
+   * @param outbound websocket outbound
+   * @param limits pending bytes limits
+   * @return outbound pipeline
+   */
+  static WebsocketSessionOutbound of(NettyOutbound outbound, PendingBytesLimits limits) {
+    WebsocketSessionOutbound[] result = new WebsocketSessionOutbound[1];
+    outbound.withConnection(connection -> result[0] = of(connection, limits));
+    return result[0];
+  }
+
+  /**
+   * Creates outbound pipeline on the given connection.
+   *
+   * @param connection connection
+   * @param limits pending bytes limits
+   * @return outbound pipeline
+   */
+  static WebsocketSessionOutbound of(Connection connection, PendingBytesLimits limits) {
+    return new WebsocketSessionOutbound(connection, limits);
+  }
+
+  /**
+   * Enqueues frame to be written.
+   *
+   * @param frame websocket frame
+   * @param listener listener of write result
+   */
+  void send(WebSocketFrame frame, ChannelFutureListener listener) {
+    Entry entry = new Entry(frame, listener);
+    pendingBytes.addAndGet(entry.bytes);
+    limits.add(entry.bytes);
+    queue.offer(entry);
+    scheduleDrain();
+  }
+
+  /**
+   * Enqueues frame to be written, completes given sink once it's written.
+   *
+   * @param frame websocket frame
+   * @param sink sink to complete
+   */
+  void send(WebSocketFrame frame, MonoSink<Void> sink) {
+    send(
+        frame,
+        future -> {
+          if (future.isSuccess()) {
+            sink.success();
+          } else {
+            sink.error(future.cause());
+          }
+        });
+  }
+
+  /**
+   * Enqueues close frame, closes the channel once it's written.
+   *
+   * @param sink sink to complete
+   */
+  void close(MonoSink<Void> sink) {
+    send(
+        new CloseWebSocketFrame(),
+        future -> {
+          future.channel().close();
+          if (future.isSuccess()) {
+            sink.success();
+          } else {
+            sink.error(future.cause());
+          }
+        });
+  }
+
+  /**
+   * Runs given task once pending bytes of this session and of all sessions are within limits.
+   * Tasks are run on the channel event loop.
+   *
+   * @param task task to run
+   */
+  void whenWritable(Runnable task) {
+    if (!channel.eventLoop().inEventLoop()) {
+      channel.eventLoop().execute(() -> whenWritable(task));
+    } else if (parked.isEmpty() && limits.isWithinLimits(pendingBytes.get())) {
+      task.run();
+    } else if (channel.isActive()) {
+      parked.offer(task);
+    }
+  }
+
+  private void written(Entry entry) {
+    pendingBytes.addAndGet(-entry.bytes);
+    limits.release(entry.bytes);
+    while (!parked.isEmpty() && limits.isWithinLimits(pendingBytes.get())) {
+      parked.poll().run();
+    }
+  }
+
+  private void scheduleDrain() {
+    if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+      channel.eventLoop().execute(drainTask);
+    }
+  }
+
+  private void drain() {
+    scheduled.set(false);
+
+    if (!channel.isActive()) {
+      discard();
+      return;
+    }
+
+    long unflushedBytes = 0;
+    boolean flushed = true;
+    Entry entry;
+    while (channel.isWritable() && (entry = queue.poll()) != null) {
+      unflushedBytes += entry.bytes;
+      channel.write(entry.frame).addListener(entry);
+      flushed = false;
+      if (unflushedBytes >= FLUSH_THRESHOLD) {
+        channel.flush();
+        unflushedBytes = 0;
+        flushed = true;
+      }
+    }
+    if (!flushed) {
+      channel.flush();
+    }
+  }
+
+  private void discard() {
+    parked.clear();
+    Entry entry;
+    while ((entry = queue.poll()) != null) {
+      ReferenceCountUtil.safestRelease(entry.frame);
+      entry.operationComplete(channel.newFailedFuture(new ClosedChannelException()));
+    }
+  }
+
+  private final class Entry implements ChannelFutureListener {
+
+    private final WebSocketFrame frame;
+    private final ChannelFutureListener listener;
+    private final int bytes;
+
+    private Entry(WebSocketFrame frame, ChannelFutureListener listener) {
+      this.frame = frame;
+      this.listener = listener;
+      this.bytes = frame.content().readableBytes();
+    }
+
+    @Override
+    public void operationComplete(ChannelFuture future) {
+      written(this);
+      if (listener != null) {
+        try {
+          listener.operationComplete(future);
+        } catch (Exception ignore) {
+          // no-op
+        }
+      }
+    }
+  }
+}
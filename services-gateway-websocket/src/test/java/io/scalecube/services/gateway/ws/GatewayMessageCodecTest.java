@@ -269,6 +269,71 @@ public class GatewayMessageCodecTest {
     assertEquals(data, actual.data());
   }
 
+  @Test
+  public void testDecodeDataSlice() throws Exception {
+    GatewayMessageCodec sliceCodec = new GatewayMessageCodec(true, false, true);
+    TestInputs.Entity data = new TestInputs.Entity("test", 123, true);
+    String stringData =
+        String.format(
+            TestInputs.STRING_DATA_PATTERN_Q_SIG_SID_D,
+            TestInputs.Q,
+            TestInputs.SIG,
+            TestInputs.SID,
+            objectMapper.writeValueAsString(data));
+
+    ByteBuf input = toByteBuf(stringData);
+
+    GatewayMessage result = sliceCodec.decode(input);
+
+    assertEquals(TestInputs.Q, result.qualifier());
+    assertEquals(TestInputs.SID, result.streamId());
+    assertEquals(1, input.refCnt());
+    ByteBuf actualData = result.data();
+    assertEquals(
+        data,
+        objectMapper.readValue(
+            (InputStream) new ByteBufInputStream(actualData, true), TestInputs.Entity.class));
+    assertEquals(0, input.refCnt());
+  }
+
+  @Test
+  public void testBinaryEncodeDecode() throws Exception {
+    GatewayMessageCodec binaryCodec = new GatewayMessageCodec(true, true);
+    TestInputs.Entity data = new TestInputs.Entity("test", 123, true);
+    GatewayMessage expected =
+        GatewayMessage.builder()
+            .qualifier(TestInputs.Q)
+            .streamId(TestInputs.SID)
+            .signal(TestInputs.SIG)
+            .inactivity(TestInputs.I)
+            .rateLimit(1024)
+            .header("custom", "value")
+            .data(toByteBuf(data))
+            .build();
+
+    GatewayMessage actual = binaryCodec.decode(binaryCodec.encode(expected));
+
+    assertEquals(expected.headers(), actual.headers());
+    assertTrue(actual.data() instanceof ByteBuf);
+    ByteBuf actualData = actual.data();
+    assertEquals(
+        data,
+        objectMapper.readValue(
+            (InputStream) new ByteBufInputStream(actualData, true), TestInputs.Entity.class));
+  }
+
+  @Test
+  public void testBinaryEncodeDecodeNoData() {
+    GatewayMessageCodec binaryCodec = new GatewayMessageCodec(true, true);
+    GatewayMessage expected =
+        GatewayMessage.builder().streamId(Long.MAX_VALUE).signal(Signal.COMPLETE).build();
+
+    GatewayMessage actual = binaryCodec.decode(binaryCodec.encode(expected));
+
+    assertEquals(expected.headers(), actual.headers());
+    assertNull(actual.data());
+  }
+
   private ByteBuf toByteBuf(String data) {
     ByteBuf bb = ByteBufAllocator.DEFAULT.buffer();
     bb.writeBytes(data.getBytes());
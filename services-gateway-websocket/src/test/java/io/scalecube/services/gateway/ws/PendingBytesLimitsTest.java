@@ -0,0 +1,43 @@
+package io.scalecube.services.gateway.ws;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class PendingBytesLimitsTest {
+
+  @Test
+  public void testLimitsMustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new PendingBytesLimits(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new PendingBytesLimits(1, 0));
+  }
+
+  @Test
+  public void testSessionLimit() {
+    PendingBytesLimits limits = new PendingBytesLimits(16, 1024);
+
+    assertTrue(limits.isWithinLimits(15));
+    assertFalse(limits.isWithinLimits(16));
+  }
+
+  @Test
+  public void testGlobalLimit() {
+    PendingBytesLimits limits = new PendingBytesLimits(1024, 16);
+
+    limits.add(16);
+    assertFalse(limits.isWithinLimits(1));
+
+    limits.release(1);
+    assertTrue(limits.isWithinLimits(1));
+  }
+
+  @Test
+  public void testSessionWithoutPendingBytesIsAlwaysWithinLimits() {
+    PendingBytesLimits limits = new PendingBytesLimits(16, 16);
+
+    limits.add(1024);
+    assertTrue(limits.isWithinLimits(0));
+  }
+}
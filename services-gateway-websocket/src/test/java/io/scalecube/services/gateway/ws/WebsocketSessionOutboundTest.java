@@ -0,0 +1,78 @@
+package io.scalecube.services.gateway.ws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.netty.Connection;
+
+public class WebsocketSessionOutboundTest {
+
+  private final List<EmbeddedChannel> channels = new ArrayList<>();
+  private final AtomicInteger runs = new AtomicInteger();
+
+  @AfterEach
+  public void closeChannels() {
+    channels.forEach(EmbeddedChannel::finishAndReleaseAll);
+  }
+
+  @Test
+  public void testSessionLimitParksTasksUntilFramesAreWritten() {
+    PendingBytesLimits limits = new PendingBytesLimits(16, 1024);
+    EmbeddedChannel channel = channel();
+    WebsocketSessionOutbound outbound = outbound(channel, limits);
+
+    outbound.send(frame(16), future -> {});
+    outbound.whenWritable(runs::incrementAndGet);
+    outbound.whenWritable(runs::incrementAndGet);
+    assertEquals(0, runs.get());
+
+    channel.runPendingTasks(); // drains the queue, i.e. writes and flushes the frame
+    assertEquals(2, runs.get());
+
+    outbound.whenWritable(runs::incrementAndGet);
+    assertEquals(3, runs.get());
+  }
+
+  @Test
+  public void testGlobalLimitParksTasksOfOtherSessions() {
+    PendingBytesLimits limits = new PendingBytesLimits(1024, 16);
+    EmbeddedChannel channel1 = channel();
+    EmbeddedChannel channel2 = channel();
+    WebsocketSessionOutbound outbound1 = outbound(channel1, limits);
+    WebsocketSessionOutbound outbound2 = outbound(channel2, limits);
+
+    outbound2.send(frame(1), future -> {});
+    outbound2.whenWritable(runs::incrementAndGet);
+    assertEquals(1, runs.get());
+
+    outbound1.send(frame(16), future -> {});
+    outbound2.whenWritable(runs::incrementAndGet);
+    assertEquals(1, runs.get());
+
+    channel2.runPendingTasks();
+    assertEquals(2, runs.get());
+  }
+
+  private EmbeddedChannel channel() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channels.add(channel);
+    return channel;
+  }
+
+  private static WebsocketSessionOutbound outbound(
+      EmbeddedChannel channel, PendingBytesLimits limits) {
+    return WebsocketSessionOutbound.of(Connection.from(channel), limits);
+  }
+
+  private static WebSocketFrame frame(int bytes) {
+    return new BinaryWebSocketFrame(Unpooled.wrappedBuffer(new byte[bytes]));
+  }
+}
@@ -0,0 +1,491 @@
+package io.scalecube.services.processor;
+
+import io.scalecube.services.CommunicationMode;
+import io.scalecube.services.annotations.RequestType;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.methods.ServiceProxies;
+import io.scalecube.services.methods.ServiceProxyHandler;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor which generates a proxy class for every {@link Service} interface. Proxy
+ * class holds constant {@link MethodInfo} of every service method and delegates calls to {@link
+ * ServiceProxyHandler}, so neither {@link java.lang.reflect.Proxy} nor method lookup is involved
+ * when service method is called. Proxies are picked up by {@link ServiceProxies}.
+ *
+ * <p>Method infos are computed with the same rules as {@code io.scalecube.services.Reflect} does.
+ * Service interfaces which can't be expressed in generated code (generic interfaces or methods,
+ * inaccessible types, unsupported return types) are skipped, at runtime they are served by {@link
+ * java.lang.reflect.Proxy} as before.
+ */
+@SupportedAnnotationTypes("io.scalecube.services.annotations.Service")
+public final class ServiceProxyProcessor extends AbstractProcessor {
+
+  private static final String HANDLER = ServiceProxyHandler.class.getCanonicalName();
+  private static final String METHOD_INFO = MethodInfo.class.getCanonicalName();
+  private static final String COMMUNICATION_MODE = CommunicationMode.class.getCanonicalName();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (typeElement("org.reactivestreams.Publisher") == null
+        || typeElement("reactor.core.publisher.Flux") == null
+        || typeElement("reactor.core.publisher.Mono") == null) {
+      return false;
+    }
+    for (Element element : roundEnv.getElementsAnnotatedWith(Service.class)) {
+      if (element.getKind() != ElementKind.INTERFACE) {
+        continue;
+      }
+      TypeElement serviceInterface = (TypeElement) element;
+      try {
+        writeProxy(serviceInterface, proxyMethods(serviceInterface));
+      } catch (UnsupportedServiceException ex) {
+        note(serviceInterface, "Service proxy is not generated: " + ex.getMessage());
+      } catch (IOException ex) {
+        note(serviceInterface, "Failed to write service proxy: " + ex);
+      }
+    }
+    return false;
+  }
+
+  private List<ProxyMethod> proxyMethods(TypeElement serviceInterface) {
+    if (!isAccessible(serviceInterface, packageOf(serviceInterface))) {
+      throw new UnsupportedServiceException("service interface is not accessible");
+    }
+    if (!serviceInterface.getTypeParameters().isEmpty()) {
+      throw new UnsupportedServiceException("service interface is generic");
+    }
+
+    String serviceName = serviceName(serviceInterface);
+    List<ProxyMethod> result = new ArrayList<>();
+    Set<String> signatures = new HashSet<>();
+
+    for (ExecutableElement method :
+        ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(serviceInterface))) {
+      if (method.getEnclosingElement().getKind() != ElementKind.INTERFACE
+          || method.getModifiers().contains(Modifier.STATIC)
+          || isObjectMethod(method)
+          || !signatures.add(signature(method))) {
+        continue;
+      }
+      ServiceMethod serviceMethod = method.getAnnotation(ServiceMethod.class);
+      if (serviceMethod == null && method.getModifiers().contains(Modifier.DEFAULT)) {
+        continue; // not a service method, default implementation is inherited
+      }
+      if (!method.getTypeParameters().isEmpty()) {
+        throw new UnsupportedServiceException("generic method " + method);
+      }
+      result.add(
+          serviceMethod != null
+              ? serviceMethod(serviceInterface, serviceName, serviceMethod, method)
+              : new ProxyMethod(method, null, null));
+    }
+    return result;
+  }
+
+  private ProxyMethod serviceMethod(
+      TypeElement serviceInterface,
+      String serviceName,
+      ServiceMethod serviceMethod,
+      ExecutableElement method) {
+
+    String methodName =
+        serviceMethod.value().length() > 0
+            ? serviceMethod.value()
+            : method.getSimpleName().toString();
+    CommunicationMode mode = communicationMode(method);
+
+    String methodInfo =
+        "new "
+            + METHOD_INFO
+            + "("
+            + stringLiteral(serviceName)
+            + ", "
+            + stringLiteral(methodName)
+            + ", "
+            + parameterizedReturnType(serviceInterface, method)
+            + ", "
+            + COMMUNICATION_MODE
+            + "."
+            + mode.name()
+            + ", "
+            + method.getParameters().size()
+            + ", "
+            + requestType(serviceInterface, method)
+            + ")";
+
+    return new ProxyMethod(method, mode, methodInfo);
+  }
+
+  /**
+   * Mirrors {@code io.scalecube.services.Reflect#communicationMode(Method)} and additionally
+   * checks that result of {@link ServiceProxyHandler} can be returned from the method.
+   */
+  private CommunicationMode communicationMode(ExecutableElement method) {
+    TypeMirror returnType = method.getReturnType();
+    TypeMirror flux = erasure("reactor.core.publisher.Flux");
+    TypeMirror mono = erasure("reactor.core.publisher.Mono");
+
+    if (!method.getParameters().isEmpty()
+        && isAssignable(method.getParameters().get(0).asType(), "org.reactivestreams.Publisher")) {
+      if (returnType.getKind() != TypeKind.DECLARED
+          || !processingEnv.getTypeUtils().isAssignable(flux, erasure(returnType))) {
+        throw new UnsupportedServiceException("unsupported return type of " + method);
+      }
+      return CommunicationMode.REQUEST_CHANNEL;
+    }
+    if (returnType.getKind() == TypeKind.VOID) {
+      return CommunicationMode.FIRE_AND_FORGET;
+    }
+    if (returnType.getKind() == TypeKind.DECLARED) {
+      if (processingEnv.getTypeUtils().isAssignable(flux, erasure(returnType))) {
+        return CommunicationMode.REQUEST_STREAM;
+      }
+      if (processingEnv.getTypeUtils().isAssignable(mono, erasure(returnType))) {
+        return CommunicationMode.REQUEST_RESPONSE;
+      }
+    }
+    throw new UnsupportedServiceException("unsupported return type of " + method);
+  }
+
+  /**
+   * Mirrors {@code io.scalecube.services.Reflect#parameterizedReturnType(Method)}.
+   */
+  private String parameterizedReturnType(TypeElement serviceInterface, ExecutableElement method) {
+    TypeMirror returnType = method.getReturnType();
+    if (returnType.getKind() == TypeKind.DECLARED) {
+      List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+      if (!typeArguments.isEmpty()) {
+        return typeArgumentLiteral(serviceInterface, typeArguments.get(0));
+      }
+    }
+    return "java.lang.Object.class";
+  }
+
+  /**
+   * Mirrors {@code io.scalecube.services.Reflect#requestType(Method)}.
+   */
+  private String requestType(TypeElement serviceInterface, ExecutableElement method) {
+    if (method.getParameters().isEmpty()) {
+      return "void.class";
+    }
+    TypeMirror requestType = requestTypeAnnotationValue(method);
+    if (requestType != null) {
+      return classLiteral(serviceInterface, requestType);
+    }
+    TypeMirror parameterType = method.getParameters().get(0).asType();
+    if (parameterType.getKind() == TypeKind.DECLARED
+        && !((DeclaredType) parameterType).getTypeArguments().isEmpty()) {
+      return typeArgumentLiteral(
+          serviceInterface, ((DeclaredType) parameterType).getTypeArguments().get(0));
+    }
+    if (isSameErasure(parameterType, ServiceMessage.class.getCanonicalName())) {
+      return "java.lang.Object.class";
+    }
+    return classLiteral(serviceInterface, parameterType);
+  }
+
+  /**
+   * Reflect resolves type argument with {@code Class.forName(type.getTypeName())}, so only
+   * non-generic declared types are resolved, anything else becomes {@code Object}.
+   */
+  private String typeArgumentLiteral(TypeElement serviceInterface, TypeMirror typeArgument) {
+    if (typeArgument.getKind() == TypeKind.DECLARED
+        && ((DeclaredType) typeArgument).getTypeArguments().isEmpty()) {
+      return classLiteral(serviceInterface, typeArgument);
+    }
+    return "java.lang.Object.class";
+  }
+
+  private TypeMirror requestTypeAnnotationValue(ExecutableElement method) {
+    for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+      if (isSameErasure(annotation.getAnnotationType(), RequestType.class.getCanonicalName())) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+            annotation.getElementValues().entrySet()) {
+          if (entry.getKey().getSimpleName().contentEquals("value")) {
+            return (TypeMirror) entry.getValue().getValue();
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  private String classLiteral(TypeElement serviceInterface, TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return type.toString() + ".class";
+    }
+    if (type.getKind() == TypeKind.ARRAY) {
+      classLiteral(serviceInterface, ((ArrayType) type).getComponentType());
+      return erasure(type).toString() + ".class";
+    }
+    if (type.getKind() != TypeKind.DECLARED) {
+      throw new UnsupportedServiceException("unsupported type " + type);
+    }
+    TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+    if (!isAccessible(element, packageOf(serviceInterface))) {
+      throw new UnsupportedServiceException("type " + type + " is not accessible");
+    }
+    return element.getQualifiedName() + ".class";
+  }
+
+  private void writeProxy(TypeElement serviceInterface, List<ProxyMethod> methods)
+      throws IOException {
+    String packageName = packageOf(serviceInterface).getQualifiedName().toString();
+    String proxyClassName =
+        ServiceProxies.proxyClassName(
+            processingEnv.getElementUtils().getBinaryName(serviceInterface).toString());
+    String simpleName = proxyClassName.substring(proxyClassName.lastIndexOf('.') + 1);
+    String interfaceName = serviceInterface.getQualifiedName().toString();
+
+    JavaFileObject file =
+        processingEnv.getFiler().createSourceFile(proxyClassName, serviceInterface);
+
+    try (PrintWriter out = new PrintWriter(file.openWriter())) {
+      if (!packageName.isEmpty()) {
+        out.println("package " + packageName + ";");
+        out.println();
+      }
+      out.println("/**");
+      out.println(" * Service proxy of {@link " + interfaceName + "}.");
+      out.println(" * Generated by " + getClass().getName() + ", do not edit.");
+      out.println(" */");
+      out.println("public final class " + simpleName + " implements " + interfaceName + " {");
+      out.println();
+
+      for (int i = 0; i < methods.size(); i++) {
+        if (methods.get(i).methodInfo != null) {
+          out.println("  private static final " + METHOD_INFO + " M" + i + " =");
+          out.println("      " + methods.get(i).methodInfo + ";");
+        }
+      }
+      out.println();
+      out.println("  private final " + HANDLER + " handler;");
+      out.println();
+      out.println("  public " + simpleName + "(" + HANDLER + " handler) {");
+      out.println("    this.handler = handler;");
+      out.println("  }");
+
+      for (int i = 0; i < methods.size(); i++) {
+        out.println();
+        writeMethod(out, methods.get(i), "M" + i);
+      }
+
+      out.println();
+      out.println("  @Override");
+      out.println("  public String toString() {");
+      out.println("    return " + interfaceName + ".class.toString();");
+      out.println("  }");
+      out.println();
+      out.println("  @Override");
+      out.println("  public boolean equals(Object obj) {");
+      out.println("    return " + interfaceName + ".class.equals(obj);");
+      out.println("  }");
+      out.println();
+      out.println("  @Override");
+      out.println("  public int hashCode() {");
+      out.println("    return " + interfaceName + ".class.hashCode();");
+      out.println("  }");
+      out.println("}");
+    }
+  }
+
+  private void writeMethod(PrintWriter out, ProxyMethod proxyMethod, String methodInfo) {
+    ExecutableElement method = proxyMethod.method;
+    List<? extends VariableElement> parameters = method.getParameters();
+
+    StringBuilder signature = new StringBuilder();
+    signature.append(method.getReturnType()).append(' ').append(method.getSimpleName());
+    signature.append('(');
+    for (int i = 0; i < parameters.size(); i++) {
+      signature.append(i > 0 ? ", " : "").append(parameters.get(i).asType()).append(" p" + i);
+    }
+    signature.append(')');
+    if (!method.getThrownTypes().isEmpty()) {
+      signature.append(" throws ");
+      signature.append(
+          method.getThrownTypes().stream()
+              .map(TypeMirror::toString)
+              .collect(Collectors.joining(", ")));
+    }
+
+    String request = parameters.isEmpty() ? "null" : "p0";
+
+    out.println("  @Override");
+    out.println("  public " + signature + " {");
+    if (proxyMethod.mode == null) {
+      out.println(
+          "    throw new UnsupportedOperationException("
+              + stringLiteral("Not a service method: " + method.getSimpleName())
+              + ");");
+    } else {
+      switch (proxyMethod.mode) {
+        case FIRE_AND_FORGET:
+          out.println(
+              "    handler.fireAndForget(" + methodInfo + ", " + request + ").subscribe();");
+          break;
+        case REQUEST_RESPONSE:
+          out.println("    return handler.requestResponse(" + methodInfo + ", " + request + ");");
+          break;
+        case REQUEST_STREAM:
+          out.println("    return handler.requestStream(" + methodInfo + ", " + request + ");");
+          break;
+        case REQUEST_CHANNEL:
+          out.println("    return handler.requestChannel(" + methodInfo + ", " + request + ");");
+          break;
+        default:
+          throw new UnsupportedServiceException("unsupported communication mode of " + method);
+      }
+    }
+    out.println("  }");
+  }
+
+  private String serviceName(TypeElement serviceInterface) {
+    Service service = serviceInterface.getAnnotation(Service.class);
+    return service.value().length() > 0
+        ? service.value()
+        : processingEnv.getElementUtils().getBinaryName(serviceInterface).toString();
+  }
+
+  private boolean isObjectMethod(ExecutableElement method) {
+    String name = method.getSimpleName().toString();
+    List<? extends VariableElement> parameters = method.getParameters();
+    return (parameters.isEmpty() && ("toString".equals(name) || "hashCode".equals(name)))
+        || (parameters.size() == 1
+            && "equals".equals(name)
+            && isSameErasure(parameters.get(0).asType(), Object.class.getCanonicalName()));
+  }
+
+  private String signature(ExecutableElement method) {
+    return method.getSimpleName()
+        + method.getParameters().stream()
+            .map(parameter -> erasure(parameter.asType()).toString())
+            .collect(Collectors.joining(",", "(", ")"));
+  }
+
+  private boolean isAccessible(TypeElement element, PackageElement fromPackage) {
+    for (Element current = element;
+        current.getKind().isClass() || current.getKind().isInterface();
+        current = current.getEnclosingElement()) {
+      Set<Modifier> modifiers = current.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      if (!modifiers.contains(Modifier.PUBLIC)
+          && !packageOf(current).equals(fromPackage)
+          && !current.getEnclosingElement().getKind().isInterface()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isAssignable(TypeMirror type, String target) {
+    return processingEnv.getTypeUtils().isAssignable(erasure(type), erasure(target));
+  }
+
+  private boolean isSameErasure(TypeMirror type, String target) {
+    return processingEnv.getTypeUtils().isSameType(erasure(type), erasure(target));
+  }
+
+  private TypeMirror erasure(String className) {
+    return erasure(typeElement(className).asType());
+  }
+
+  private TypeMirror erasure(TypeMirror type) {
+    return processingEnv.getTypeUtils().erasure(type);
+  }
+
+  private TypeElement typeElement(String className) {
+    return processingEnv.getElementUtils().getTypeElement(className);
+  }
+
+  private PackageElement packageOf(Element element) {
+    return processingEnv.getElementUtils().getPackageOf(element);
+  }
+
+  private void note(Element element, String message) {
+    processingEnv.getMessager().printMessage(Kind.NOTE, message, element);
+  }
+
+  private static String stringLiteral(String value) {
+    StringBuilder sb = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  private static final class ProxyMethod {
+
+    private final ExecutableElement method;
+    private final CommunicationMode mode; // null if not a service method
+    private final String methodInfo; // null if not a service method
+
+    private ProxyMethod(ExecutableElement method, CommunicationMode mode, String methodInfo) {
+      this.method = method;
+      this.mode = mode;
+      this.methodInfo = methodInfo;
+    }
+  }
+
+  private static final class UnsupportedServiceException extends RuntimeException {
+
+    private UnsupportedServiceException(String message) {
+      super(message);
+    }
+  }
+}
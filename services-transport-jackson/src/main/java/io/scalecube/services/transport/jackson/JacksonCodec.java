@@ -3,10 +3,19 @@ package io.scalecube.services.transport.jackson;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.scalecube.services.transport.api.DataCodec;
 import io.scalecube.services.transport.api.HeadersCodec;
 import java.io.IOException;
@@ -22,12 +31,40 @@ public final class JacksonCodec implements DataCodec, HeadersCodec {
 
   private final ObjectMapper mapper;
 
+  private final ObjectReader headersReader;
+  private final ObjectWriter headersWriter;
+
+  // readers and writers by type, so that their root (de)serializers are looked up once
+  private final ClassValue<ObjectReader> readers;
+  private final ClassValue<ObjectWriter> writers;
+
   public JacksonCodec() {
     this(initMapper());
   }
 
+  /**
+   * Creates codec with given object mapper.
+   *
+   * @param mapper object mapper
+   */
   public JacksonCodec(ObjectMapper mapper) {
     this.mapper = mapper;
+    this.headersReader = mapper.readerFor(new TypeReference<HashMap<String, String>>() {});
+    this.headersWriter = mapper.writerFor(new TypeReference<Map<String, String>>() {});
+    this.readers =
+        new ClassValue<ObjectReader>() {
+          @Override
+          protected ObjectReader computeValue(Class<?> type) {
+            return mapper.readerFor(type);
+          }
+        };
+    this.writers =
+        new ClassValue<ObjectWriter>() {
+          @Override
+          protected ObjectWriter computeValue(Class<?> type) {
+            return mapper.writerFor(type);
+          }
+        };
   }
 
   @Override
@@ -37,24 +74,98 @@ public final class JacksonCodec implements DataCodec, HeadersCodec {
 
   @Override
   public void encode(OutputStream stream, Map<String, String> headers) throws IOException {
-    mapper.writeValue(stream, headers);
+    headersWriter.writeValue(stream, headers);
+  }
+
+  @Override
+  public void encode(ByteBuf buffer, Map<String, String> headers) throws IOException {
+    headersWriter.writeValue((OutputStream) new ByteBufOutputStream(buffer), headers);
   }
 
   @Override
   public void encode(OutputStream stream, Object value) throws IOException {
-    mapper.writeValue(stream, value);
+    writers.get(value.getClass()).writeValue(stream, value);
+  }
+
+  @Override
+  public void encode(ByteBuf buffer, Object value) throws IOException {
+    writers.get(value.getClass()).writeValue((OutputStream) new ByteBufOutputStream(buffer), value);
   }
 
   @Override
   public Map<String, String> decode(InputStream stream) throws IOException {
-    return stream.available() == 0
-        ? Collections.emptyMap()
-        : mapper.readValue(stream, HashMap.class);
+    return stream.available() == 0 ? Collections.emptyMap() : headersReader.readValue(stream);
+  }
+
+  @Override
+  public Map<String, String> decode(ByteBuf buffer) throws IOException {
+    return buffer.isReadable() ? readValue(headersReader, buffer) : Collections.emptyMap();
   }
 
   @Override
   public Object decode(InputStream stream, Class<?> type) throws IOException {
-    return mapper.readValue(stream, type);
+    return readers.get(type).readValue(stream);
+  }
+
+  @Override
+  public Object decode(ByteBuf buffer, Class<?> type) throws IOException {
+    return readValue(readers.get(type), buffer);
+  }
+
+  @Override
+  public String decodeHeader(ByteBuf buffer, String name) throws IOException {
+    try (JsonParser parser = createParser(buffer)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+        if (name.equals(fieldName)) {
+          return token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+        }
+        parser.skipChildren();
+      }
+      return null;
+    }
+  }
+
+  @Override
+  public boolean isEmpty(ByteBuf buffer) throws IOException {
+    if (!buffer.isReadable()) {
+      return true;
+    }
+    try (JsonParser parser = createParser(buffer)) {
+      return parser.nextToken() != JsonToken.START_OBJECT
+          || parser.nextToken() == JsonToken.END_OBJECT;
+    }
+  }
+
+  /**
+   * Reads value from readable bytes of the buffer, which are consumed. Heap buffer is parsed in
+   * place from its backing array, direct buffer is read through {@link ByteBufInputStream}.
+   */
+  private static <T> T readValue(ObjectReader reader, ByteBuf buffer) throws IOException {
+    int length = buffer.readableBytes();
+    T result;
+    if (buffer.hasArray()) {
+      result =
+          reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.readerIndex(), length);
+    } else {
+      result = reader.readValue((InputStream) new ByteBufInputStream(buffer.slice()));
+    }
+    buffer.skipBytes(length);
+    return result;
+  }
+
+  private JsonParser createParser(ByteBuf buffer) throws IOException {
+    if (buffer.hasArray()) {
+      return mapper
+          .getFactory()
+          .createParser(
+              buffer.array(), buffer.arrayOffset() + buffer.readerIndex(), buffer.readableBytes());
+    }
+    return mapper.getFactory().createParser((InputStream) new ByteBufInputStream(buffer));
   }
 
   private static ObjectMapper initMapper() {
@@ -67,6 +178,7 @@ public final class JacksonCodec implements DataCodec, HeadersCodec {
     mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
     mapper.configure(SerializationFeature.WRITE_ENUMS_USING_TO_STRING, true);
     mapper.registerModule(new JavaTimeModule());
+    mapper.registerModule(new AfterburnerModule());
     return mapper;
   }
 }
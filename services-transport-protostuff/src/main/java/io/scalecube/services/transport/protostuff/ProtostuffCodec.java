@@ -1,5 +1,10 @@
 package io.scalecube.services.transport.protostuff;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.protostuff.ByteBufferInput;
+import io.protostuff.LinkedBuffer;
 import io.protostuff.ProtobufIOUtil;
 import io.protostuff.ProtostuffIOUtil;
 import io.protostuff.Schema;
@@ -17,7 +22,24 @@ public final class ProtostuffCodec implements HeadersCodec, DataCodec {
 
   public static final String CONTENT_TYPE = "application/protostuff";
 
-  private static final RecyclableLinkedBuffer recyclableLinkedBuffer = new RecyclableLinkedBuffer();
+  private static final int BUFFER_SIZE = 512;
+
+  private static final FastThreadLocal<LinkedBuffer> LINKED_BUFFER =
+      new FastThreadLocal<LinkedBuffer>() {
+        @Override
+        protected LinkedBuffer initialValue() {
+          return LinkedBuffer.allocate(BUFFER_SIZE);
+        }
+      };
+
+  // schemas by class, resolved once instead of looking up runtime schema on each message
+  private static final ClassValue<Schema<?>> SCHEMAS =
+      new ClassValue<Schema<?>>() {
+        @Override
+        protected Schema<?> computeValue(Class<?> type) {
+          return RuntimeSchema.getSchema(type);
+        }
+      };
 
   @Override
   public String contentType() {
@@ -26,36 +48,127 @@ public final class ProtostuffCodec implements HeadersCodec, DataCodec {
 
   @Override
   public void encode(OutputStream stream, Object value) throws IOException {
-    Schema schema = RuntimeSchema.getSchema(value.getClass());
-    try (RecyclableLinkedBuffer rlb = recyclableLinkedBuffer.get()) {
-      ProtobufIOUtil.writeTo(stream, value, schema, rlb.buffer());
+    LinkedBuffer linkedBuffer = LINKED_BUFFER.get();
+    try {
+      ProtobufIOUtil.writeTo(stream, value, schema(value.getClass()), linkedBuffer);
+    } finally {
+      linkedBuffer.clear();
+    }
+  }
+
+  @Override
+  public void encode(ByteBuf buffer, Object value) throws IOException {
+    LinkedBuffer linkedBuffer = LINKED_BUFFER.get();
+    try {
+      int size = ProtobufIOUtil.writeTo(linkedBuffer, value, schema(value.getClass()));
+      writeTo(buffer, linkedBuffer, size);
+    } finally {
+      linkedBuffer.clear();
     }
   }
 
   @Override
   public void encode(OutputStream stream, Map<String, String> headers) throws IOException {
-    try (RecyclableLinkedBuffer rlb = recyclableLinkedBuffer.get()) {
-      ProtostuffIOUtil.writeTo(stream, headers, StringMapSchema.VALUE_STRING, rlb.buffer());
+    LinkedBuffer linkedBuffer = LINKED_BUFFER.get();
+    try {
+      ProtostuffIOUtil.writeTo(stream, headers, StringMapSchema.VALUE_STRING, linkedBuffer);
+    } finally {
+      linkedBuffer.clear();
+    }
+  }
+
+  @Override
+  public void encode(ByteBuf buffer, Map<String, String> headers) throws IOException {
+    LinkedBuffer linkedBuffer = LINKED_BUFFER.get();
+    try {
+      int size = ProtostuffIOUtil.writeTo(linkedBuffer, headers, StringMapSchema.VALUE_STRING);
+      writeTo(buffer, linkedBuffer, size);
+    } finally {
+      linkedBuffer.clear();
     }
   }
 
   @Override
   public Object decode(InputStream stream, Class<?> type) throws IOException {
-    Schema schema = RuntimeSchema.getSchema(type);
+    Schema<Object> schema = schema(type);
     Object result = schema.newMessage();
 
-    try (RecyclableLinkedBuffer rlb = recyclableLinkedBuffer.get()) {
-      ProtobufIOUtil.mergeFrom(stream, result, schema, rlb.buffer());
+    LinkedBuffer linkedBuffer = LINKED_BUFFER.get();
+    try {
+      ProtobufIOUtil.mergeFrom(stream, result, schema, linkedBuffer);
+    } finally {
+      linkedBuffer.clear();
     }
     return result;
   }
 
+  @Override
+  public Object decode(ByteBuf buffer, Class<?> type) throws IOException {
+    Schema<Object> schema = schema(type);
+    Object result = schema.newMessage();
+    mergeFrom(buffer, result, schema, false);
+    return result;
+  }
+
   @Override
   public Map<String, String> decode(InputStream stream) throws IOException {
     HashMap<String, String> map = new HashMap<>();
-    try (RecyclableLinkedBuffer rlb = recyclableLinkedBuffer.get()) {
-      ProtostuffIOUtil.mergeFrom(stream, map, StringMapSchema.VALUE_STRING, rlb.buffer());
+    LinkedBuffer linkedBuffer = LINKED_BUFFER.get();
+    try {
+      ProtostuffIOUtil.mergeFrom(stream, map, StringMapSchema.VALUE_STRING, linkedBuffer);
+    } finally {
+      linkedBuffer.clear();
     }
     return map;
   }
+
+  @Override
+  public Map<String, String> decode(ByteBuf buffer) throws IOException {
+    HashMap<String, String> map = new HashMap<>();
+    mergeFrom(buffer, map, StringMapSchema.VALUE_STRING, true);
+    return map;
+  }
+
+  @Override
+  public boolean isEmpty(ByteBuf buffer) {
+    return !buffer.isReadable(); // every map entry takes at least one byte
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Schema<Object> schema(Class<?> type) {
+    return (Schema<Object>) SCHEMAS.get(type);
+  }
+
+  /**
+   * Copies serialized message from linked buffer to the target buffer, which is expanded at most
+   * once.
+   */
+  private static void writeTo(ByteBuf buffer, LinkedBuffer linkedBuffer, int size)
+      throws IOException {
+    buffer.ensureWritable(size);
+    LinkedBuffer.writeTo((OutputStream) new ByteBufOutputStream(buffer), linkedBuffer);
+  }
+
+  /**
+   * Merges message from readable bytes of the buffer. Heap buffer is parsed in place, direct buffer
+   * is parsed through its nio view, so that in either case there's no intermediate copy.
+   */
+  private static <T> void mergeFrom(
+      ByteBuf buffer, T message, Schema<T> schema, boolean protostuff) throws IOException {
+    int length = buffer.readableBytes();
+    if (buffer.hasArray()) {
+      byte[] array = buffer.array();
+      int offset = buffer.arrayOffset() + buffer.readerIndex();
+      if (protostuff) {
+        ProtostuffIOUtil.mergeFrom(array, offset, length, message, schema);
+      } else {
+        ProtobufIOUtil.mergeFrom(array, offset, length, message, schema);
+      }
+    } else {
+      ByteBufferInput input = new ByteBufferInput(buffer.nioBuffer(), protostuff);
+      schema.mergeFrom(input, message);
+      input.checkLastTagWas(0);
+    }
+    buffer.skipBytes(length);
+  }
 }
@@ -0,0 +1,185 @@
+package io.scalecube.services.transport.rsocket;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.scalecube.services.transport.api.HeadersCodec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary headers codec. Headers are written directly into {@link ByteBuf} as a sequence of fields:
+ * varint field id, followed by length-prefixed UTF-8 header name (only for headers which are not
+ * well-known), followed by length-prefixed UTF-8 header value. Lengths are varints as well.
+ */
+public final class BinaryHeadersCodec implements HeadersCodec {
+
+  public static final String CONTENT_TYPE = "application/x-scalecube-headers";
+
+  private static final int CUSTOM_FIELD_ID = 0;
+
+  // index in this array is a field id, so it's a part of the wire format
+  private static final String[] WELL_KNOWN_HEADERS = {null, "q", "_data_format", "_type", "sid"};
+
+  private static final int BUFFER_SIZE = 256;
+
+  @Override
+  public String contentType() {
+    return CONTENT_TYPE;
+  }
+
+  @Override
+  public void encode(ByteBuf buffer, Map<String, String> headers) {
+    headers.forEach(
+        (name, value) -> {
+          int fieldId = fieldId(name);
+          writeVarint(buffer, fieldId);
+          if (fieldId == CUSTOM_FIELD_ID) {
+            writeString(buffer, name);
+          }
+          writeString(buffer, value);
+        });
+  }
+
+  @Override
+  public void encode(OutputStream stream, Map<String, String> headers) throws IOException {
+    if (stream instanceof ByteBufOutputStream) {
+      encode(((ByteBufOutputStream) stream).buffer(), headers);
+      return;
+    }
+    ByteBuf buffer = Unpooled.buffer();
+    try {
+      encode(buffer, headers);
+      buffer.readBytes(stream, buffer.readableBytes());
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @Override
+  public Map<String, String> decode(ByteBuf buffer) throws IOException {
+    Map<String, String> headers = new HashMap<>();
+    while (buffer.isReadable()) {
+      int fieldId = readVarint(buffer);
+      String name;
+      if (fieldId == CUSTOM_FIELD_ID) {
+        name = readString(buffer);
+      } else if (fieldId < WELL_KNOWN_HEADERS.length) {
+        name = WELL_KNOWN_HEADERS[fieldId];
+      } else {
+        throw new IOException("Unknown header field id: " + fieldId);
+      }
+      headers.put(name, readString(buffer));
+    }
+    return headers;
+  }
+
+  @Override
+  public Map<String, String> decode(InputStream stream) throws IOException {
+    ByteBuf buffer = Unpooled.buffer();
+    try {
+      //noinspection StatementWithEmptyBody
+      while (buffer.writeBytes(stream, BUFFER_SIZE) > 0) {
+        // read till the end of stream
+      }
+      return decode(buffer);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @Override
+  public String decodeHeader(ByteBuf buffer, String name) throws IOException {
+    int targetFieldId = fieldId(name);
+    while (buffer.isReadable()) {
+      int fieldId = readVarint(buffer);
+      boolean found;
+      if (fieldId == CUSTOM_FIELD_ID) {
+        if (targetFieldId == CUSTOM_FIELD_ID) {
+          found = name.equals(readString(buffer));
+        } else {
+          skipString(buffer); // skip header name
+          found = false;
+        }
+      } else if (fieldId < WELL_KNOWN_HEADERS.length) {
+        found = fieldId == targetFieldId;
+      } else {
+        throw new IOException("Unknown header field id: " + fieldId);
+      }
+      if (found) {
+        return readString(buffer);
+      }
+      skipString(buffer);
+    }
+    return null;
+  }
+
+  @Override
+  public boolean isEmpty(ByteBuf buffer) {
+    return !buffer.isReadable(); // every header takes at least one byte
+  }
+
+  private static int fieldId(String name) {
+    switch (name) {
+      case "q":
+        return 1;
+      case "_data_format":
+        return 2;
+      case "_type":
+        return 3;
+      case "sid":
+        return 4;
+      default:
+        return CUSTOM_FIELD_ID;
+    }
+  }
+
+  private static void writeString(ByteBuf buffer, String value) {
+    writeVarint(buffer, ByteBufUtil.utf8Bytes(value));
+    ByteBufUtil.writeUtf8(buffer, value);
+  }
+
+  private static String readString(ByteBuf buffer) throws IOException {
+    int length = readVarint(buffer);
+    if (length > buffer.readableBytes()) {
+      throw new IOException("Malformed headers: string length exceeds buffer");
+    }
+    return buffer.readCharSequence(length, StandardCharsets.UTF_8).toString();
+  }
+
+  private static void skipString(ByteBuf buffer) throws IOException {
+    int length = readVarint(buffer);
+    if (length > buffer.readableBytes()) {
+      throw new IOException("Malformed headers: string length exceeds buffer");
+    }
+    buffer.skipBytes(length);
+  }
+
+  private static void writeVarint(ByteBuf buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer.writeByte(value);
+  }
+
+  private static int readVarint(ByteBuf buffer) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      if (!buffer.isReadable()) {
+        throw new IOException("Malformed headers: truncated varint");
+      }
+      byte b = buffer.readByte();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed headers: varint is too long");
+  }
+}
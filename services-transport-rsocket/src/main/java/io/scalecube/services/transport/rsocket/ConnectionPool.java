@@ -0,0 +1,157 @@
+package io.scalecube.services.transport.rsocket;
+
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Pool of client connections to one remote address. Requests go to the connection with the least
+ * number of outstanding requests; once it reaches the threshold pool opens one more connection,
+ * up to the max. Connections above the min which stay idle for a while get closed.
+ *
+ * <p>Every connection is served by one event loop. If request is issued on an event loop, pool
+ * prefers connections of that very loop (and opens one if there is none yet and pool isn't full),
+ * so that request and its response don't hop between threads.
+ */
+final class ConnectionPool {
+
+  private static final PooledConnection[] EMPTY = new PooledConnection[0];
+
+  private final ConnectionPoolConfig config;
+  private final BiFunction<ConnectionPool, EventLoop, PooledConnection> connector;
+
+  // copy-on-write, modified under lock
+  private volatile PooledConnection[] connections = EMPTY;
+  private boolean closed;
+
+  /**
+   * Creates connection pool.
+   *
+   * @param config pool settings
+   * @param connector function which opens connection of the given pool on the given event loop
+   *     (any loop if it's null); connection must remove itself from pool once it's closed, see
+   *     {@link #remove(PooledConnection)}
+   */
+  ConnectionPool(
+      ConnectionPoolConfig config,
+      BiFunction<ConnectionPool, EventLoop, PooledConnection> connector) {
+    this.config = config;
+    this.connector = connector;
+  }
+
+  /** Opens min number of connections up front. */
+  synchronized void warmUp() {
+    while (connections.length < config.minConnections()) {
+      add(null).connect();
+    }
+  }
+
+  /**
+   * Selects the least busy connection, preferably one of the given event loop, opens new one if
+   * needed. Selected connection is acquired, see {@link PooledConnection#tryAcquire()}, so that it
+   * can't be closed for being idle before the request is issued.
+   *
+   * @param eventLoop event loop of the caller or null if caller isn't an event loop
+   * @return acquired connection or null if pool is closed
+   */
+  PooledConnection select(EventLoop eventLoop) {
+    PooledConnection connection = tryGet(connections, eventLoop);
+    if (connection != null && connection.tryAcquire()) {
+      return connection;
+    }
+    synchronized (this) {
+      if (closed) {
+        return null;
+      }
+      // connections closed for being idle are removed under the lock, so these can be acquired
+      connection = tryGet(connections, eventLoop);
+      if (connection == null || !connection.tryAcquire()) {
+        connection = add(eventLoop);
+        connection.tryAcquire();
+      }
+      return connection;
+    }
+  }
+
+  synchronized void remove(PooledConnection connection) {
+    List<PooledConnection> list = new ArrayList<>(Arrays.asList(connections));
+    if (list.remove(connection)) {
+      connections = list.toArray(EMPTY);
+    }
+  }
+
+  /**
+   * Closes connections which are idle longer than idle timeout, keeping min number of them. If
+   * there are no connections left, closes the pool itself.
+   *
+   * @return true if pool is closed
+   */
+  synchronized boolean closeIdle() {
+    long now = System.nanoTime();
+    long idleTimeoutNanos = config.idleTimeout().toNanos();
+    for (PooledConnection connection : connections) {
+      if (connections.length <= config.minConnections()) {
+        break;
+      }
+      if (connection.closeIfIdle(now, idleTimeoutNanos)) {
+        remove(connection);
+      }
+    }
+    if (connections.length == 0) {
+      closed = true;
+    }
+    return closed;
+  }
+
+  int size() {
+    return connections.length;
+  }
+
+  /**
+   * Returns number of outstanding requests of every connection.
+   *
+   * @return outstanding requests
+   */
+  List<Integer> outstandingRequests() {
+    PooledConnection[] connections = this.connections;
+    List<Integer> result = new ArrayList<>(connections.length);
+    for (PooledConnection connection : connections) {
+      result.add(connection.outstandingRequests());
+    }
+    return result;
+  }
+
+  // returns null if new connection should be opened
+  private PooledConnection tryGet(PooledConnection[] connections, EventLoop eventLoop) {
+    boolean canGrow = connections.length < config.maxConnections();
+    PooledConnection connection = leastBusy(connections, eventLoop);
+    if (connection == null) {
+      return canGrow ? null : leastBusy(connections, null);
+    }
+    return canGrow && connection.outstandingRequests() >= config.outstandingRequestsThreshold()
+        ? null
+        : connection;
+  }
+
+  private PooledConnection add(EventLoop eventLoop) {
+    PooledConnection connection = connector.apply(this, eventLoop);
+    PooledConnection[] connections = Arrays.copyOf(this.connections, this.connections.length + 1);
+    connections[connections.length - 1] = connection;
+    this.connections = connections;
+    return connection;
+  }
+
+  private static PooledConnection leastBusy(PooledConnection[] connections, EventLoop eventLoop) {
+    PooledConnection result = null;
+    for (PooledConnection connection : connections) {
+      if ((eventLoop == null || eventLoop == connection.eventLoop())
+          && (result == null
+              || connection.outstandingRequests() < result.outstandingRequests())) {
+        result = connection;
+      }
+    }
+    return result;
+  }
+}
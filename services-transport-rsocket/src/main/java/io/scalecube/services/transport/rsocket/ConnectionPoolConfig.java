@@ -0,0 +1,124 @@
+package io.scalecube.services.transport.rsocket;
+
+import java.time.Duration;
+
+/** Settings of the pool of client connections kept per remote address. */
+public final class ConnectionPoolConfig {
+
+  public static final int DEFAULT_MIN_CONNECTIONS = 1;
+  public static final int DEFAULT_MAX_CONNECTIONS = Runtime.getRuntime().availableProcessors();
+  public static final int DEFAULT_OUTSTANDING_REQUESTS_THRESHOLD = 64;
+  public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(60);
+
+  public static final ConnectionPoolConfig DEFAULT = builder().build();
+
+  private final int minConnections;
+  private final int maxConnections;
+  private final int outstandingRequestsThreshold;
+  private final Duration idleTimeout;
+
+  private ConnectionPoolConfig(Builder builder) {
+    this.minConnections = builder.minConnections;
+    this.maxConnections = builder.maxConnections;
+    this.outstandingRequestsThreshold = builder.outstandingRequestsThreshold;
+    this.idleTimeout = builder.idleTimeout;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int minConnections() {
+    return minConnections;
+  }
+
+  public int maxConnections() {
+    return maxConnections;
+  }
+
+  public int outstandingRequestsThreshold() {
+    return outstandingRequestsThreshold;
+  }
+
+  public Duration idleTimeout() {
+    return idleTimeout;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("ConnectionPoolConfig{");
+    sb.append("minConnections=").append(minConnections);
+    sb.append(", maxConnections=").append(maxConnections);
+    sb.append(", outstandingRequestsThreshold=").append(outstandingRequestsThreshold);
+    sb.append(", idleTimeout=").append(idleTimeout);
+    sb.append('}');
+    return sb.toString();
+  }
+
+  public static class Builder {
+    private int minConnections = DEFAULT_MIN_CONNECTIONS;
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private int outstandingRequestsThreshold = DEFAULT_OUTSTANDING_REQUESTS_THRESHOLD;
+    private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+    /**
+     * Sets number of connections opened to remote address up front.
+     *
+     * @param minConnections min number of connections
+     * @return self
+     */
+    public Builder minConnections(int minConnections) {
+      this.minConnections = minConnections;
+      return this;
+    }
+
+    public Builder maxConnections(int maxConnections) {
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
+    /**
+     * Sets number of outstanding requests of the least busy connection at which pool opens one
+     * more connection, unless it already has max number of them.
+     *
+     * @param outstandingRequestsThreshold number of outstanding requests
+     * @return self
+     */
+    public Builder outstandingRequestsThreshold(int outstandingRequestsThreshold) {
+      this.outstandingRequestsThreshold = outstandingRequestsThreshold;
+      return this;
+    }
+
+    /**
+     * Sets time after which connection without outstanding requests gets closed, unless pool has
+     * min number of connections.
+     *
+     * @param idleTimeout idle timeout
+     * @return self
+     */
+    public Builder idleTimeout(Duration idleTimeout) {
+      this.idleTimeout = idleTimeout;
+      return this;
+    }
+
+    /**
+     * Builds connection pool config.
+     *
+     * @return connection pool config
+     */
+    public ConnectionPoolConfig build() {
+      if (minConnections < 0 || maxConnections < 1 || minConnections > maxConnections) {
+        throw new IllegalArgumentException(
+            "Invalid connections range: [" + minConnections + ", " + maxConnections + "]");
+      }
+      if (outstandingRequestsThreshold < 1) {
+        throw new IllegalArgumentException(
+            "outstandingRequestsThreshold must be positive: " + outstandingRequestsThreshold);
+      }
+      if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+        throw new IllegalArgumentException("idleTimeout must be positive: " + idleTimeout);
+      }
+      return new ConnectionPoolConfig(this);
+    }
+  }
+}
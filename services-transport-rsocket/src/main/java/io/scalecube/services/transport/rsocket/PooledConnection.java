@@ -0,0 +1,91 @@
+package io.scalecube.services.transport.rsocket;
+
+import io.netty.channel.EventLoop;
+import io.rsocket.RSocket;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.publisher.Mono;
+
+/** Client connection along with its per-connection state. */
+final class PooledConnection {
+
+  // value of outstanding requests of connection closed for being idle
+  private static final int CLOSED = Integer.MIN_VALUE;
+
+  private final Mono<RSocket> rsocket;
+  private final EventLoop eventLoop;
+
+  private final AtomicInteger outstandingRequests = new AtomicInteger();
+  private volatile long idleSince = System.nanoTime();
+
+  PooledConnection(Mono<RSocket> rsocket, EventLoop eventLoop) {
+    this.rsocket = rsocket;
+    this.eventLoop = eventLoop;
+  }
+
+  Mono<RSocket> rsocket() {
+    return rsocket;
+  }
+
+  /**
+   * Returns event loop which serves this connection.
+   *
+   * @return event loop or null if it's unknown
+   */
+  EventLoop eventLoop() {
+    return eventLoop;
+  }
+
+  int outstandingRequests() {
+    return Math.max(outstandingRequests.get(), 0);
+  }
+
+  /**
+   * Acquires connection for a request, unless connection is closed by {@link #closeIfIdle(long,
+   * long)}. Acquired connection must be released by {@link #release()} once request is finished.
+   *
+   * @return true if connection is acquired
+   */
+  boolean tryAcquire() {
+    for (; ; ) {
+      int current = outstandingRequests.get();
+      if (current == CLOSED) {
+        return false;
+      }
+      if (outstandingRequests.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  void release() {
+    if (outstandingRequests.decrementAndGet() == 0) {
+      idleSince = System.nanoTime();
+    }
+  }
+
+  /**
+   * Closes connection if it has no outstanding requests for at least the given time. Once closed,
+   * connection can't be acquired anymore, so a request can't slip in between the check and close.
+   *
+   * @param now current {@link System#nanoTime()}
+   * @param idleTimeoutNanos idle timeout in nanoseconds
+   * @return true if connection is closed
+   */
+  boolean closeIfIdle(long now, long idleTimeoutNanos) {
+    if (now - idleSince < idleTimeoutNanos || !outstandingRequests.compareAndSet(0, CLOSED)) {
+      return false;
+    }
+    close();
+    return true;
+  }
+
+  /** Starts connecting without waiting for the first request. */
+  void connect() {
+    rsocket.onErrorResume(throwable -> Mono.empty()).subscribe(); // error is logged by connector
+  }
+
+  /** Closes connection if it's established, or once it gets established. */
+  private void close() {
+    rsocket.onErrorResume(throwable -> Mono.empty()).subscribe(RSocket::dispose);
+  }
+}
@@ -1,5 +1,8 @@
 package io.scalecube.services.transport.rsocket;
 
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
 import io.rsocket.RSocket;
 import io.rsocket.RSocketFactory;
 import io.rsocket.transport.netty.client.TcpClientTransport;
@@ -8,24 +11,36 @@ import io.scalecube.services.transport.api.Address;
 import io.scalecube.services.transport.api.ClientChannel;
 import io.scalecube.services.transport.api.ClientTransport;
 import io.scalecube.services.transport.api.ServiceMessageCodec;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 import reactor.netty.resources.LoopResources;
 import reactor.netty.tcp.TcpClient;
 
-/** RSocket client transport implementation. */
+/**
+ * RSocket client transport implementation. Keeps a pool of connections per remote address, see
+ * {@link ConnectionPoolConfig}. Every connection is pinned to one of event loops, and requests
+ * issued on an event loop go to connections of that loop when possible.
+ */
 public class RSocketClientTransport implements ClientTransport {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RSocketClientTransport.class);
 
-  private final ThreadLocal<Map<Address, Mono<RSocket>>> rsockets =
-      ThreadLocal.withInitial(ConcurrentHashMap::new);
+  private final Map<Address, ConnectionPool> pools = new ConcurrentHashMap<>();
 
   private final ServiceMessageCodec codec;
-  private final LoopResources loopResources;
+  private final EventLoopGroup eventLoopGroup;
+  private final ConnectionPoolConfig poolConfig;
+
+  // event loop of the calling thread, null if thread isn't one of event loops of this transport
+  private final ThreadLocal<EventLoop> callerEventLoop =
+      ThreadLocal.withInitial(this::currentEventLoop);
 
   /**
    * Constructor for this transport.
@@ -34,27 +49,87 @@ public class RSocketClientTransport implements ClientTransport {
    * @param loopResources client loop resources
    */
   public RSocketClientTransport(ServiceMessageCodec codec, LoopResources loopResources) {
+    this(codec, loopResources, ConnectionPoolConfig.DEFAULT);
+  }
+
+  /**
+   * Constructor for this transport.
+   *
+   * @param codec message codec
+   * @param loopResources client loop resources
+   * @param poolConfig connection pool settings
+   */
+  public RSocketClientTransport(
+      ServiceMessageCodec codec, LoopResources loopResources, ConnectionPoolConfig poolConfig) {
     this.codec = codec;
-    this.loopResources = loopResources;
+    this.eventLoopGroup = loopResources.onClient(loopResources.preferNative());
+    this.poolConfig = poolConfig;
+
+    // the task goes away along with event loops
+    long period = poolConfig.idleTimeout().toMillis();
+    eventLoopGroup.scheduleAtFixedRate(
+        this::closeIdleConnections, period, period, TimeUnit.MILLISECONDS);
   }
 
   @Override
   public ClientChannel create(Address address) {
-    final Map<Address, Mono<RSocket>> monoMap = rsockets.get(); // keep reference for threadsafety
-    Mono<RSocket> rsocket =
-        monoMap.computeIfAbsent(address, address1 -> connect(address1, monoMap));
-    return new RSocketServiceClientAdapter(rsocket, codec);
+    // connection is selected and acquired by each request, so unused channel holds nothing
+    return new RSocketServiceClientAdapter(() -> acquire(address), callerEventLoop.get(), codec);
   }
 
-  private Mono<RSocket> connect(Address address, Map<Address, Mono<RSocket>> monoMap) {
+  @Override
+  public Map<Address, List<Integer>> outstandingRequests() {
+    Map<Address, List<Integer>> result = new HashMap<>();
+    pools.forEach((address, pool) -> result.put(address, pool.outstandingRequests()));
+    return result;
+  }
+
+  private PooledConnection acquire(Address address) {
+    PooledConnection connection;
+    do {
+      connection = pools.computeIfAbsent(address, this::newPool).select(callerEventLoop.get());
+    } while (connection == null); // pool got closed concurrently, next one will be created
+    return connection;
+  }
+
+  private ConnectionPool newPool(Address address) {
+    ConnectionPool pool =
+        new ConnectionPool(
+            poolConfig,
+            (pool1, eventLoop) ->
+                connect(address, pool1, eventLoop != null ? eventLoop : eventLoopGroup.next()));
+    pool.warmUp();
+    return pool;
+  }
+
+  private void closeIdleConnections() {
+    pools.forEach(
+        (address, pool) -> {
+          if (pool.closeIdle()) {
+            pools.remove(address, pool);
+          }
+        });
+  }
+
+  private EventLoop currentEventLoop() {
+    for (EventExecutor eventExecutor : eventLoopGroup) {
+      if (eventExecutor.inEventLoop()) {
+        return (EventLoop) eventExecutor;
+      }
+    }
+    return null;
+  }
+
+  private PooledConnection connect(Address address, ConnectionPool pool, EventLoop eventLoop) {
     TcpClient tcpClient =
         TcpClient.newConnection() // create non-pooled
-            .runOn(loopResources)
+            .runOn(DelegatedLoopResources.newClientLoopResources(eventLoop))
             .host(address.host())
             .port(address.port());
 
     Mono<RSocket> rsocketMono =
         RSocketFactory.connect()
+            .metadataMimeType(codec.headersCodec().contentType())
             .frameDecoder(
                 frame ->
                     ByteBufPayload.create(
@@ -62,7 +137,9 @@ public class RSocketClientTransport implements ClientTransport {
             .transport(() -> TcpClientTransport.create(tcpClient))
             .start();
 
-    return rsocketMono
+    AtomicReference<PooledConnection> connection = new AtomicReference<>();
+
+    Mono<RSocket> cachedRSocketMono = rsocketMono
         .doOnSuccess(
             rsocket -> {
               LOGGER.info("Connected successfully on {}", address);
@@ -71,7 +148,7 @@ public class RSocketClientTransport implements ClientTransport {
                   .onClose()
                   .doOnTerminate(
                       () -> {
-                        monoMap.remove(address);
+                        pool.remove(connection.get());
                         LOGGER.info("Connection closed on {} and removed from the pool", address);
                       })
                   .subscribe(null, th -> LOGGER.warn("Exception on closing rsocket: {}", th));
@@ -79,8 +156,11 @@ public class RSocketClientTransport implements ClientTransport {
         .doOnError(
             throwable -> {
               LOGGER.warn("Connect failed on {}, cause: {}", address, throwable);
-              monoMap.remove(address);
+              pool.remove(connection.get());
             })
         .cache();
+
+    connection.set(new PooledConnection(cachedRSocketMono, eventLoop));
+    return connection.get();
   }
 }
@@ -1,20 +1,28 @@
 package io.scalecube.services.transport.rsocket;
 
+import io.netty.buffer.ByteBuf;
 import io.rsocket.AbstractRSocket;
 import io.rsocket.ConnectionSetupPayload;
 import io.rsocket.Payload;
 import io.rsocket.RSocket;
 import io.rsocket.SocketAcceptor;
 import io.rsocket.util.ByteBufPayload;
+import io.scalecube.services.api.MessageTrace;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.BadRequestException;
+import io.scalecube.services.exceptions.DefaultErrorMapper;
 import io.scalecube.services.exceptions.ServiceException;
 import io.scalecube.services.exceptions.ServiceUnavailableException;
 import io.scalecube.services.methods.ServiceMethodInvoker;
 import io.scalecube.services.methods.ServiceMethodRegistry;
+import io.scalecube.services.transport.api.ClientChannel;
+import io.scalecube.services.transport.api.HeadersCodec;
 import io.scalecube.services.transport.api.ReferenceCountUtil;
 import io.scalecube.services.transport.api.ServiceMessageCodec;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +37,12 @@ public class RSocketServiceAcceptor implements SocketAcceptor {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RSocketServiceAcceptor.class);
 
+  // metadata mime type of RSocket connection setup, unless client sets its own
+  private static final String RSOCKET_DEFAULT_MIME_TYPE = "application/binary";
+
+  // headers format of clients which don't negotiate it
+  private static final String LEGACY_HEADERS_FORMAT = "application/json";
+
   private final ServiceMessageCodec messageCodec;
   private final ServiceMethodRegistry methodRegistry;
 
@@ -40,32 +54,86 @@ public class RSocketServiceAcceptor implements SocketAcceptor {
   @Override
   public Mono<RSocket> accept(ConnectionSetupPayload setup, RSocket socket) {
     LOGGER.info("Accepted rSocket: {}, connectionSetup: {}", socket, setup);
-    return Mono.just(new AbstractRSocket0());
+    return Mono.just(new AbstractRSocket0(messageCodec(setup.metadataMimeType())));
+  }
+
+  /**
+   * Selects message codec by metadata mime type which client declared at connection setup. Clients
+   * which didn't declare it (i.e. sent RSocket default mime type) predate headers format
+   * negotiation and encode headers as JSON, so they get JSON headers codec, as well as clients
+   * which declared mime type there's no headers codec for.
+   *
+   * @param metadataMimeType metadata mime type
+   * @return message codec
+   */
+  private ServiceMessageCodec messageCodec(String metadataMimeType) {
+    if (metadataMimeType != null
+        && metadataMimeType.equalsIgnoreCase(messageCodec.headersCodec().contentType())) {
+      return messageCodec;
+    }
+    if (metadataMimeType != null
+        && !metadataMimeType.equalsIgnoreCase(RSOCKET_DEFAULT_MIME_TYPE)) {
+      try {
+        return new ServiceMessageCodec(HeadersCodec.getInstance(metadataMimeType));
+      } catch (IllegalArgumentException ex) {
+        LOGGER.warn(
+            "No headers codec for metadata mime type: {}, using: {}",
+            metadataMimeType,
+            LEGACY_HEADERS_FORMAT);
+      }
+    }
+    return legacyMessageCodec();
+  }
+
+  private ServiceMessageCodec legacyMessageCodec() {
+    if (LEGACY_HEADERS_FORMAT.equalsIgnoreCase(messageCodec.headersCodec().contentType())) {
+      return messageCodec;
+    }
+    try {
+      return new ServiceMessageCodec(HeadersCodec.getInstance(LEGACY_HEADERS_FORMAT));
+    } catch (IllegalArgumentException ex) {
+      LOGGER.warn(
+          "No headers codec for: {}, using: {}",
+          LEGACY_HEADERS_FORMAT,
+          messageCodec.headersCodec().contentType());
+      return messageCodec;
+    }
   }
 
   private class AbstractRSocket0 extends AbstractRSocket {
 
+    private final ServiceMessageCodec codec;
+
+    private AbstractRSocket0(ServiceMessageCodec codec) {
+      this.codec = codec;
+    }
+
     @Override
     public Mono<Payload> requestResponse(Payload payload) {
       return Mono.fromCallable(() -> toMessage(payload))
-          .doOnNext(this::validateRequest)
           .flatMap(
               message -> {
-                ServiceMethodInvoker methodInvoker = methodRegistry.getInvoker(message.qualifier());
+                MessageTrace.mark(message, MessageTrace.SERVICE_RECV);
+                ServiceMethodInvoker methodInvoker = resolveInvoker(message);
                 return methodInvoker.invokeOne(message, ServiceMessageCodec::decodeData);
               })
+          .map(response -> MessageTrace.markAndEncode(response, MessageTrace.RESPONSE_ENCODE))
           .map(this::toPayload);
     }
 
     @Override
     public Flux<Payload> requestStream(Payload payload) {
       return Mono.fromCallable(() -> toMessage(payload))
-          .doOnNext(this::validateRequest)
           .flatMapMany(
               message -> {
-                ServiceMethodInvoker methodInvoker = methodRegistry.getInvoker(message.qualifier());
+                if (message.header(RequestBatches.HEADER_BATCH_SIZE) != null) {
+                  return invokeBatch(message);
+                }
+                MessageTrace.mark(message, MessageTrace.SERVICE_RECV);
+                ServiceMethodInvoker methodInvoker = resolveInvoker(message);
                 return methodInvoker.invokeMany(message, ServiceMessageCodec::decodeData);
               })
+          .map(response -> MessageTrace.markAndEncode(response, MessageTrace.RESPONSE_ENCODE))
           .map(this::toPayload);
     }
 
@@ -77,9 +145,7 @@ public class RSocketServiceAcceptor implements SocketAcceptor {
               (first, messages) -> {
                 if (first.hasValue()) {
                   ServiceMessage message = first.get();
-                  validateRequest(message);
-                  ServiceMethodInvoker methodInvoker =
-                      methodRegistry.getInvoker(message.qualifier());
+                  ServiceMethodInvoker methodInvoker = resolveInvoker(message);
                   return methodInvoker.invokeBidirectional(
                       messages, ServiceMessageCodec::decodeData);
                 }
@@ -89,23 +155,79 @@ public class RSocketServiceAcceptor implements SocketAcceptor {
           .map(this::toPayload);
     }
 
+    /**
+     * Invokes requests of the batch independently, responses are marked with position of the
+     * request in the batch. See {@link RequestBatches}. Requests hold slices of the batch buffer,
+     * so if responses are cancelled (e.g. connection is closed) or fail, requests which weren't
+     * invoked yet are released.
+     *
+     * @param batch batch message
+     * @return flux of responses
+     */
+    private Flux<ServiceMessage> invokeBatch(ServiceMessage batch) {
+      List<ServiceMessage> messages;
+      if (batch.hasData(ByteBuf.class)) {
+        ByteBuf buffer = batch.data();
+        try {
+          messages = RequestBatches.read(codec, buffer);
+        } finally {
+          ReferenceCountUtil.safestRelease(buffer);
+        }
+      } else {
+        messages = Collections.emptyList();
+      }
+
+      // request is taken out once it's invoked, what's left on termination is released
+      AtomicReferenceArray<ServiceMessage> pending =
+          new AtomicReferenceArray<>(messages.toArray(new ServiceMessage[0]));
+
+      return Flux.range(0, pending.length())
+          .flatMap(
+              index -> {
+                ServiceMessage message = pending.getAndSet(index, null);
+                if (message == null) {
+                  return Mono.empty(); // released on termination
+                }
+                return Mono.fromCallable(() -> resolveInvoker(message))
+                    .flatMap(
+                        invoker -> invoker.invokeOne(message, ServiceMessageCodec::decodeData))
+                    .onErrorResume(th -> Mono.just(DefaultErrorMapper.INSTANCE.toMessage(th)))
+                    .map(
+                        response ->
+                            ServiceMessage.from(response)
+                                .header(ClientChannel.HEADER_BATCH_INDEX, index)
+                                .build());
+              })
+          .doFinally(signalType -> releasePending(pending));
+    }
+
+    private void releasePending(AtomicReferenceArray<ServiceMessage> pending) {
+      for (int i = 0; i < pending.length(); i++) {
+        ServiceMessage message = pending.getAndSet(i, null);
+        if (message != null) {
+          ReferenceCountUtil.safestRelease(message.data());
+        }
+      }
+    }
+
     private Payload toPayload(ServiceMessage response) {
-      return messageCodec.encodeAndTransform(response, ByteBufPayload::create);
+      return codec.encodeAndTransform(response, ByteBufPayload::create);
     }
 
     private ServiceMessage toMessage(Payload payload) {
-      return messageCodec.decode(payload.sliceData(), payload.sliceMetadata());
+      return codec.decode(payload.sliceData(), payload.sliceMetadata());
     }
 
     /**
-     * Performs basic validation on incoming message: qualifier must be present, method invoker must
-     * be present in the method registry by incoming qualifier. May throw exception
+     * Resolves method invoker of incoming message by its qualifier, with a single lookup in the
+     * method registry. May throw exception
      *
      * @param message incoming message
+     * @return method invoker
      * @throws ServiceException in case qualfier is missing or method invoker is missing by given
      *     qualifier
      */
-    private void validateRequest(ServiceMessage message) throws ServiceException {
+    private ServiceMethodInvoker resolveInvoker(ServiceMessage message) throws ServiceException {
       if (message.qualifier() == null) {
         Optional.ofNullable(message.data())
             .ifPresent(ReferenceCountUtil::safestRelease); // release message data if any
@@ -113,7 +235,8 @@ public class RSocketServiceAcceptor implements SocketAcceptor {
         throw new BadRequestException("Qualifier is null in service msg request: " + message);
       }
 
-      if (!methodRegistry.containsInvoker(message.qualifier())) {
+      ServiceMethodInvoker methodInvoker = methodRegistry.getInvoker(message.qualifier());
+      if (methodInvoker == null) {
         Optional.ofNullable(message.data())
             .ifPresent(ReferenceCountUtil::safestRelease); // release message data if any
         LOGGER.error(
@@ -123,6 +246,7 @@ public class RSocketServiceAcceptor implements SocketAcceptor {
         throw new ServiceUnavailableException(
             "No service invoker found by qualifier=" + message.qualifier());
       }
+      return methodInvoker;
     }
   }
 }
@@ -1,5 +1,9 @@
 package io.scalecube.services.transport.rsocket;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
 import io.rsocket.Payload;
 import io.rsocket.RSocket;
 import io.rsocket.util.ByteBufPayload;
@@ -8,57 +12,161 @@ import io.scalecube.services.exceptions.ConnectionClosedException;
 import io.scalecube.services.transport.api.ClientChannel;
 import io.scalecube.services.transport.api.ServiceMessageCodec;
 import java.nio.channels.ClosedChannelException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class RSocketServiceClientAdapter implements ClientChannel {
 
-  private Mono<RSocket> rsocket;
-  private ServiceMessageCodec messageCodec;
+  // selects connection for a request and acquires it, returns null if there's no connection
+  private final Supplier<PooledConnection> connections;
+  private final EventLoop eventLoop;
+  private final ServiceMessageCodec messageCodec;
 
   public RSocketServiceClientAdapter(Mono<RSocket> rsocket, ServiceMessageCodec codec) {
-    this.rsocket = rsocket;
+    this(singleConnection(new PooledConnection(rsocket, null)), null, codec);
+  }
+
+  /**
+   * Creates channel which acquires connection for every request, so that channel itself holds
+   * nothing and may be dropped at any time.
+   *
+   * @param connections supplier of acquired connection or null if connection can't be acquired
+   * @param eventLoop event loop of channel's creator, used for scheduling; may be null
+   * @param codec message codec
+   */
+  RSocketServiceClientAdapter(
+      Supplier<PooledConnection> connections, EventLoop eventLoop, ServiceMessageCodec codec) {
+    this.connections = connections;
+    this.eventLoop = eventLoop;
     this.messageCodec = codec;
   }
 
   @Override
   public Mono<ServiceMessage> requestResponse(ServiceMessage message) {
-    return rsocket
-        .flatMap(
-            rsocket ->
-                rsocket
-                    .requestResponse(toPayload(message))
-                    .onErrorMap(
-                        ClosedChannelException.class,
-                        e -> new ConnectionClosedException("Connection closed")))
-        .map(this::toMessage);
+    return Mono.defer(
+        () -> {
+          PooledConnection connection = connections.get();
+          if (connection == null) {
+            return Mono.error(new ConnectionClosedException("Connection closed"));
+          }
+          return connection
+              .rsocket()
+              .flatMap(
+                  rsocket ->
+                      rsocket
+                          .requestResponse(toPayload(message))
+                          .onErrorMap(
+                              ClosedChannelException.class,
+                              e -> new ConnectionClosedException("Connection closed")))
+              .map(this::toMessage)
+              .doFinally(signalType -> connection.release());
+        });
   }
 
   @Override
   public Flux<ServiceMessage> requestStream(ServiceMessage message) {
-    return rsocket
-        .flatMapMany(
-            rsocket ->
-                rsocket
-                    .requestStream(toPayload(message))
-                    .onErrorMap(
-                        ClosedChannelException.class,
-                        e -> new ConnectionClosedException("Connection closed")))
-        .map(this::toMessage);
+    return Flux.defer(
+        () -> {
+          PooledConnection connection = connections.get();
+          if (connection == null) {
+            return Flux.error(new ConnectionClosedException("Connection closed"));
+          }
+          return connection
+              .rsocket()
+              .flatMapMany(
+                  rsocket ->
+                      rsocket
+                          .requestStream(toPayload(message))
+                          .onErrorMap(
+                              ClosedChannelException.class,
+                              e -> new ConnectionClosedException("Connection closed")))
+              .map(this::toMessage)
+              .doFinally(signalType -> connection.release());
+        });
   }
 
   @Override
   public Flux<ServiceMessage> requestChannel(Publisher<ServiceMessage> publisher) {
-    return rsocket
-        .flatMapMany(
-            rsocket ->
-                rsocket
-                    .requestChannel(Flux.from(publisher).map(this::toPayload))
-                    .onErrorMap(
-                        ClosedChannelException.class,
-                        e -> new ConnectionClosedException("Connection closed")))
-        .map(this::toMessage);
+    return Flux.defer(
+        () -> {
+          PooledConnection connection = connections.get();
+          if (connection == null) {
+            return Flux.error(new ConnectionClosedException("Connection closed"));
+          }
+          return connection
+              .rsocket()
+              .flatMapMany(
+                  rsocket ->
+                      rsocket
+                          .requestChannel(Flux.from(publisher).map(this::toPayload))
+                          .onErrorMap(
+                              ClosedChannelException.class,
+                              e -> new ConnectionClosedException("Connection closed")))
+              .map(this::toMessage)
+              .doFinally(signalType -> connection.release());
+        });
+  }
+
+  @Override
+  public Flux<ServiceMessage> requestBatch(List<ServiceMessage> messages) {
+    return Flux.defer(
+        () -> {
+          if (messages.isEmpty()) {
+            return Flux.empty();
+          }
+          PooledConnection connection = connections.get();
+          if (connection == null) {
+            return Flux.error(new ConnectionClosedException("Connection closed"));
+          }
+          return connection
+              .rsocket()
+              .flatMapMany(
+                  rsocket ->
+                      rsocket
+                          .requestStream(toPayload(messages))
+                          .onErrorMap(
+                              ClosedChannelException.class,
+                              e -> new ConnectionClosedException("Connection closed")))
+              .map(this::toMessage)
+              .doFinally(signalType -> connection.release());
+        });
+  }
+
+  @Override
+  public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+    if (eventLoop == null) {
+      return ClientChannel.super.schedule(task, delay, unit);
+    }
+    ScheduledFuture<?> future = eventLoop.schedule(task, delay, unit);
+    return () -> future.cancel(false);
+  }
+
+  private static Supplier<PooledConnection> singleConnection(PooledConnection connection) {
+    return () -> connection.tryAcquire() ? connection : null;
+  }
+
+  private Payload toPayload(List<ServiceMessage> requests) {
+    ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+    try {
+      for (ServiceMessage request : requests) {
+        messageCodec.encodeAndTransform(
+            request, (data, metadata) -> RequestBatches.write(buffer, data, metadata));
+      }
+    } catch (Throwable ex) {
+      buffer.release();
+      throw ex;
+    }
+    ServiceMessage batch =
+        ServiceMessage.builder()
+            .header(RequestBatches.HEADER_BATCH_SIZE, requests.size())
+            .data(buffer)
+            .build();
+    return messageCodec.encodeAndTransform(batch, ByteBufPayload::create);
   }
 
   private Payload toPayload(ServiceMessage request) {
@@ -23,7 +23,22 @@ import reactor.netty.FutureMono;
  */
 public class RSocketServiceTransport implements ServiceTransport {
 
-  private static final String DEFAULT_HEADERS_FORMAT = "application/json";
+  private static final String DEFAULT_HEADERS_FORMAT = BinaryHeadersCodec.CONTENT_TYPE;
+
+  private final ConnectionPoolConfig connectionPoolConfig;
+
+  public RSocketServiceTransport() {
+    this(ConnectionPoolConfig.DEFAULT);
+  }
+
+  /**
+   * Creates transport with the given client connection pool settings.
+   *
+   * @param connectionPoolConfig client connection pool settings
+   */
+  public RSocketServiceTransport(ConnectionPoolConfig connectionPoolConfig) {
+    this.connectionPoolConfig = connectionPoolConfig;
+  }
 
   @Override
   public Resources resources(int numOfWorkers) {
@@ -32,16 +47,28 @@ public class RSocketServiceTransport implements ServiceTransport {
 
   @Override
   public ClientTransport clientTransport(ServiceTransport.Resources resources) {
+    return clientTransport(resources, HeadersCodec.getInstance(DEFAULT_HEADERS_FORMAT));
+  }
+
+  @Override
+  public ClientTransport clientTransport(
+      ServiceTransport.Resources resources, HeadersCodec headersCodec) {
     return new RSocketClientTransport(
-        new ServiceMessageCodec(HeadersCodec.getInstance(DEFAULT_HEADERS_FORMAT)),
-        DelegatedLoopResources.newClientLoopResources(((Resources) resources).workerPool));
+        new ServiceMessageCodec(headersCodec),
+        DelegatedLoopResources.newClientLoopResources(((Resources) resources).workerPool),
+        connectionPoolConfig);
   }
 
   @Override
   public ServerTransport serverTransport(ServiceTransport.Resources resources) {
+    return serverTransport(resources, HeadersCodec.getInstance(DEFAULT_HEADERS_FORMAT));
+  }
+
+  @Override
+  public ServerTransport serverTransport(
+      ServiceTransport.Resources resources, HeadersCodec headersCodec) {
     return new RSocketServerTransport(
-        new ServiceMessageCodec(HeadersCodec.getInstance(DEFAULT_HEADERS_FORMAT)),
-        ((Resources) resources).workerPool);
+        new ServiceMessageCodec(headersCodec), ((Resources) resources).workerPool);
   }
 
   /** RSocket service transport Resources implementation. Holds inside custom EventLoopGroup. */
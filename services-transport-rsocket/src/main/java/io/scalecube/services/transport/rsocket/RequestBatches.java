@@ -0,0 +1,85 @@
+package io.scalecube.services.transport.rsocket;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.MessageCodecException;
+import io.scalecube.services.transport.api.ReferenceCountUtil;
+import io.scalecube.services.transport.api.ServiceMessageCodec;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format of request batches.
+ *
+ * <p>Batch is sent as request-stream, which has {@link #HEADER_BATCH_SIZE} header and no
+ * qualifier. Its data is a sequence of encoded requests, each one is int length of metadata,
+ * followed by metadata, followed by int length of data, followed by data. Server invokes requests
+ * independently and streams back their responses, marked with position of the request in the
+ * batch.
+ */
+final class RequestBatches {
+
+  /**
+   * Batch size header.
+   */
+  static final String HEADER_BATCH_SIZE = "_batch";
+
+  private RequestBatches() {
+    // Do not instantiate
+  }
+
+  /**
+   * Appends encoded request to the batch buffer, releases given data and metadata.
+   *
+   * @param buffer batch buffer
+   * @param data data of the request
+   * @param metadata metadata of the request
+   * @return batch buffer
+   */
+  static ByteBuf write(ByteBuf buffer, ByteBuf data, ByteBuf metadata) {
+    try {
+      buffer.writeInt(metadata.readableBytes()).writeBytes(metadata);
+      buffer.writeInt(data.readableBytes()).writeBytes(data);
+      return buffer;
+    } finally {
+      ReferenceCountUtil.safestRelease(metadata);
+      ReferenceCountUtil.safestRelease(data);
+    }
+  }
+
+  /**
+   * Reads requests from the batch buffer. Requests hold retained slices of the buffer as their
+   * data, the buffer itself is not released.
+   *
+   * @param codec message codec
+   * @param buffer batch buffer
+   * @return requests
+   * @throws MessageCodecException when batch is malformed
+   */
+  static List<ServiceMessage> read(ServiceMessageCodec codec, ByteBuf buffer) {
+    List<ServiceMessage> messages = new ArrayList<>();
+    try {
+      while (buffer.isReadable()) {
+        ByteBuf metadata = readSlice(buffer);
+        ByteBuf data;
+        try {
+          data = readSlice(buffer);
+        } catch (Throwable ex) {
+          ReferenceCountUtil.safestRelease(metadata);
+          throw ex;
+        }
+        messages.add(codec.decode(data, metadata));
+      }
+      return messages;
+    } catch (Throwable ex) {
+      messages.forEach(message -> ReferenceCountUtil.safestRelease(message.data()));
+      throw new MessageCodecException("Failed to decode request batch", ex);
+    }
+  }
+
+  private static ByteBuf readSlice(ByteBuf buffer) {
+    int length = buffer.readInt();
+    return length > 0 ? buffer.readRetainedSlice(length) : Unpooled.EMPTY_BUFFER;
+  }
+}
@@ -11,6 +11,7 @@ import io.scalecube.services.exceptions.DefaultErrorMapper;
 import io.scalecube.services.exceptions.ServiceProviderErrorMapper;
 import io.scalecube.services.gateway.Gateway;
 import io.scalecube.services.gateway.GatewayConfig;
+import io.scalecube.services.methods.MethodAccessorFactory;
 import io.scalecube.services.methods.ServiceMethodRegistry;
 import io.scalecube.services.methods.ServiceMethodRegistryImpl;
 import io.scalecube.services.metrics.Metrics;
@@ -19,6 +20,7 @@ import io.scalecube.services.registry.api.ServiceRegistry;
 import io.scalecube.services.transport.ServiceTransportConfig;
 import io.scalecube.services.transport.api.Address;
 import io.scalecube.services.transport.api.ClientTransport;
+import io.scalecube.services.transport.api.HeadersCodec;
 import io.scalecube.services.transport.api.ServerTransport;
 import io.scalecube.services.transport.api.ServiceTransport;
 import java.lang.management.ManagementFactory;
@@ -130,7 +132,10 @@ public class Microservices {
     this.tags = new HashMap<>(builder.tags);
     this.serviceProviders = new ArrayList<>(builder.serviceProviders);
     this.serviceRegistry = builder.serviceRegistry;
-    this.methodRegistry = builder.methodRegistry;
+    this.methodRegistry =
+        Optional.ofNullable(builder.methodRegistry)
+            .orElseGet(
+                () -> new ServiceMethodRegistryImpl(MethodAccessorFactory.GENERATED, metrics));
     this.gatewayBootstrap = builder.gatewayBootstrap;
     this.serviceDiscoveryFactory = builder.serviceDiscoveryFactory;
     this.transportBootstrap =
@@ -155,7 +160,12 @@ public class Microservices {
               ClientTransport clientTransport = transportBootstrap.clientTransport();
               InetSocketAddress serviceAddress = transportBootstrap.serviceAddress();
 
-              Call call = new Call(clientTransport, methodRegistry, serviceRegistry);
+              Call call =
+                  new Call(clientTransport, methodRegistry, serviceRegistry).metrics(metrics);
+
+              if (metrics != null) {
+                registerTransportMetrics(clientTransport);
+              }
 
               // invoke service providers and register services
               serviceProviders.stream()
@@ -189,6 +199,22 @@ public class Microservices {
             });
   }
 
+  private void registerTransportMetrics(ClientTransport clientTransport) {
+    String component = MetricRegistry.name(ClientTransport.class.getName(), id);
+    metrics.register(
+        component,
+        "pool-size",
+        () ->
+            clientTransport.outstandingRequests().entrySet().stream()
+                .collect(toMap(e -> e.getKey().toString(), e -> e.getValue().size())));
+    metrics.register(
+        component,
+        "outstanding-requests",
+        () ->
+            clientTransport.outstandingRequests().entrySet().stream()
+                .collect(toMap(e -> e.getKey().toString(), Entry::getValue)));
+  }
+
   private Mono<GatewayBootstrap> startGateway(Call call) {
     return gatewayBootstrap.start(transportBootstrap.workerPool(), call, metrics);
   }
@@ -218,7 +244,8 @@ public class Microservices {
   }
 
   public Call call() {
-    return new Call(transportBootstrap.clientTransport(), methodRegistry, serviceRegistry);
+    return new Call(transportBootstrap.clientTransport(), methodRegistry, serviceRegistry)
+        .metrics(metrics);
   }
 
   public InetSocketAddress gatewayAddress(String name, Class<? extends Gateway> gatewayClass) {
@@ -257,7 +284,7 @@ public class Microservices {
     private Map<String, String> tags = new HashMap<>();
     private List<ServiceProvider> serviceProviders = new ArrayList<>();
     private ServiceRegistry serviceRegistry = new ServiceRegistryImpl();
-    private ServiceMethodRegistry methodRegistry = new ServiceMethodRegistryImpl();
+    private ServiceMethodRegistry methodRegistry; // default one records metrics if any
     private ServiceDiscoveryFactory serviceDiscoveryFactory;
     private Consumer<ServiceTransportConfig.Builder> transportOptions;
     private GatewayBootstrap gatewayBootstrap = new GatewayBootstrap();
@@ -415,6 +442,7 @@ public class Microservices {
     private ServiceTransport.Resources transportResources; // calculated
     private InetSocketAddress serviceAddress; // calculated
     private int numOfThreads; // calculated
+    private String headersFormat; // config
 
     public ServiceTransportBootstrap(ServiceTransportConfig options) {
       this.serviceHost = options.host();
@@ -422,6 +450,7 @@ public class Microservices {
       this.numOfThreads =
           Optional.ofNullable(options.numOfThreads()).orElse(DEFAULT_NUM_OF_THREADS);
       this.transport = options.transport();
+      this.headersFormat = options.headersFormat();
     }
 
     private ServiceTransport transport() {
@@ -447,8 +476,14 @@ public class Microservices {
                 Optional.ofNullable(this.transport).orElseGet(ServiceTransport::getTransport);
 
             this.transportResources = transport.resources(numOfThreads);
-            this.clientTransport = transport.clientTransport(transportResources);
-            this.serverTransport = transport.serverTransport(transportResources);
+            if (headersFormat != null) {
+              HeadersCodec headersCodec = HeadersCodec.getInstance(headersFormat);
+              this.clientTransport = transport.clientTransport(transportResources, headersCodec);
+              this.serverTransport = transport.serverTransport(transportResources, headersCodec);
+            } else {
+              this.clientTransport = transport.clientTransport(transportResources);
+              this.serverTransport = transport.serverTransport(transportResources);
+            }
 
             // bind service serverTransport transport
             return serverTransport
@@ -487,6 +522,8 @@ public class Microservices {
           + serviceAddress
           + ", numOfThreads="
           + numOfThreads
+          + ", headersFormat="
+          + headersFormat
           + ", transport="
           + transport.getClass()
           + ", clientTransport="
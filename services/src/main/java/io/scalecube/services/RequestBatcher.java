@@ -0,0 +1,194 @@
+package io.scalecube.services;
+
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.transport.api.Address;
+import io.scalecube.services.transport.api.ClientChannel;
+import io.scalecube.services.transport.api.ClientTransport;
+import io.scalecube.services.transport.api.ReferenceCountUtil;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Gathers request-response requests of one qualifier per remote address and sends them with
+ * {@link ClientChannel#requestBatch(List)} once there are max size of them or max delay passed
+ * since the first one, whichever comes first. Responses are correlated back to callers by {@link
+ * ClientChannel#HEADER_BATCH_INDEX} header.
+ */
+final class RequestBatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RequestBatcher.class);
+
+  private final ClientTransport transport;
+  private final int maxSize;
+  private final long maxDelayNanos;
+
+  private final Map<Address, Batch> batches = new HashMap<>(); // guarded by this
+
+  RequestBatcher(ClientTransport transport, int maxSize, Duration maxDelay) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    }
+    this.transport = transport;
+    this.maxSize = maxSize;
+    this.maxDelayNanos = maxDelay.toNanos();
+  }
+
+  /**
+   * Adds request to the batch of given address.
+   *
+   * @param request request message
+   * @param address remote address
+   * @return mono of response, completes empty if there was no response
+   */
+  Mono<ServiceMessage> request(ServiceMessage request, Address address) {
+    return Mono.create(
+        sink -> {
+          Entry entry = new Entry(request, sink);
+          sink.onCancel(() -> entry.cancelled = true);
+          add(address, entry);
+        });
+  }
+
+  private void add(Address address, Entry entry) {
+    Batch full = null;
+    synchronized (this) {
+      Batch batch = batches.get(address);
+      if (batch == null) {
+        Batch newBatch = batch = new Batch(address, transport.create(address));
+        batches.put(address, batch);
+        // timer fires on the thread of the connection, which the batch is going to be sent over
+        batch.timer =
+            batch.channel.schedule(() -> flush(newBatch), maxDelayNanos, TimeUnit.NANOSECONDS);
+      }
+      batch.entries.add(entry);
+      if (batch.entries.size() >= maxSize) {
+        batches.remove(address);
+        batch.timer.dispose();
+        full = batch;
+      }
+    }
+    if (full != null) {
+      send(full);
+    }
+  }
+
+  private void flush(Batch batch) {
+    synchronized (this) {
+      if (batches.get(batch.address) != batch) {
+        return; // already sent as full
+      }
+      batches.remove(batch.address);
+    }
+    send(batch);
+  }
+
+  private void send(Batch batch) {
+    ClientChannel channel = batch.channel;
+    List<Entry> entries = new ArrayList<>(batch.entries.size());
+    for (Entry entry : batch.entries) {
+      if (!entry.cancelled) {
+        entries.add(entry);
+      } else {
+        // request is not sent, so its data (e.g. pooled buffer forwarded by gateway) is released
+        ReferenceCountUtil.safestRelease(entry.request.data());
+      }
+    }
+
+    if (entries.size() == 1) {
+      Entry entry = entries.get(0);
+      channel.requestResponse(entry.request).subscribe(entry::success, entry::error, entry::empty);
+      return;
+    }
+
+    // if all requests are cancelled, empty batch is sent just to release the channel
+    List<ServiceMessage> requests = new ArrayList<>(entries.size());
+    for (Entry entry : entries) {
+      requests.add(entry.request);
+    }
+    channel
+        .requestBatch(requests)
+        .subscribe(
+            response -> {
+              Entry entry = entry(entries, response);
+              if (entry != null) {
+                entry.success(withoutBatchIndex(response));
+              }
+            },
+            th -> entries.forEach(entry -> entry.error(th)),
+            () -> entries.forEach(Entry::empty));
+  }
+
+  private static Entry entry(List<Entry> entries, ServiceMessage response) {
+    String index = response.header(ClientChannel.HEADER_BATCH_INDEX);
+    try {
+      return entries.get(Integer.parseInt(index));
+    } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+      LOGGER.warn("Dropped response with invalid batch index: {}", response);
+      return null;
+    }
+  }
+
+  private static ServiceMessage withoutBatchIndex(ServiceMessage response) {
+    return ServiceMessage.from(response).removeHeader(ClientChannel.HEADER_BATCH_INDEX).build();
+  }
+
+  private static final class Batch {
+
+    private final Address address;
+    private final ClientChannel channel;
+    private final List<Entry> entries = new ArrayList<>();
+    private Disposable timer;
+
+    private Batch(Address address, ClientChannel channel) {
+      this.address = address;
+      this.channel = channel;
+    }
+  }
+
+  /**
+   * Request and its caller. Methods are called serially by one subscriber, so they don't need
+   * synchronization. Caller may cancel before batch is sent, then request is left out of it.
+   */
+  private static final class Entry {
+
+    private final ServiceMessage request;
+    private final MonoSink<ServiceMessage> sink;
+    private boolean done;
+    private volatile boolean cancelled;
+
+    private Entry(ServiceMessage request, MonoSink<ServiceMessage> sink) {
+      this.request = request;
+      this.sink = sink;
+    }
+
+    private void success(ServiceMessage response) {
+      if (!done) {
+        done = true;
+        sink.success(response);
+      }
+    }
+
+    private void error(Throwable throwable) {
+      if (!done) {
+        done = true;
+        sink.error(throwable);
+      }
+    }
+
+    private void empty() {
+      if (!done) {
+        done = true;
+        sink.success();
+      }
+    }
+  }
+}
@@ -2,14 +2,23 @@ package io.scalecube.services;
 
 import static java.util.Objects.requireNonNull;
 
+import io.scalecube.services.annotations.Batched;
 import io.scalecube.services.api.ErrorData;
+import io.scalecube.services.api.MessageTrace;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.exceptions.DefaultErrorMapper;
 import io.scalecube.services.exceptions.ServiceClientErrorMapper;
+import io.scalecube.services.exceptions.ServiceProviderErrorMapper;
 import io.scalecube.services.exceptions.ServiceUnavailableException;
 import io.scalecube.services.methods.MethodInfo;
+import io.scalecube.services.methods.MethodRecorder;
+import io.scalecube.services.methods.MethodRecorders;
 import io.scalecube.services.methods.ServiceMethodRegistry;
+import io.scalecube.services.methods.ServiceProxies;
+import io.scalecube.services.methods.ServiceProxyHandler;
+import io.scalecube.services.metrics.Metrics;
 import io.scalecube.services.registry.api.ServiceRegistry;
+import io.scalecube.services.routing.LoadAwareRouter;
 import io.scalecube.services.routing.RoundRobinServiceRouter;
 import io.scalecube.services.routing.Router;
 import io.scalecube.services.routing.Routers;
@@ -19,9 +28,12 @@ import io.scalecube.services.transport.api.ReferenceCountUtil;
 import io.scalecube.services.transport.api.ServiceMessageCodec;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -34,6 +46,9 @@ public class ServiceCall {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ServiceCall.class);
 
+  /** Qualifier under which calls of unknown service methods are recorded. */
+  public static final String UNKNOWN_QUALIFIER = "unknown";
+
   public static final ServiceMessage UNEXPECTED_EMPTY_RESPONSE =
       ServiceMessage.error(503, 503, "Unexpected empty response");
 
@@ -42,6 +57,10 @@ public class ServiceCall {
   private final ServiceRegistry serviceRegistry;
   private final Router router;
   private final ServiceClientErrorMapper errorMapper;
+  // maps errors back to error types for metrics, if client mapper is able to do it
+  private final ServiceProviderErrorMapper errorTypeMapper;
+  private final Map<String, RequestBatcher> batchers; // by qualifier, read-only
+  private final Metrics metrics;
 
   private ServiceCall(Call call) {
     this.transport = call.transport;
@@ -49,6 +68,12 @@ public class ServiceCall {
     this.serviceRegistry = call.serviceRegistry;
     this.router = call.router;
     this.errorMapper = call.errorMapper;
+    this.errorTypeMapper =
+        call.errorMapper instanceof ServiceProviderErrorMapper
+            ? (ServiceProviderErrorMapper) call.errorMapper
+            : DefaultErrorMapper.INSTANCE;
+    this.batchers = new HashMap<>(call.batchers);
+    this.metrics = call.metrics;
   }
 
   /**
@@ -91,18 +116,27 @@ public class ServiceCall {
    */
   public Mono<ServiceMessage> requestOne(ServiceMessage request, Class<?> responseType) {
     return Mono.defer(
-        () -> {
-          String qualifier = request.qualifier();
-          if (methodRegistry.containsInvoker(qualifier)) { // local service.
-            return methodRegistry
-                .getInvoker(request.qualifier())
-                .invokeOne(request, ServiceMessageCodec::decodeData)
-                .map(this::throwIfError);
-          } else {
-            return addressLookup(request)
-                .flatMap(address -> requestOne(request, responseType, address)); // remote service
-          }
-        });
+            () -> {
+              String qualifier = request.qualifier();
+              if (methodRegistry.containsInvoker(qualifier)) { // local service.
+                MessageTrace.mark(request, MessageTrace.ROUTE);
+                return methodRegistry
+                    .getInvoker(request.qualifier())
+                    .invokeOne(request, ServiceMessageCodec::decodeData)
+                    .map(this::throwIfError);
+              } else { // remote service.
+                return addressLookup(request)
+                    .flatMap(
+                        address -> {
+                          MessageTrace.mark(request, MessageTrace.ROUTE);
+                          return trackLoad(
+                              request, requestOne(request, responseType, address), address);
+                        });
+              }
+            })
+        .doOnNext(this::recordTrace)
+        .transform(
+            response -> MethodRecorders.record(response, recorder(request), errorTypeMapper));
   }
 
   /**
@@ -118,9 +152,15 @@ public class ServiceCall {
     return Mono.defer(
         () -> {
           requireNonNull(address, "requestOne address parameter is required and must not be null");
-          return transport
-              .create(address)
-              .requestResponse(request)
+          String qualifier = request.qualifier();
+          RequestBatcher batcher = qualifier != null ? batchers.get(qualifier) : null;
+          ServiceMessage traced = MessageTrace.markAndEncode(request, MessageTrace.TRANSPORT_SEND);
+          Mono<ServiceMessage> response =
+              batcher != null
+                  ? batcher.request(traced, address)
+                  : transport.create(address).requestResponse(traced);
+          return response
+              .map(message -> MessageTrace.markAndEncode(message, MessageTrace.RESPONSE_RECV))
               .map(message -> ServiceMessageCodec.decodeData(message, responseType))
               .map(this::throwIfError);
         });
@@ -145,19 +185,27 @@ public class ServiceCall {
    */
   public Flux<ServiceMessage> requestMany(ServiceMessage request, Class<?> responseType) {
     return Flux.defer(
-        () -> {
-          String qualifier = request.qualifier();
-          if (methodRegistry.containsInvoker(qualifier)) { // local service.
-            return methodRegistry
-                .getInvoker(request.qualifier())
-                .invokeMany(request, ServiceMessageCodec::decodeData)
-                .map(this::throwIfError);
-          } else {
-            return addressLookup(request)
-                .flatMapMany(
-                    address -> requestMany(request, responseType, address)); // remote service
-          }
-        });
+            () -> {
+              String qualifier = request.qualifier();
+              if (methodRegistry.containsInvoker(qualifier)) { // local service.
+                MessageTrace.mark(request, MessageTrace.ROUTE);
+                return methodRegistry
+                    .getInvoker(request.qualifier())
+                    .invokeMany(request, ServiceMessageCodec::decodeData)
+                    .map(this::throwIfError);
+              } else { // remote service.
+                return addressLookup(request)
+                    .flatMapMany(
+                        address -> {
+                          MessageTrace.mark(request, MessageTrace.ROUTE);
+                          return trackLoad(
+                              request, requestMany(request, responseType, address), address);
+                        });
+              }
+            })
+        .doOnNext(this::recordTrace)
+        .transform(
+            responses -> MethodRecorders.record(responses, recorder(request), errorTypeMapper));
   }
 
   /**
@@ -176,7 +224,8 @@ public class ServiceCall {
           requireNonNull(address, "requestMany address parameter is required and must not be null");
           return transport
               .create(address)
-              .requestStream(request)
+              .requestStream(MessageTrace.markAndEncode(request, MessageTrace.TRANSPORT_SEND))
+              .map(message -> MessageTrace.markAndEncode(message, MessageTrace.RESPONSE_RECV))
               .map(message -> ServiceMessageCodec.decodeData(message, responseType))
               .map(this::throwIfError);
         });
@@ -208,17 +257,21 @@ public class ServiceCall {
                 ServiceMessage request = first.get();
                 String qualifier = request.qualifier();
 
+                Flux<ServiceMessage> responses;
                 if (methodRegistry.containsInvoker(qualifier)) { // local service.
-                  return methodRegistry
-                      .getInvoker(qualifier)
-                      .invokeBidirectional(messages, ServiceMessageCodec::decodeData)
-                      .map(this::throwIfError);
+                  responses =
+                      methodRegistry
+                          .getInvoker(qualifier)
+                          .invokeBidirectional(messages, ServiceMessageCodec::decodeData)
+                          .map(this::throwIfError);
                 } else {
                   // remote service
-                  return addressLookup(request)
-                      .flatMapMany(
-                          address -> requestBidirectional(messages, responseType, address));
+                  responses =
+                      addressLookup(request)
+                          .flatMapMany(
+                              address -> requestBidirectional(messages, responseType, address));
                 }
+                return MethodRecorders.record(responses, recorder(request), errorTypeMapper);
               }
 
               return messages;
@@ -257,7 +310,14 @@ public class ServiceCall {
   @SuppressWarnings("unchecked")
   public <T> T api(Class<T> serviceInterface) {
 
-    final ServiceCall serviceCall = this;
+    final ServiceProxyHandler proxyHandler = new ProxyHandler();
+
+    // proxy generated at compile time doesn't need reflection on calls
+    Optional<T> generatedProxy = ServiceProxies.create(serviceInterface, proxyHandler);
+    if (generatedProxy.isPresent()) {
+      return generatedProxy.get();
+    }
+
     final Map<Method, MethodInfo> genericReturnTypes = Reflect.methodsInfo(serviceInterface);
 
     // noinspection unchecked
@@ -267,8 +327,6 @@ public class ServiceCall {
             new Class[] {serviceInterface},
             (proxy, method, params) -> {
               final MethodInfo methodInfo = genericReturnTypes.get(method);
-              final Class<?> returnType = methodInfo.parameterizedReturnType();
-              final boolean isServiceMessage = methodInfo.isRequestTypeServiceMessage();
 
               Optional<Object> check =
                   toStringOrEqualsOrHashCode(method.getName(), serviceInterface, params);
@@ -276,29 +334,24 @@ public class ServiceCall {
                 return check.get(); // toString, hashCode was invoked.
               }
 
+              final Object request = methodInfo.parameterCount() != 0 ? params[0] : null;
+
               switch (methodInfo.communicationMode()) {
                 case FIRE_AND_FORGET:
-                  return serviceCall.oneWay(toServiceMessage(methodInfo, params));
+                  // service method returns void, so nobody else would subscribe to the call
+                  proxyHandler.fireAndForget(methodInfo, request).subscribe();
+                  return null;
 
                 case REQUEST_RESPONSE:
-                  return serviceCall
-                      .requestOne(toServiceMessage(methodInfo, params), returnType)
-                      .transform(asMono(isServiceMessage));
+                  return proxyHandler.requestResponse(methodInfo, request);
 
                 case REQUEST_STREAM:
-                  return serviceCall
-                      .requestMany(toServiceMessage(methodInfo, params), returnType)
-                      .transform(asFlux(isServiceMessage));
+                  return proxyHandler.requestStream(methodInfo, request);
 
                 case REQUEST_CHANNEL:
                   // this is REQUEST_CHANNEL so it means params[0] must be a publisher - its safe to
                   // cast.
-                  return serviceCall
-                      .requestBidirectional(
-                          Flux.from((Publisher) params[0])
-                              .map(data -> toServiceMessage(methodInfo, data)),
-                          returnType)
-                      .transform(asFlux(isServiceMessage));
+                  return proxyHandler.requestChannel(methodInfo, (Publisher<?>) request);
 
                 default:
                   throw new IllegalArgumentException(
@@ -307,6 +360,32 @@ public class ServiceCall {
             });
   }
 
+  /**
+   * Returns recorder of the request. Qualifiers may come from outside (e.g. from gateway clients),
+   * so only those which resolve to local invoker or registered service are recorded by name, the
+   * rest are recorded under {@link #UNKNOWN_QUALIFIER}, so that metric registry doesn't grow
+   * unbounded.
+   */
+  private MethodRecorder recorder(ServiceMessage request) {
+    if (metrics == null) {
+      return MethodRecorder.NO_OP;
+    }
+    String qualifier = request.qualifier();
+    boolean known =
+        qualifier != null
+            && (methodRegistry.containsInvoker(qualifier)
+                || (serviceRegistry != null && !serviceRegistry.lookupService(request).isEmpty()));
+    return metrics.getMethodMetrics(
+        ServiceCall.class.getName(), known ? qualifier : UNKNOWN_QUALIFIER);
+  }
+
+  private void recordTrace(ServiceMessage response) {
+    MessageTrace trace = metrics != null ? response.trace() : null;
+    if (trace != null) {
+      metrics.getTraceMetrics(ServiceCall.class.getName()).record(trace);
+    }
+  }
+
   private Mono<Address> addressLookup(ServiceMessage request) {
     Callable<Address> callable =
         () ->
@@ -322,15 +401,60 @@ public class ServiceCall {
             });
   }
 
-  private ServiceMessage toServiceMessage(MethodInfo methodInfo, Object... params) {
-    if (methodInfo.parameterCount() != 0 && params[0] instanceof ServiceMessage) {
-      return ServiceMessage.from((ServiceMessage) params[0])
-          .qualifier(methodInfo.serviceName(), methodInfo.methodName())
+  private Mono<ServiceMessage> trackLoad(
+      ServiceMessage request, Mono<ServiceMessage> response, Address address) {
+    if (!(router instanceof LoadAwareRouter)) {
+      return response;
+    }
+    LoadAwareRouter loadAwareRouter = (LoadAwareRouter) router;
+    return Mono.defer(
+        () -> {
+          loadAwareRouter.requestStarted(request, address);
+          long startTime = System.nanoTime();
+          // errors aren't latency samples, fast failures would make endpoint look fast
+          return response
+              .doOnSuccess(
+                  message ->
+                      loadAwareRouter.responseReceived(
+                          request, address, System.nanoTime() - startTime))
+              .doFinally(signalType -> loadAwareRouter.requestFinished(request, address));
+        });
+  }
+
+  private Flux<ServiceMessage> trackLoad(
+      ServiceMessage request, Flux<ServiceMessage> responses, Address address) {
+    if (!(router instanceof LoadAwareRouter)) {
+      return responses;
+    }
+    LoadAwareRouter loadAwareRouter = (LoadAwareRouter) router;
+    return Flux.defer(
+        () -> {
+          loadAwareRouter.requestStarted(request, address);
+          long startTime = System.nanoTime();
+          AtomicBoolean responded = new AtomicBoolean();
+          Runnable onResponse =
+              () -> {
+                if (!responded.get() && responded.compareAndSet(false, true)) {
+                  loadAwareRouter.responseReceived(request, address, System.nanoTime() - startTime);
+                }
+              };
+          // errors aren't latency samples, fast failures would make endpoint look fast
+          return responses
+              .doOnNext(message -> onResponse.run())
+              .doOnComplete(onResponse)
+              .doFinally(signalType -> loadAwareRouter.requestFinished(request, address));
+        });
+  }
+
+  private ServiceMessage toServiceMessage(MethodInfo methodInfo, Object request) {
+    if (methodInfo.parameterCount() != 0 && request instanceof ServiceMessage) {
+      return ServiceMessage.from((ServiceMessage) request)
+          .qualifier(methodInfo.qualifier())
           .build();
     }
     return ServiceMessage.builder()
-        .qualifier(methodInfo.serviceName(), methodInfo.methodName())
-        .data(methodInfo.parameterCount() != 0 ? params[0] : null)
+        .qualifier(methodInfo.qualifier())
+        .data(methodInfo.parameterCount() != 0 ? request : null)
         .build();
   }
 
@@ -389,6 +513,43 @@ public class ServiceCall {
     return message;
   }
 
+  /**
+   * Handler of service proxy calls, shared by generated proxies and {@link Proxy} based ones.
+   */
+  private final class ProxyHandler implements ServiceProxyHandler {
+
+    @Override
+    public Mono<Void> fireAndForget(MethodInfo methodInfo, Object request) {
+      return oneWay(toServiceMessage(methodInfo, request));
+    }
+
+    @Override
+    public <T> Mono<T> requestResponse(MethodInfo methodInfo, Object request) {
+      // noinspection unchecked
+      return (Mono<T>)
+          requestOne(toServiceMessage(methodInfo, request), methodInfo.parameterizedReturnType())
+              .transform(asMono(methodInfo.isRequestTypeServiceMessage()));
+    }
+
+    @Override
+    public <T> Flux<T> requestStream(MethodInfo methodInfo, Object request) {
+      // noinspection unchecked
+      return (Flux<T>)
+          requestMany(toServiceMessage(methodInfo, request), methodInfo.parameterizedReturnType())
+              .transform(asFlux(methodInfo.isRequestTypeServiceMessage()));
+    }
+
+    @Override
+    public <T> Flux<T> requestChannel(MethodInfo methodInfo, Publisher<?> requests) {
+      // noinspection unchecked
+      return (Flux<T>)
+          requestBidirectional(
+                  Flux.from(requests).map(data -> toServiceMessage(methodInfo, data)),
+                  methodInfo.parameterizedReturnType())
+              .transform(asFlux(methodInfo.isRequestTypeServiceMessage()));
+    }
+  }
+
   /**
    * This class represents {@link ServiceCall}'s definition. All {@link ServiceCall} must be created
    * out of this definition.
@@ -398,8 +559,10 @@ public class ServiceCall {
     private final ClientTransport transport;
     private final ServiceMethodRegistry methodRegistry;
     private final ServiceRegistry serviceRegistry;
+    private final Map<String, RequestBatcher> batchers = new HashMap<>(); // by qualifier
     private Router router = Routers.getRouter(RoundRobinServiceRouter.class);
     private ServiceClientErrorMapper errorMapper = DefaultErrorMapper.INSTANCE;
+    private Metrics metrics;
 
     /**
      * Creates new {@link ServiceCall}'s definition.
@@ -435,6 +598,54 @@ public class ServiceCall {
       return this;
     }
 
+    /**
+     * Enables metrics of calls made by {@link ServiceCall}: per qualifier latency, number of calls
+     * in flight, rate of responses and number of errors by error type.
+     *
+     * @param metrics metrics, nullable (then metrics aren't recorded)
+     * @return this call
+     */
+    public Call metrics(Metrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    /**
+     * Enables batching of request-response calls of the given qualifier: requests to the same
+     * remote address are gathered for up to max delay or until there are max size of them, and
+     * then sent together. Batched requests wait for their batch, so it trades latency for
+     * throughput of chatty services.
+     *
+     * @param qualifier qualifier of service method
+     * @param maxSize max number of requests in one batch
+     * @param maxDelay max time a request waits for the rest of its batch
+     * @return this call
+     */
+    public Call batching(String qualifier, int maxSize, Duration maxDelay) {
+      this.batchers.put(qualifier, new RequestBatcher(transport, maxSize, maxDelay));
+      return this;
+    }
+
+    /**
+     * Enables batching of request-response calls of the methods of the given service interface
+     * which are annotated with {@link Batched}, see {@link #batching(String, int, Duration)}.
+     *
+     * @param serviceInterface service interface
+     * @return this call
+     */
+    public Call batching(Class<?> serviceInterface) {
+      for (Method method : serviceInterface.getMethods()) {
+        Batched batched = method.getAnnotation(Batched.class);
+        if (batched != null) {
+          batching(
+              Reflect.qualifier(serviceInterface, method),
+              batched.maxSize(),
+              Duration.ofMillis(batched.maxDelayMillis()));
+        }
+      }
+      return this;
+    }
+
     public ServiceCall create() {
       return new ServiceCall(this);
     }
@@ -2,6 +2,7 @@ package io.scalecube.services.methods;
 
 import io.scalecube.services.Reflect;
 import io.scalecube.services.exceptions.ServiceProviderErrorMapper;
+import io.scalecube.services.metrics.Metrics;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -10,6 +11,37 @@ public final class ServiceMethodRegistryImpl implements ServiceMethodRegistry {
   private final ConcurrentMap<String, ServiceMethodInvoker> methodInvokers =
       new ConcurrentHashMap<>();
 
+  private final MethodAccessorFactory accessorFactory;
+  private final Metrics metrics;
+
+  /**
+   * Creates registry which calls service methods via generated call sites.
+   */
+  public ServiceMethodRegistryImpl() {
+    this(MethodAccessorFactory.GENERATED);
+  }
+
+  /**
+   * Creates registry with given strategy of calling service methods.
+   *
+   * @param accessorFactory strategy of calling service methods
+   */
+  public ServiceMethodRegistryImpl(MethodAccessorFactory accessorFactory) {
+    this(accessorFactory, null);
+  }
+
+  /**
+   * Creates registry with given strategy of calling service methods, which records metrics of
+   * calls of service methods if metrics isn't null.
+   *
+   * @param accessorFactory strategy of calling service methods
+   * @param metrics metrics, nullable
+   */
+  public ServiceMethodRegistryImpl(MethodAccessorFactory accessorFactory, Metrics metrics) {
+    this.accessorFactory = accessorFactory;
+    this.metrics = metrics;
+  }
+
   @Override
   public void registerService(Object serviceInstance, ServiceProviderErrorMapper errorMapper) {
     Reflect.serviceInterfaces(serviceInstance)
@@ -35,10 +67,21 @@ public final class ServiceMethodRegistryImpl implements ServiceMethodRegistry {
                           methodInvokers.put(
                               methodInfo.qualifier(),
                               new ServiceMethodInvoker(
-                                  method, serviceInstance, methodInfo, errorMapper));
+                                  method,
+                                  serviceInstance,
+                                  methodInfo,
+                                  errorMapper,
+                                  accessorFactory,
+                                  recorder(methodInfo)));
                         }));
   }
 
+  private MethodRecorder recorder(MethodInfo methodInfo) {
+    return metrics != null
+        ? metrics.getMethodMetrics(ServiceMethodInvoker.class.getName(), methodInfo.qualifier())
+        : MethodRecorder.NO_OP;
+  }
+
   @Override
   public boolean containsInvoker(String qualifier) {
     return methodInvokers.containsKey(qualifier);
@@ -0,0 +1,110 @@
+package io.scalecube.services.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Reservoir backed by HdrHistogram {@link Recorder}, which records values wait-free and without
+ * allocation. Snapshot covers values recorded since previous snapshot.
+ */
+public final class HdrHistogramReservoir implements Reservoir {
+
+  private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 2;
+
+  private final Recorder recorder = new Recorder(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+
+  private Histogram intervalHistogram; // guarded by this
+  private volatile HdrSnapshot lastSnapshot = new HdrSnapshot(recorder.getIntervalHistogram());
+
+  @Override
+  public int size() {
+    return lastSnapshot.size();
+  }
+
+  @Override
+  public void update(long value) {
+    recorder.recordValue(value);
+  }
+
+  @Override
+  public synchronized Snapshot getSnapshot() {
+    intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+    HdrSnapshot snapshot = new HdrSnapshot(intervalHistogram.copy());
+    lastSnapshot = snapshot;
+    return snapshot;
+  }
+
+  private static final class HdrSnapshot extends Snapshot {
+
+    private static final int NUMBER_OF_VALUES = 101; // percentiles 0, 1, .., 100
+
+    private final Histogram histogram;
+
+    private HdrSnapshot(Histogram histogram) {
+      this.histogram = histogram;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+      return histogram.getValueAtPercentile(quantile * 100);
+    }
+
+    /**
+     * Returns values approximated by percentiles, since recorded values themselves aren't kept.
+     *
+     * @return values at percentiles 0, 1, .., 100
+     */
+    @Override
+    public long[] getValues() {
+      if (histogram.getTotalCount() == 0) {
+        return new long[0];
+      }
+      long[] values = new long[NUMBER_OF_VALUES];
+      for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+        values[i] = histogram.getValueAtPercentile(i);
+      }
+      return values;
+    }
+
+    @Override
+    public int size() {
+      return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getMax() {
+      return histogram.getMaxValue();
+    }
+
+    @Override
+    public double getMean() {
+      return histogram.getMean();
+    }
+
+    @Override
+    public long getMin() {
+      return histogram.getMinValue();
+    }
+
+    @Override
+    public double getStdDev() {
+      return histogram.getStdDeviation();
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+      try (PrintWriter out =
+          new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+        for (long value : getValues()) {
+          out.printf("%d%n", value);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package io.scalecube.services.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.services.methods.MethodRecorder;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of calls of a service method, by qualifier: latency histogram (in nanoseconds, from
+ * start till the end of call, i.e. for streams it's duration of stream), number of calls in
+ * flight, number of responses (stream elements) and number of errors by error type. Recorders are
+ * preallocated and striped, so recording doesn't contend between threads. Responses are counted
+ * per stream element, so they're a {@link StripedCounter} gauge, rate of it is up to reporters.
+ */
+public final class MethodMetrics implements MethodRecorder {
+
+  public static final String METRIC_LATENCY = "latency";
+  public static final String METRIC_IN_FLIGHT = "in-flight";
+  public static final String METRIC_RESPONSE = "response";
+  public static final String METRIC_ERROR = "error";
+
+  private final Metrics metrics;
+  private final String component;
+
+  private final Histogram latency;
+  private final LongAdder inFlight = new LongAdder();
+  private final StripedCounter responses;
+  // counters by error type; there are few error types, so they're scanned rather than looked up
+  // in a map, which would box error type
+  private volatile ErrorCounter[] errors = new ErrorCounter[0];
+
+  MethodMetrics(Metrics metrics, String component, String qualifier) {
+    this.metrics = metrics;
+    this.component = MetricRegistry.name(component, qualifier);
+    this.latency =
+        metrics.getHistogram(this.component, METRIC_LATENCY, new HdrHistogramReservoir());
+    this.responses = metrics.getStripedCounter(this.component, METRIC_RESPONSE);
+    try {
+      metrics.register(this.component, METRIC_IN_FLIGHT, inFlight::sum);
+    } catch (IllegalArgumentException ex) {
+      // gauge is already registered by another instance sharing the same registry
+    }
+  }
+
+  @Override
+  public long onStart() {
+    inFlight.increment();
+    return System.nanoTime();
+  }
+
+  @Override
+  public void onNext() {
+    responses.increment();
+  }
+
+  @Override
+  public void onError(int errorType) {
+    for (ErrorCounter errorCounter : errors) {
+      if (errorCounter.errorType == errorType) {
+        errorCounter.counter.inc();
+        return;
+      }
+    }
+    addErrorCounter(errorType).inc();
+  }
+
+  @Override
+  public void onFinish(long startTime) {
+    latency.update(System.nanoTime() - startTime);
+    inFlight.decrement();
+  }
+
+  private synchronized Counter addErrorCounter(int errorType) {
+    ErrorCounter[] current = errors;
+    for (ErrorCounter errorCounter : current) {
+      if (errorCounter.errorType == errorType) {
+        return errorCounter.counter; // added concurrently
+      }
+    }
+    Counter counter =
+        metrics.getCounter(component, MetricRegistry.name(METRIC_ERROR, "" + errorType));
+    ErrorCounter[] result = Arrays.copyOf(current, current.length + 1);
+    result[current.length] = new ErrorCounter(errorType, counter);
+    errors = result;
+    return counter;
+  }
+
+  private static final class ErrorCounter {
+
+    private final int errorType;
+    private final Counter counter;
+
+    private ErrorCounter(int errorType, Counter counter) {
+      this.errorType = errorType;
+      this.counter = counter;
+    }
+  }
+}
@@ -5,14 +5,26 @@ import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.Timer.Context;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Metrics {
 
   private final MetricRegistry registry;
 
+  // method metrics by qualifier by component
+  private final Map<String, Map<String, MethodMetrics>> methodMetrics = new ConcurrentHashMap<>();
+
+  // trace metrics by component
+  private final Map<String, TraceMetrics> traceMetrics = new ConcurrentHashMap<>();
+
+  // striped counters by name
+  private final Map<String, StripedCounter> stripedCounters = new ConcurrentHashMap<>();
+
   public Meter getMeter(final String component, final String methodName, final String eventType) {
     return registry.meter(MetricRegistry.name(component, methodName, eventType));
   }
@@ -74,6 +86,89 @@ public class Metrics {
     return getHistogram(component.getName(), methodName, biased);
   }
 
+  /**
+   * Returns histogram backed by given reservoir, registering it if there is no histogram with such
+   * name yet.
+   *
+   * @param component name for the requested histogram.
+   * @param methodName for the requested histogram.
+   * @param reservoir reservoir of the histogram.
+   * @return histogram registered in the metric registry.
+   */
+  public Histogram getHistogram(
+      final String component, final String methodName, final Reservoir reservoir) {
+    String name = MetricRegistry.name(component, methodName);
+    Histogram histogram = registry.getHistograms().get(name);
+    if (histogram != null) {
+      return histogram;
+    }
+    try {
+      return registry.register(name, new Histogram(reservoir));
+    } catch (IllegalArgumentException ex) {
+      return registry.histogram(name); // registered concurrently
+    }
+  }
+
+  /**
+   * Returns metrics of calls of service method with given qualifier, made or served by given
+   * component. Instance is created once and then reused, so it's cheap to call on each request.
+   *
+   * @param component name of the component (e.g. caller or provider).
+   * @param qualifier service method qualifier.
+   * @return method metrics.
+   */
+  public MethodMetrics getMethodMetrics(final String component, final String qualifier) {
+    Map<String, MethodMetrics> byQualifier = methodMetrics.get(component);
+    if (byQualifier == null) {
+      byQualifier = methodMetrics.computeIfAbsent(component, key -> new ConcurrentHashMap<>());
+    }
+    MethodMetrics result = byQualifier.get(qualifier);
+    if (result == null) {
+      result =
+          byQualifier.computeIfAbsent(qualifier, key -> new MethodMetrics(this, component, key));
+    }
+    return result;
+  }
+
+  /**
+   * Returns latency breakdown metrics of calls traced by given component. Instance is created once
+   * and then reused.
+   *
+   * @param component name of the component.
+   * @return trace metrics.
+   */
+  public TraceMetrics getTraceMetrics(final String component) {
+    TraceMetrics result = traceMetrics.get(component);
+    if (result == null) {
+      result = traceMetrics.computeIfAbsent(component, key -> new TraceMetrics(this, key));
+    }
+    return result;
+  }
+
+  /**
+   * Returns striped counter, registering it as a gauge of its value if there is no such counter
+   * yet. Unlike {@link Counter} or {@link Meter}, updates of striped counter are thread-confined,
+   * and it's aggregated only when read, i.e. by reporters of metric registry.
+   *
+   * @param component name for the requested counter.
+   * @param methodName for the requested counter.
+   * @return striped counter.
+   */
+  public StripedCounter getStripedCounter(final String component, final String methodName) {
+    String name = MetricRegistry.name(component, methodName);
+    return stripedCounters.computeIfAbsent(
+        name,
+        key -> {
+          StripedCounter counter = new StripedCounter();
+          try {
+            registry.register(key, (Gauge<Long>) counter::sum);
+          } catch (IllegalArgumentException ex) {
+            // gauge is already registered by another instance sharing the same registry
+          }
+          return counter;
+        });
+  }
+
   public Metrics(final MetricRegistry registry) {
     this.registry = registry;
   }
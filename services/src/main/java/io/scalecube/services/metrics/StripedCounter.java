@@ -0,0 +1,136 @@
+package io.scalecube.services.metrics;
+
+import io.netty.util.concurrent.FastThreadLocal;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Counter which is updated by each thread in its own cell, so updates are plain ordered writes
+ * without contention, allocation or atomic read-modify-write. Cells are summed up only when the
+ * counter is read. Meant for event loop threads (which have fast thread locals), where a handful
+ * of threads update a counter at high rate and it's read rarely, e.g. by a metrics reporter.
+ *
+ * <p>Cells of terminated threads are folded into base value and dropped when counter is read or a
+ * new thread gets its cell, so counter updated by short-lived threads (e.g. elastic scheduler
+ * workers) doesn't pile up their cells.
+ */
+public final class StripedCounter {
+
+  private final List<Cell> cells = new CopyOnWriteArrayList<>();
+
+  // sum of cells of terminated threads
+  private final AtomicLong base = new AtomicLong();
+
+  private final FastThreadLocal<Cell> localCell =
+      new FastThreadLocal<Cell>() {
+        @Override
+        protected Cell initialValue() {
+          expireCells();
+          Cell cell = new Cell(Thread.currentThread());
+          cells.add(cell);
+          return cell;
+        }
+      };
+
+  /** Increments counter by one. */
+  public void increment() {
+    localCell.get().add(1);
+  }
+
+  /** Decrements counter by one. */
+  public void decrement() {
+    localCell.get().add(-1);
+  }
+
+  /**
+   * Adds given delta to counter.
+   *
+   * @param delta delta
+   */
+  public void add(long delta) {
+    localCell.get().add(delta);
+  }
+
+  /**
+   * Returns current value of counter, i.e. sum of cells of all threads which updated it.
+   *
+   * @return counter value
+   */
+  public long sum() {
+    expireCells();
+    long sum = base.get();
+    for (Cell cell : cells) {
+      sum += cell.value;
+    }
+    return sum;
+  }
+
+  int cellCount() {
+    return cells.size();
+  }
+
+  /**
+   * Moves values of cells of terminated threads to base value. Cell of terminated thread isn't
+   * written anymore, and its last write happens-before termination is observed by {@link
+   * Thread#isAlive()}, so its value is final. Cell is removed by one thread only, so its value is
+   * added to base once.
+   */
+  private void expireCells() {
+    for (Cell cell : cells) {
+      if (!cell.isOwnerAlive() && cells.remove(cell)) {
+        base.addAndGet(cell.value);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Long.toString(sum());
+  }
+
+  @SuppressWarnings("unused")
+  private static final class Cell {
+
+    private static final AtomicLongFieldUpdater<Cell> VALUE =
+        AtomicLongFieldUpdater.newUpdater(Cell.class, "value");
+
+    // weak, so that cell doesn't keep terminated thread (and its thread locals) reachable
+    private final WeakReference<Thread> owner;
+
+    // padding against false sharing with cells of other threads
+    private long p1;
+    private long p2;
+    private long p3;
+    private long p4;
+    private long p5;
+    private long p6;
+    private long p7;
+
+    private volatile long value;
+
+    private long q1;
+    private long q2;
+    private long q3;
+    private long q4;
+    private long q5;
+    private long q6;
+    private long q7;
+
+    private Cell(Thread owner) {
+      this.owner = new WeakReference<>(owner);
+    }
+
+    private boolean isOwnerAlive() {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+
+    // written by owner thread only
+    private void add(long delta) {
+      VALUE.lazySet(this, value + delta);
+    }
+  }
+}
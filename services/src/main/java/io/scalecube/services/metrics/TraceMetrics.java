@@ -0,0 +1,45 @@
+package io.scalecube.services.metrics;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.services.api.MessageTrace;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency breakdown of traced calls: histogram (in nanoseconds) per span of {@link MessageTrace},
+ * named {@code <component>.trace.<span>}.
+ */
+public final class TraceMetrics {
+
+  public static final String METRIC_TRACE = "trace";
+
+  private final Metrics metrics;
+  private final String component;
+
+  private final Map<String, Histogram> spans = new ConcurrentHashMap<>(); // by span name
+
+  TraceMetrics(Metrics metrics, String component) {
+    this.metrics = metrics;
+    this.component = MetricRegistry.name(component, METRIC_TRACE);
+  }
+
+  /**
+   * Records spans of the trace.
+   *
+   * @param trace message trace
+   */
+  public void record(MessageTrace trace) {
+    trace.forEachSpan((name, duration) -> histogram(name).update(duration));
+  }
+
+  private Histogram histogram(String name) {
+    Histogram histogram = spans.get(name);
+    if (histogram == null) {
+      histogram =
+          spans.computeIfAbsent(
+              name, key -> metrics.getHistogram(component, key, new HdrHistogramReservoir()));
+    }
+    return histogram;
+  }
+}
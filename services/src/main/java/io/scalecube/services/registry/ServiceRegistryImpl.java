@@ -7,10 +7,10 @@ import io.scalecube.services.registry.api.ServiceRegistry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.function.Function;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.jctools.maps.NonBlockingHashMap;
 
@@ -18,9 +18,13 @@ public class ServiceRegistryImpl implements ServiceRegistry {
 
   // todo how to remove it (tags problem)?
   private final Map<String, ServiceEndpoint> serviceEndpoints = new NonBlockingHashMap<>();
-  private final Map<String, List<ServiceReference>> referencesByQualifier =
+  private final Map<String, Collection<ServiceReference>> referencesByEndpointId =
       new NonBlockingHashMap<>();
 
+  // references by qualifier grouped by content type; routes are changed on register/unregister
+  // only, lookup returns immutable snapshot of a route which is rebuilt once after each change
+  private final Map<String, Map<String, Route>> routingTables = new NonBlockingHashMap<>();
+
   @Override
   public List<ServiceEndpoint> listServiceEndpoints() {
     // todo how to collect tags correctly?
@@ -29,60 +33,90 @@ public class ServiceRegistryImpl implements ServiceRegistry {
 
   @Override
   public List<ServiceReference> listServiceReferences() {
-    return referencesByQualifier.values().stream()
+    return referencesByEndpointId.values().stream()
         .flatMap(Collection::stream)
         .collect(Collectors.toList());
   }
 
   @Override
   public List<ServiceReference> lookupService(ServiceMessage request) {
-    List<ServiceReference> result = referencesByQualifier.get(request.qualifier());
-    if (result == null || result.isEmpty()) {
+    Map<String, Route> routingTable = routingTables.get(request.qualifier());
+    if (routingTable == null) {
       return Collections.emptyList();
     }
-    String contentType = request.dataFormatOrDefault();
-    return result.stream()
-        .filter(ref -> ref.contentTypes().contains(contentType))
-        .collect(Collectors.toList());
+    Route route = routingTable.get(request.dataFormatOrDefault());
+    if (route == null) {
+      return Collections.emptyList();
+    }
+    List<ServiceReference> snapshot = route.snapshot;
+    return snapshot != null ? snapshot : snapshot(route);
   }
 
   @Override
-  public boolean registerService(ServiceEndpoint serviceEndpoint) {
+  public synchronized boolean registerService(ServiceEndpoint serviceEndpoint) {
     boolean success = serviceEndpoints.putIfAbsent(serviceEndpoint.id(), serviceEndpoint) == null;
     if (success) {
-      serviceEndpoint
-          .serviceReferences()
-          .forEach(
-              sr ->
-                  referencesByQualifier
-                      .computeIfAbsent(sr.qualifier(), key -> new CopyOnWriteArrayList<>())
-                      .add(sr));
+      Collection<ServiceReference> serviceReferences = serviceEndpoint.serviceReferences();
+      referencesByEndpointId.put(serviceEndpoint.id(), serviceReferences);
+      serviceReferences.forEach(this::addRoute);
     }
     return success;
   }
 
   @Override
-  public ServiceEndpoint unregisterService(String endpointId) {
+  public synchronized ServiceEndpoint unregisterService(String endpointId) {
     ServiceEndpoint serviceEndpoint = serviceEndpoints.remove(endpointId);
     if (serviceEndpoint != null) {
+      Collection<ServiceReference> serviceReferences = referencesByEndpointId.remove(endpointId);
+      serviceReferences.forEach(this::removeRoute);
+    }
+    return serviceEndpoint;
+  }
 
-      Map<String, ServiceReference> serviceReferencesOfEndpoint =
-          referencesByQualifier.values().stream()
-              .flatMap(Collection::stream)
-              .filter(sr -> sr.endpointId().equals(endpointId))
-              .collect(Collectors.toMap(ServiceReference::qualifier, Function.identity()));
+  private void addRoute(ServiceReference reference) {
+    Map<String, Route> routingTable =
+        routingTables.computeIfAbsent(reference.qualifier(), key -> new NonBlockingHashMap<>());
+    for (String contentType : reference.contentTypes()) {
+      Route route = routingTable.computeIfAbsent(contentType, type -> new Route());
+      route.references.add(reference);
+      route.snapshot = null;
+    }
+  }
 
-      serviceReferencesOfEndpoint.forEach(
-          (qualifier, sr) -> {
-            // do remapping
-            referencesByQualifier.compute(
-                qualifier,
-                (qualifier1, list) -> {
-                  list.remove(sr);
-                  return !list.isEmpty() ? list : null;
-                });
-          });
+  private void removeRoute(ServiceReference reference) {
+    Map<String, Route> routingTable = routingTables.get(reference.qualifier());
+    if (routingTable == null) {
+      return;
     }
-    return serviceEndpoint;
+    for (String contentType : reference.contentTypes()) {
+      Route route = routingTable.get(contentType);
+      if (route != null && route.references.remove(reference)) {
+        route.snapshot = null;
+        if (route.references.isEmpty()) {
+          routingTable.remove(contentType);
+        }
+      }
+    }
+    if (routingTable.isEmpty()) {
+      routingTables.remove(reference.qualifier());
+    }
+  }
+
+  private synchronized List<ServiceReference> snapshot(Route route) {
+    List<ServiceReference> snapshot = route.snapshot;
+    if (snapshot == null) {
+      snapshot = Collections.unmodifiableList(new ArrayList<>(route.references));
+      route.snapshot = snapshot;
+    }
+    return snapshot;
+  }
+
+  private static final class Route {
+
+    // guarded by registry, in order of registration
+    private final Set<ServiceReference> references = new LinkedHashSet<>();
+
+    // null after change of references until next lookup
+    private volatile List<ServiceReference> snapshot;
   }
 }
@@ -0,0 +1,319 @@
+package io.scalecube.services.routing;
+
+import io.scalecube.services.ServiceReference;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.registry.api.ServiceRegistry;
+import io.scalecube.services.transport.api.Address;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.jctools.maps.NonBlockingHashMap;
+
+/**
+ * Router which sends requests with the same key to the same service endpoint, as long as it's
+ * registered and not overloaded. Endpoints are placed onto a hash ring by their ids, each of them
+ * at a number of points (virtual nodes), so that when an endpoint joins or leaves only about 1/N
+ * of keys move.
+ *
+ * <p>Router uses consistent hashing with bounded loads: endpoint is skipped if its requests in
+ * flight exceed {@code loadFactor} times the average, and the key goes to the next endpoint on the
+ * ring. Requests in flight are counted per ring, i.e. per qualifier and content type, and only
+ * those which were routed by key. Requests without a key are routed randomly.
+ *
+ * <p>Ring is built once per snapshot of service references returned by {@link
+ * ServiceRegistry#lookupService(ServiceMessage)}, and when registry membership changes the new ring
+ * is derived from the previous one. On such change rings of qualifiers which aren't registered
+ * anymore are evicted.
+ */
+public class ConsistentHashServiceRouter implements LoadAwareRouter {
+
+  public static final int DEFAULT_VIRTUAL_NODES = 100;
+  public static final double DEFAULT_LOAD_FACTOR = 1.25;
+
+  private final Function<ServiceMessage, String> keyExtractor;
+  private final int virtualNodes;
+  private final double loadFactor;
+
+  // routes by qualifier and content type
+  private final Map<String, Map<String, Route>> routes = new NonBlockingHashMap<>();
+
+  /**
+   * Creates router with default number of virtual nodes and load factor.
+   *
+   * @param keyExtractor function which extracts routing key from request, may return null
+   */
+  public ConsistentHashServiceRouter(Function<ServiceMessage, String> keyExtractor) {
+    this(keyExtractor, DEFAULT_VIRTUAL_NODES, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates router.
+   *
+   * @param keyExtractor function which extracts routing key from request, may return null
+   * @param virtualNodes number of points of every endpoint on the ring
+   * @param loadFactor max ratio of endpoint requests in flight to the average, must be above 1
+   */
+  public ConsistentHashServiceRouter(
+      Function<ServiceMessage, String> keyExtractor, int virtualNodes, double loadFactor) {
+    if (virtualNodes < 1) {
+      throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+    }
+    if (loadFactor <= 1) {
+      throw new IllegalArgumentException("loadFactor must be greater than 1: " + loadFactor);
+    }
+    this.keyExtractor = keyExtractor;
+    this.virtualNodes = virtualNodes;
+    this.loadFactor = loadFactor;
+  }
+
+  /**
+   * Creates router which routes requests by value of the given header.
+   *
+   * @param header header name
+   * @return router
+   */
+  public static ConsistentHashServiceRouter byHeader(String header) {
+    return new ConsistentHashServiceRouter(request -> request.header(header));
+  }
+
+  @Override
+  public Optional<ServiceReference> route(ServiceRegistry serviceRegistry, ServiceMessage request) {
+    List<ServiceReference> serviceInstances = serviceRegistry.lookupService(request);
+    if (serviceInstances.isEmpty()) {
+      return Optional.empty();
+    } else if (serviceInstances.size() == 1) {
+      return Optional.of(serviceInstances.get(0));
+    }
+    String key = keyExtractor.apply(request);
+    if (key == null) {
+      int index = ThreadLocalRandom.current().nextInt(serviceInstances.size());
+      return Optional.of(serviceInstances.get(index));
+    }
+    Route route = route(request);
+    return Optional.of(route.ring(serviceRegistry, serviceInstances).select(hash(key), route));
+  }
+
+  @Override
+  public void requestStarted(ServiceMessage request, Address address) {
+    Route route = routedByKey(request);
+    if (route != null) {
+      route
+          .inFlightByAddress
+          .computeIfAbsent(address, key -> new AtomicInteger())
+          .incrementAndGet();
+      route.inFlight.incrementAndGet();
+    }
+  }
+
+  @Override
+  public void responseReceived(ServiceMessage request, Address address, long latencyNanos) {
+    // only requests in flight are taken into account
+  }
+
+  @Override
+  public void requestFinished(ServiceMessage request, Address address) {
+    Route route = routedByKey(request);
+    if (route != null) {
+      AtomicInteger counter = route.inFlightByAddress.get(address);
+      if (counter != null) {
+        counter.decrementAndGet();
+        route.inFlight.decrementAndGet();
+      }
+    }
+  }
+
+  private Route route(ServiceMessage request) {
+    return routes
+        .computeIfAbsent(request.qualifier(), key -> new NonBlockingHashMap<>())
+        .computeIfAbsent(request.dataFormatOrDefault(), key -> new Route());
+  }
+
+  // returns route of request only if it has routing key, i.e. it was routed by ring
+  private Route routedByKey(ServiceMessage request) {
+    if (keyExtractor.apply(request) == null) {
+      return null;
+    }
+    Map<String, Route> routesByContentType = routes.get(request.qualifier());
+    return routesByContentType != null
+        ? routesByContentType.get(request.dataFormatOrDefault())
+        : null;
+  }
+
+  /** Evicts routes of qualifiers and content types which have no service references anymore. */
+  private void evictRoutes(ServiceRegistry serviceRegistry) {
+    routes.forEach(
+        (qualifier, routesByContentType) -> {
+          routesByContentType.forEach(
+              (contentType, route) -> {
+                ServiceMessage request =
+                    ServiceMessage.builder().qualifier(qualifier).dataFormat(contentType).build();
+                if (serviceRegistry.lookupService(request).isEmpty()) {
+                  routesByContentType.remove(contentType, route);
+                }
+              });
+          if (routesByContentType.isEmpty()) {
+            routes.remove(qualifier, routesByContentType);
+          }
+        });
+  }
+
+  private static long hash(String value) {
+    // FNV-1a followed by murmur3 finalizer for better avalanche
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /** Ring of qualifier and content type along with requests in flight routed by it. */
+  private final class Route {
+
+    private volatile Ring ring;
+
+    private final Map<Address, AtomicInteger> inFlightByAddress = new NonBlockingHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private Ring ring(ServiceRegistry serviceRegistry, List<ServiceReference> serviceInstances) {
+      Ring previous = this.ring;
+      if (previous != null && previous.references == serviceInstances) {
+        return previous;
+      }
+      Ring ring = new Ring(previous, serviceInstances);
+      this.ring = ring;
+      if (previous != null) {
+        // registry membership changed
+        evictRoutes(serviceRegistry);
+        inFlightByAddress.forEach(
+            (address, counter) -> {
+              if (counter.get() <= 0 && !ring.hasAddress(address)) {
+                inFlightByAddress.remove(address, counter);
+              }
+            });
+      }
+      return ring;
+    }
+
+    private int inFlight(ServiceReference reference) {
+      AtomicInteger counter = inFlightByAddress.get(reference.address());
+      return counter != null ? counter.get() : 0;
+    }
+  }
+
+  private final class Ring {
+
+    // snapshot of service references this ring was built for
+    private final List<ServiceReference> references;
+    private final int endpointsCount;
+
+    // points sorted by hash
+    private final long[] hashes;
+    private final ServiceReference[] owners;
+
+    private Ring(Ring previous, List<ServiceReference> references) {
+      Map<String, ServiceReference> endpoints = new LinkedHashMap<>();
+      references.forEach(reference -> endpoints.putIfAbsent(reference.endpointId(), reference));
+
+      this.references = references;
+      this.endpointsCount = endpoints.size();
+      this.hashes = new long[endpointsCount * virtualNodes];
+      this.owners = new ServiceReference[hashes.length];
+
+      // points of endpoints which are still there keep their places
+      long[] keptHashes = new long[hashes.length];
+      ServiceReference[] keptOwners = new ServiceReference[hashes.length];
+      int keptCount = 0;
+      Set<String> kept = new HashSet<>();
+      if (previous != null) {
+        for (int i = 0; i < previous.hashes.length; i++) {
+          String endpointId = previous.owners[i].endpointId();
+          ServiceReference owner = endpoints.get(endpointId);
+          if (owner != null) {
+            keptHashes[keptCount] = previous.hashes[i];
+            keptOwners[keptCount] = owner;
+            keptCount++;
+            kept.add(endpointId);
+          }
+        }
+      }
+
+      // points of new endpoints
+      List<Point> added = new ArrayList<>();
+      endpoints.forEach(
+          (endpointId, owner) -> {
+            if (!kept.contains(endpointId)) {
+              for (int i = 0; i < virtualNodes; i++) {
+                added.add(new Point(hash(endpointId + '#' + i), owner));
+              }
+            }
+          });
+      added.sort(Comparator.comparingLong(point -> point.hash));
+
+      // merge two sorted sequences
+      int i = 0;
+      int j = 0;
+      for (int k = 0; k < hashes.length; k++) {
+        if (j >= added.size() || (i < keptCount && keptHashes[i] <= added.get(j).hash)) {
+          hashes[k] = keptHashes[i];
+          owners[k] = keptOwners[i];
+          i++;
+        } else {
+          hashes[k] = added.get(j).hash;
+          owners[k] = added.get(j).owner;
+          j++;
+        }
+      }
+    }
+
+    private boolean hasAddress(Address address) {
+      for (ServiceReference reference : references) {
+        if (reference.address().equals(address)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private ServiceReference select(long hash, Route route) {
+      int start = Arrays.binarySearch(hashes, hash);
+      if (start < 0) {
+        start = -start - 1;
+      }
+      // bounded loads: the request being routed counts as well
+      int capacity = (int) Math.ceil(loadFactor * (route.inFlight.get() + 1) / endpointsCount);
+      for (int k = 0; k < hashes.length; k++) {
+        ServiceReference owner = owners[(start + k) % hashes.length];
+        if (route.inFlight(owner) < capacity) {
+          return owner;
+        }
+      }
+      return owners[start % hashes.length];
+    }
+  }
+
+  private static final class Point {
+
+    private final long hash;
+    private final ServiceReference owner;
+
+    private Point(long hash, ServiceReference owner) {
+      this.hash = hash;
+      this.owner = owner;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package io.scalecube.services.routing;
+
+import io.scalecube.services.ServiceReference;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.registry.api.ServiceRegistry;
+import io.scalecube.services.transport.api.Address;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jctools.maps.NonBlockingHashMap;
+
+/**
+ * Router which picks the least loaded of two randomly chosen service references (power of two
+ * choices). Load of endpoint is an exponentially weighted moving average of its response latency
+ * multiplied by number of its requests in flight plus one, so that slow or paused endpoints get
+ * less traffic than the others. Load of endpoint which has had no requests for a while is
+ * forgotten, so that endpoints which left don't stay in memory.
+ */
+public class LeastLoadedServiceRouter implements LoadAwareRouter {
+
+  // weight of the latest latency sample in moving average
+  private static final double ALPHA = 0.2;
+
+  // cost of endpoint which has requests in flight but hasn't responded yet
+  private static final double PENALTY = TimeUnit.SECONDS.toNanos(10);
+
+  // time after which load of endpoint without requests is forgotten
+  private static final long EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final Map<Address, Load> loadByAddress = new NonBlockingHashMap<>();
+  private final AtomicLong nextExpiryCheck = new AtomicLong(System.nanoTime() + EXPIRY_NANOS);
+
+  @Override
+  public Optional<ServiceReference> route(ServiceRegistry serviceRegistry, ServiceMessage request) {
+    List<ServiceReference> serviceInstances = serviceRegistry.lookupService(request);
+    int size = serviceInstances.size();
+    if (size == 0) {
+      return Optional.empty();
+    } else if (size == 1) {
+      return Optional.of(serviceInstances.get(0));
+    } else {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      int index1 = random.nextInt(size);
+      int index2 = random.nextInt(size - 1);
+      if (index2 >= index1) {
+        index2++;
+      }
+      ServiceReference reference1 = serviceInstances.get(index1);
+      ServiceReference reference2 = serviceInstances.get(index2);
+      return Optional.of(cost(reference1) <= cost(reference2) ? reference1 : reference2);
+    }
+  }
+
+  @Override
+  public void requestStarted(ServiceMessage request, Address address) {
+    long now = System.nanoTime();
+    Load load = loadByAddress.computeIfAbsent(address, key -> new Load());
+    load.lastUsed = now;
+    load.inFlight.incrementAndGet();
+    expire(now);
+  }
+
+  @Override
+  public void responseReceived(ServiceMessage request, Address address, long latencyNanos) {
+    Load load = loadByAddress.get(address);
+    if (load != null) {
+      load.update(latencyNanos);
+    }
+  }
+
+  @Override
+  public void requestFinished(ServiceMessage request, Address address) {
+    Load load = loadByAddress.get(address);
+    if (load != null) {
+      load.lastUsed = System.nanoTime();
+      load.inFlight.decrementAndGet();
+    }
+  }
+
+  /** Forgets loads of endpoints without requests for expiry time, at most once per expiry time. */
+  private void expire(long now) {
+    long nextCheck = nextExpiryCheck.get();
+    if (now - nextCheck < 0 || !nextExpiryCheck.compareAndSet(nextCheck, now + EXPIRY_NANOS)) {
+      return;
+    }
+    loadByAddress.forEach(
+        (address, load) -> {
+          if (load.inFlight.get() == 0 && now - load.lastUsed >= EXPIRY_NANOS) {
+            loadByAddress.remove(address, load);
+          }
+        });
+  }
+
+  private double cost(ServiceReference reference) {
+    Load load = loadByAddress.get(reference.address());
+    return load != null ? load.cost() : 0;
+  }
+
+  private static final class Load {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long lastUsed = System.nanoTime();
+
+    // races between concurrent updates only lose a sample, which is fine for an estimate
+    private volatile double latency;
+
+    private void update(long latencyNanos) {
+      double sample = Math.max(latencyNanos, 1); // zero is reserved for 'no samples yet'
+      double latency = this.latency;
+      this.latency = latency == 0 ? sample : latency + ALPHA * (sample - latency);
+    }
+
+    private double cost() {
+      int inFlight = this.inFlight.get();
+      double latency = this.latency;
+      if (latency == 0) {
+        return inFlight == 0 ? 0 : PENALTY + inFlight;
+      }
+      return latency * (inFlight + 1);
+    }
+  }
+}
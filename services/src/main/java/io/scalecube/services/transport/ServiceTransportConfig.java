@@ -8,12 +8,14 @@ public class ServiceTransportConfig {
   private final String host;
   private final ServiceTransport transport;
   private final Integer numOfThreads;
+  private final String headersFormat;
 
   private ServiceTransportConfig(Builder builder) {
     this.port = builder.port;
     this.host = builder.host;
     this.transport = builder.transport;
     this.numOfThreads = builder.numOfThreads;
+    this.headersFormat = builder.headersFormat;
   }
 
   /**
@@ -50,6 +52,10 @@ public class ServiceTransportConfig {
     return numOfThreads;
   }
 
+  public String headersFormat() {
+    return headersFormat;
+  }
+
   @Override
   public String toString() {
     final StringBuffer sb = new StringBuffer("ServiceTransportConfig{");
@@ -57,6 +63,7 @@ public class ServiceTransportConfig {
     sb.append(", host='").append(host).append('\'');
     sb.append(", transport=").append(transport);
     sb.append(", numOfThreads=").append(numOfThreads);
+    sb.append(", headersFormat='").append(headersFormat).append('\'');
     sb.append('}');
     return sb.toString();
   }
@@ -66,6 +73,7 @@ public class ServiceTransportConfig {
     private String host;
     private ServiceTransport transport;
     private Integer numOfThreads = Runtime.getRuntime().availableProcessors();
+    private String headersFormat;
 
     public Builder port(Integer port) {
       this.port = port;
@@ -87,6 +95,18 @@ public class ServiceTransportConfig {
       return this;
     }
 
+    /**
+     * Sets content type of headers codec used by service transport. If not set, transport uses its
+     * own default.
+     *
+     * @param headersFormat headers codec content type
+     * @return self
+     */
+    public Builder headersFormat(String headersFormat) {
+      this.headersFormat = headersFormat;
+      return this;
+    }
+
     public ServiceTransportConfig build() {
       return new ServiceTransportConfig(this);
     }
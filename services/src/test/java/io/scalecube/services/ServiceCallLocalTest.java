@@ -10,18 +10,26 @@ import static io.scalecube.services.TestRequests.GREETING_THROWING_VOID_REQ;
 import static io.scalecube.services.TestRequests.GREETING_VOID_REQ;
 import static io.scalecube.services.TestRequests.NOT_FOUND_REQ;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import com.codahale.metrics.MetricRegistry;
+import io.scalecube.services.annotations.Service;
+import io.scalecube.services.annotations.ServiceMethod;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
 import io.scalecube.services.exceptions.ServiceException;
 import io.scalecube.services.routing.RoundRobinServiceRouter;
 import io.scalecube.services.sut.GreetingResponse;
+import io.scalecube.services.sut.GreetingService;
 import io.scalecube.services.sut.GreetingServiceImpl;
+import java.lang.reflect.Proxy;
 import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -62,6 +70,41 @@ public class ServiceCallLocalTest extends BaseTest {
         GREETING_NO_PARAMS_REQUEST.qualifier(), message.qualifier(), "Didn't get desired response");
   }
 
+  @Test
+  public void test_local_api_uses_generated_proxy() {
+    GreetingService service = provider.call().create().api(GreetingService.class);
+
+    assertFalse(Proxy.isProxyClass(service.getClass()), "Expected generated service proxy");
+    StepVerifier.create(service.greeting("joe"))
+        .expectNext(" hello to: joe")
+        .expectComplete()
+        .verify(timeout);
+  }
+
+  @Test
+  public void test_local_api_reflective_proxy_fires_and_forgets() throws Exception {
+    NotificationServiceImpl notificationService = new NotificationServiceImpl();
+    Microservices node =
+        Microservices.builder()
+            .discovery(ScalecubeServiceDiscovery::new)
+            .services(notificationService)
+            .startAwait();
+    try {
+      // proxy isn't generated for inaccessible interface, so it's served by reflection
+      ReflectiveNotificationService service =
+          node.call().create().api(ReflectiveNotificationService.class);
+      assertTrue(Proxy.isProxyClass(service.getClass()), "Expected reflective service proxy");
+
+      service.ping("joe");
+
+      assertTrue(
+          notificationService.notified.await(TIMEOUT, TimeUnit.SECONDS),
+          "Expected fire-and-forget call to reach service");
+    } finally {
+      node.shutdown().block();
+    }
+  }
+
   private static Microservices serviceProvider() {
     return Microservices.builder()
         .discovery(ScalecubeServiceDiscovery::new)
@@ -69,6 +112,37 @@ public class ServiceCallLocalTest extends BaseTest {
         .startAwait();
   }
 
+  @Test
+  public void test_unknown_qualifiers_are_recorded_under_one_name() {
+    MetricRegistry registry = new MetricRegistry();
+    Microservices node =
+        Microservices.builder()
+            .discovery(ScalecubeServiceDiscovery::new)
+            .metrics(registry)
+            .services(new GreetingServiceImpl())
+            .startAwait();
+    try {
+      ServiceCall serviceCall = node.call().create();
+      for (int i = 0; i < 10; i++) {
+        ServiceMessage request = ServiceMessage.builder().qualifier("/unknown/method" + i).build();
+        StepVerifier.create(serviceCall.requestOne(request)).expectError().verify(timeout);
+      }
+      StepVerifier.create(serviceCall.requestOne(GREETING_NO_PARAMS_REQUEST))
+          .expectNextCount(1)
+          .expectComplete()
+          .verify(timeout);
+
+      String component = ServiceCall.class.getName();
+      String unknown = MetricRegistry.name(component, ServiceCall.UNKNOWN_QUALIFIER, "latency");
+      String known = MetricRegistry.name(component, GREETING_NO_PARAMS_REQUEST.qualifier());
+      assertEquals(10, registry.getHistograms().get(unknown).getCount());
+      assertNotNull(registry.getHistograms().get(known + ".latency"));
+      assertTrue(registry.getNames().stream().noneMatch(name -> name.contains("/unknown/")));
+    } finally {
+      node.shutdown().block();
+    }
+  }
+
   @Test
   public void test_local_void_greeting() throws Exception {
     // WHEN
@@ -169,4 +243,30 @@ public class ServiceCallLocalTest extends BaseTest {
           ex.getMessage(), "No reachable member with such service: " + NOT_FOUND_REQ.qualifier());
     }
   }
+
+  @Service(NotificationService.SERVICE_NAME)
+  public interface NotificationService {
+
+    String SERVICE_NAME = "notifications";
+
+    @ServiceMethod
+    void ping(String name);
+  }
+
+  @Service(NotificationService.SERVICE_NAME)
+  private interface ReflectiveNotificationService {
+
+    @ServiceMethod
+    void ping(String name);
+  }
+
+  public static class NotificationServiceImpl implements NotificationService {
+
+    private final CountDownLatch notified = new CountDownLatch(1);
+
+    @Override
+    public void ping(String name) {
+      notified.countDown();
+    }
+  }
 }
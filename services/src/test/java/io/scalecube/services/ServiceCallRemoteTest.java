@@ -14,9 +14,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
 import io.scalecube.services.discovery.api.ServiceDiscovery;
@@ -26,7 +29,10 @@ import io.scalecube.services.sut.GreetingResponse;
 import io.scalecube.services.sut.GreetingServiceImpl;
 import io.scalecube.services.sut.QuoteService;
 import io.scalecube.services.sut.SimpleQuoteService;
+import io.scalecube.services.transport.api.ClientChannel;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -238,6 +244,62 @@ public class ServiceCallRemoteTest extends BaseTest {
     }
   }
 
+  @Test
+  public void test_remote_batched_greeting() {
+    ServiceCall serviceCall =
+        gateway.call().batching(GREETING_REQ.qualifier(), 4, Duration.ofMillis(100)).create();
+
+    List<String> responses =
+        Flux.range(0, 10)
+            .flatMap(
+                i ->
+                    serviceCall.requestOne(
+                        ServiceMessage.from(GREETING_REQ).data("joe" + i).build(), String.class))
+            .doOnNext(message -> assertNull(message.header(ClientChannel.HEADER_BATCH_INDEX)))
+            .map(ServiceMessage::<String>data)
+            .collectList()
+            .block(timeout);
+
+    assertEquals(10, responses.size());
+    for (int i = 0; i < 10; i++) {
+      assertTrue(responses.contains(" hello to: joe" + i));
+    }
+  }
+
+  @Test
+  public void test_remote_batched_greeting_with_cancelled_request() {
+    ServiceCall serviceCall =
+        gateway.call().batching(GREETING_REQ.qualifier(), 4, Duration.ofMillis(100)).create();
+
+    ByteBuf cancelledData = Unpooled.copiedBuffer("\"cancelled\"", StandardCharsets.UTF_8);
+    serviceCall
+        .requestOne(ServiceMessage.from(GREETING_REQ).data(cancelledData).build(), String.class)
+        .subscribe()
+        .dispose();
+
+    StepVerifier.create(
+            serviceCall.requestOne(
+                ServiceMessage.from(GREETING_REQ).data("joe").build(), String.class))
+        .assertNext(message -> assertEquals(" hello to: joe", message.data()))
+        .expectComplete()
+        .verify(timeout);
+    // data of cancelled request is released when batch is sent without it
+    assertEquals(0, cancelledData.refCnt());
+  }
+
+  @Test
+  public void test_remote_batched_failing_greeting() {
+    ServiceCall serviceCall =
+        gateway.call().batching(GREETING_FAIL_REQ.qualifier(), 4, Duration.ofMillis(100)).create();
+
+    StepVerifier.create(
+            Flux.merge(
+                serviceCall.requestOne(GREETING_FAIL_REQ, GreetingResponse.class),
+                serviceCall.requestOne(GREETING_FAIL_REQ, GreetingResponse.class)))
+        .expectErrorMessage("GreetingRequest{name='joe'}")
+        .verify(timeout);
+  }
+
   private static Microservices gateway() {
     return Microservices.builder().discovery(ScalecubeServiceDiscovery::new).startAwait();
   }
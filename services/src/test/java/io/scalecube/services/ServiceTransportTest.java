@@ -4,13 +4,27 @@ import static io.scalecube.services.discovery.ClusterAddresses.toAddress;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
 import io.scalecube.services.discovery.api.ServiceDiscoveryEvent;
 import io.scalecube.services.exceptions.ConnectionClosedException;
 import io.scalecube.services.sut.QuoteService;
 import io.scalecube.services.sut.SimpleQuoteService;
+import io.scalecube.services.transport.api.Address;
+import io.scalecube.services.transport.api.ClientTransport;
+import io.scalecube.services.transport.api.ServiceTransport;
+import io.scalecube.services.transport.jackson.JacksonCodec;
+import io.scalecube.services.transport.rsocket.ConnectionPoolConfig;
+import io.scalecube.services.transport.rsocket.RSocketServiceTransport;
+import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -18,9 +32,13 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.test.StepVerifier;
 
 public class ServiceTransportTest {
 
+  private static final ServiceMessage JUST_ONE =
+      ServiceMessage.builder().qualifier(QuoteService.NAME, "justOne").build();
   private static final ServiceMessage JUST_NEVER =
       ServiceMessage.builder().qualifier(QuoteService.NAME, "justNever").build();
   private static final ServiceMessage JUST_MANY_NEVER =
@@ -66,6 +84,103 @@ public class ServiceTransportTest {
     }
   }
 
+  @Test
+  public void test_remote_call_with_negotiated_headers_format() throws Exception {
+    Microservices client =
+        Microservices.builder()
+            .discovery(
+                (serviceRegistry, serviceEndpoint) ->
+                    new ScalecubeServiceDiscovery(serviceRegistry, serviceEndpoint)
+                        .options(
+                            opts -> opts.seedMembers(toAddress(gateway.discovery().address()))))
+            .transport(opts -> opts.headersFormat(JacksonCodec.CONTENT_TYPE))
+            .startAwait();
+    try {
+      TimeUnit.SECONDS.sleep(3);
+
+      StepVerifier.create(client.call().create().api(QuoteService.class).justOne())
+          .expectNext("1")
+          .expectComplete()
+          .verify(Duration.ofSeconds(3));
+    } finally {
+      client.shutdown().block(Duration.ofSeconds(6));
+    }
+  }
+
+  @Test
+  public void test_remote_calls_spread_over_connection_pool() throws Exception {
+    MetricRegistry metrics = new MetricRegistry();
+    Microservices client =
+        Microservices.builder()
+            .discovery(
+                (serviceRegistry, serviceEndpoint) ->
+                    new ScalecubeServiceDiscovery(serviceRegistry, serviceEndpoint)
+                        .options(
+                            opts -> opts.seedMembers(toAddress(gateway.discovery().address()))))
+            .transport(
+                opts ->
+                    opts.transport(
+                        new RSocketServiceTransport(
+                            ConnectionPoolConfig.builder()
+                                .minConnections(1)
+                                .maxConnections(3)
+                                .outstandingRequestsThreshold(2)
+                                .build())))
+            .metrics(metrics)
+            .startAwait();
+    Disposable.Composite requests = Disposables.composite();
+    try {
+      TimeUnit.SECONDS.sleep(3);
+
+      ServiceCall serviceCall = client.call().create();
+      for (int i = 0; i < 10; i++) {
+        requests.add(serviceCall.requestOne(JUST_NEVER).subscribe());
+      }
+      TimeUnit.MILLISECONDS.sleep(500);
+
+      Map<?, ?> poolSize = (Map<?, ?>) gauge(metrics, "pool-size").getValue();
+      assertEquals(Collections.singletonList(3), new ArrayList<>(poolSize.values()));
+
+      Map<?, ?> outstandingRequests =
+          (Map<?, ?>) gauge(metrics, "outstanding-requests").getValue();
+      List<?> connections = (List<?>) outstandingRequests.values().iterator().next();
+      assertEquals(10, connections.stream().mapToInt(count -> (Integer) count).sum());
+
+      requests.dispose();
+      TimeUnit.MILLISECONDS.sleep(500);
+
+      outstandingRequests = (Map<?, ?>) gauge(metrics, "outstanding-requests").getValue();
+      assertEquals(Arrays.asList(0, 0, 0), outstandingRequests.values().iterator().next());
+    } finally {
+      requests.dispose();
+      client.shutdown().block(Duration.ofSeconds(6));
+    }
+  }
+
+  @Test
+  public void test_unused_client_channels_dont_hold_connections() throws Exception {
+    RSocketServiceTransport transport = new RSocketServiceTransport();
+    ServiceTransport.Resources resources = transport.resources(1);
+    ClientTransport clientTransport = transport.clientTransport(resources);
+    InetSocketAddress serviceAddress = serviceNode.serviceAddress();
+    Address address = Address.create(serviceAddress.getHostString(), serviceAddress.getPort());
+    try {
+      for (int i = 0; i < 10; i++) {
+        clientTransport.create(address); // never used
+      }
+      StepVerifier.create(clientTransport.create(address).requestResponse(JUST_ONE))
+          .expectNextCount(1)
+          .expectComplete()
+          .verify(Duration.ofSeconds(3));
+      TimeUnit.MILLISECONDS.sleep(500); // connection is released after completion is delivered
+
+      List<Integer> connections = clientTransport.outstandingRequests().get(address);
+      assertEquals(0, connections.stream().mapToInt(Integer::intValue).sum());
+    } finally {
+      resources.shutdown().block(Duration.ofSeconds(6));
+    }
+  }
+
   @Test
   public void test_remote_node_died_mono_never() throws Exception {
     int batchSize = 1;
@@ -156,4 +271,8 @@ public class ServiceTransportTest {
     assertEquals(ConnectionClosedException.class, exceptionHolder.get().getClass());
     assertTrue(sub1.get().isDisposed());
   }
+
+  private static Gauge<?> gauge(MetricRegistry metrics, String name) {
+    return metrics.getGauges((key, metric) -> key.endsWith(name)).values().iterator().next();
+  }
 }
@@ -2,15 +2,24 @@ package io.scalecube.services.codec;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.rsocket.Payload;
 import io.rsocket.util.ByteBufPayload;
 import io.scalecube.services.BaseTest;
 import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.transport.api.DataCodec;
 import io.scalecube.services.transport.api.HeadersCodec;
 import io.scalecube.services.transport.api.ServiceMessageCodec;
 import io.scalecube.services.transport.jackson.JacksonCodec;
 import io.scalecube.services.transport.protostuff.ProtostuffCodec;
+import io.scalecube.services.transport.rsocket.BinaryHeadersCodec;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -23,12 +32,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class ServiceMessageCodecTest extends BaseTest {
 
-  @ParameterizedTest(name = "{0}")
+  @ParameterizedTest(name = "{0}, headers: {1}")
   @ArgumentsSource(MessageCodecProvider.class)
-  void encodeAndDecode(String contentType, ServiceMessageCodec codec) {
+  void encodeAndDecode(String contentType, String headersFormat) {
+    ServiceMessageCodec codec = new ServiceMessageCodec(HeadersCodec.getInstance(headersFormat));
     ServiceMessage message =
         ServiceMessage.builder()
             .qualifier(qualifier())
@@ -56,6 +67,52 @@ class ServiceMessageCodecTest extends BaseTest {
         () -> assertEquals(message.data(), actual.data()));
   }
 
+  @ParameterizedTest(name = "headers: {0}")
+  @ValueSource(
+      strings = {
+        JacksonCodec.CONTENT_TYPE,
+        ProtostuffCodec.CONTENT_TYPE,
+        BinaryHeadersCodec.CONTENT_TYPE
+      })
+  void reencodeDecodedHeaders(String headersFormat) {
+    ServiceMessageCodec codec = new ServiceMessageCodec(HeadersCodec.getInstance(headersFormat));
+    ServiceMessage message =
+        ServiceMessage.builder().qualifier(qualifier()).headers(headers()).build();
+    Payload payload = codec.encodeAndTransform(message, ByteBufPayload::create);
+
+    ServiceMessage decoded = codec.decode(payload.sliceData(), payload.sliceMetadata());
+    assertFalse(decoded.headers().isEmpty());
+    assertNotNull(decoded.lazyHeaders());
+
+    Payload reencoded = codec.encodeAndTransform(decoded, ByteBufPayload::create);
+    assertTrue(ByteBufUtil.equals(payload.sliceMetadata(), reencoded.sliceMetadata()));
+
+    ServiceMessage modified = ServiceMessage.from(decoded).header("key", "value").build();
+    assertNull(modified.lazyHeaders());
+    ServiceMessage actual =
+        codec.decode(
+            Unpooled.EMPTY_BUFFER,
+            codec.encodeAndTransform(modified, ByteBufPayload::create).sliceMetadata());
+    assertEquals(modified.headers(), actual.headers());
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(strings = {JacksonCodec.CONTENT_TYPE, ProtostuffCodec.CONTENT_TYPE})
+  void encodeAndDecodeDataWithHeapAndDirectBuffers(String contentType) throws Exception {
+    DataCodec dataCodec = DataCodec.getInstance(contentType);
+    PlaceOrderRequest data = data();
+
+    for (ByteBuf buffer : new ByteBuf[] {Unpooled.buffer(), Unpooled.directBuffer()}) {
+      try {
+        dataCodec.encode(buffer, data);
+        assertEquals(data, dataCodec.decode(buffer, PlaceOrderRequest.class));
+        assertEquals(0, buffer.readableBytes());
+      } finally {
+        buffer.release();
+      }
+    }
+  }
+
   private String qualifier() {
     return "io.scalecube.services.tests/SomeService/test";
   }
@@ -89,10 +146,11 @@ class ServiceMessageCodecTest extends BaseTest {
     @Override
     public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
       return Stream.of(JacksonCodec.CONTENT_TYPE, ProtostuffCodec.CONTENT_TYPE)
-          .map(
+          .flatMap(
               contentType ->
-                  Arguments.of(
-                      contentType, new ServiceMessageCodec(HeadersCodec.getInstance(contentType))));
+                  Stream.of(
+                      Arguments.of(contentType, contentType),
+                      Arguments.of(contentType, BinaryHeadersCodec.CONTENT_TYPE)));
     }
   }
 
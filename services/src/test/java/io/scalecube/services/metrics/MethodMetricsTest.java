@@ -0,0 +1,117 @@
+package io.scalecube.services.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.exceptions.BadRequestException;
+import io.scalecube.services.exceptions.ServiceProviderErrorMapper;
+import io.scalecube.services.methods.MethodRecorders;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class MethodMetricsTest {
+
+  private static final String COMPONENT = "caller";
+  private static final String QUALIFIER = "greeting/hello";
+  private static final String PREFIX = MetricRegistry.name(COMPONENT, QUALIFIER);
+
+  private final MetricRegistry registry = new MetricRegistry();
+  private final Metrics metrics = new Metrics(registry);
+
+  @Test
+  public void testMethodMetricsAreReused() {
+    assertSame(
+        metrics.getMethodMetrics(COMPONENT, QUALIFIER),
+        metrics.getMethodMetrics(COMPONENT, QUALIFIER));
+  }
+
+  @Test
+  public void testRecordStream() {
+    MethodMetrics methodMetrics = metrics.getMethodMetrics(COMPONENT, QUALIFIER);
+    ServiceMessage message = ServiceMessage.builder().qualifier(QUALIFIER).build();
+
+    StepVerifier.create(
+            MethodRecorders.record(Flux.just(message, message, message), methodMetrics))
+        .expectNextCount(3)
+        .verifyComplete();
+
+    assertEquals(3L, registry.getGauges().get(PREFIX + ".response").getValue());
+    assertEquals(0L, registry.getGauges().get(PREFIX + ".in-flight").getValue());
+    Snapshot latency = registry.getHistograms().get(PREFIX + ".latency").getSnapshot();
+    assertEquals(1, latency.size());
+    assertTrue(latency.getMax() > 0);
+  }
+
+  @Test
+  public void testRecordErrors() {
+    MethodMetrics methodMetrics = metrics.getMethodMetrics(COMPONENT, QUALIFIER);
+
+    StepVerifier.create(
+            MethodRecorders.record(
+                Mono.<ServiceMessage>error(new BadRequestException("bad")), methodMetrics))
+        .verifyError(BadRequestException.class);
+    StepVerifier.create(
+            MethodRecorders.record(
+                Mono.just(ServiceMessage.error(400, 400, "bad")), methodMetrics))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    assertEquals(2, registry.getCounters().get(PREFIX + ".error.400").getCount());
+    assertEquals(0L, registry.getGauges().get(PREFIX + ".response").getValue());
+  }
+
+  @Test
+  public void testRecordErrorsWithErrorMapper() {
+    MethodMetrics methodMetrics = metrics.getMethodMetrics(COMPONENT, QUALIFIER);
+    ServiceProviderErrorMapper errorMapper =
+        new ServiceProviderErrorMapper() {
+          @Override
+          public ServiceMessage toMessage(Throwable throwable) {
+            throw new AssertionError("error message must not be built");
+          }
+
+          @Override
+          public int toErrorType(Throwable throwable) {
+            return 409;
+          }
+        };
+
+    StepVerifier.create(
+            MethodRecorders.record(
+                Flux.<ServiceMessage>error(new IllegalStateException("conflict")),
+                methodMetrics,
+                errorMapper))
+        .verifyError(IllegalStateException.class);
+
+    assertEquals(1, registry.getCounters().get(PREFIX + ".error.409").getCount());
+  }
+
+  @Test
+  public void testErrorTypes() {
+    MethodMetrics methodMetrics = metrics.getMethodMetrics(COMPONENT, QUALIFIER);
+
+    methodMetrics.onError(500);
+    methodMetrics.onError(503);
+    methodMetrics.onError(500);
+
+    assertEquals(2, registry.getCounters().get(PREFIX + ".error.500").getCount());
+    assertEquals(1, registry.getCounters().get(PREFIX + ".error.503").getCount());
+  }
+
+  @Test
+  public void testInFlight() {
+    MethodMetrics methodMetrics = metrics.getMethodMetrics(COMPONENT, QUALIFIER);
+
+    long startTime = methodMetrics.onStart();
+    assertEquals(1L, registry.getGauges().get(PREFIX + ".in-flight").getValue());
+
+    methodMetrics.onFinish(startTime);
+    assertEquals(0L, registry.getGauges().get(PREFIX + ".in-flight").getValue());
+  }
+}
@@ -0,0 +1,69 @@
+package io.scalecube.services.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class StripedCounterTest {
+
+  private final MetricRegistry registry = new MetricRegistry();
+  private final Metrics metrics = new Metrics(registry);
+
+  @Test
+  public void testCounterIsReusedAndReported() {
+    StripedCounter counter = metrics.getStripedCounter("gateway", "request");
+    assertSame(counter, metrics.getStripedCounter("gateway", "request"));
+
+    counter.increment();
+    counter.add(5);
+    counter.decrement();
+
+    assertEquals(5L, registry.getGauges().get("gateway.request").getValue());
+  }
+
+  @Test
+  public void testCounterIsSummedAcrossThreads() throws Exception {
+    StripedCounter counter = new StripedCounter();
+    int threads = 4;
+    int increments = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch latch = new CountDownLatch(threads);
+    try {
+      for (int i = 0; i < threads; i++) {
+        executor.execute(
+            () -> {
+              for (int j = 0; j < increments; j++) {
+                counter.increment();
+              }
+              latch.countDown();
+            });
+      }
+      latch.await(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(threads * increments, counter.sum());
+  }
+
+  @Test
+  public void testCellsOfTerminatedThreadsAreFolded() throws Exception {
+    StripedCounter counter = new StripedCounter();
+    int threads = 8;
+    for (int i = 0; i < threads; i++) {
+      Thread thread = new Thread(() -> counter.add(10));
+      thread.start();
+      thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+    counter.increment();
+
+    assertEquals(threads * 10 + 1, counter.sum());
+    assertEquals(1, counter.cellCount());
+  }
+}
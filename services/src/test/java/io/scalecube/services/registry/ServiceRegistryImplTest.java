@@ -0,0 +1,100 @@
+package io.scalecube.services.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.ServiceMethodDefinition;
+import io.scalecube.services.ServiceReference;
+import io.scalecube.services.ServiceRegistration;
+import io.scalecube.services.api.ServiceMessage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class ServiceRegistryImplTest {
+
+  private static final ServiceMessage JSON_REQUEST =
+      ServiceMessage.builder().qualifier("/greeting/hello").dataFormat("application/json").build();
+  private static final ServiceMessage OCTET_STREAM_REQUEST =
+      ServiceMessage.builder()
+          .qualifier("/greeting/hello")
+          .dataFormat("application/octet-stream")
+          .build();
+
+  @Test
+  public void testLookupServiceByContentType() {
+    ServiceRegistryImpl registry = new ServiceRegistryImpl();
+    registry.registerService(endpoint("a", "application/json"));
+    registry.registerService(endpoint("b", "application/json", "application/octet-stream"));
+
+    assertEquals(Arrays.asList("a", "b"), endpointIds(registry.lookupService(JSON_REQUEST)));
+    assertEquals(
+        Collections.singletonList("b"), endpointIds(registry.lookupService(OCTET_STREAM_REQUEST)));
+    assertTrue(
+        registry
+            .lookupService(ServiceMessage.from(JSON_REQUEST).qualifier("/greeting/bye").build())
+            .isEmpty());
+  }
+
+  @Test
+  public void testLookupServiceReturnsSharedSnapshot() {
+    ServiceRegistryImpl registry = new ServiceRegistryImpl();
+    registry.registerService(endpoint("a", "application/json"));
+
+    List<ServiceReference> snapshot = registry.lookupService(JSON_REQUEST);
+    assertSame(snapshot, registry.lookupService(JSON_REQUEST));
+    assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+
+    registry.registerService(endpoint("b", "application/json"));
+    assertEquals(Collections.singletonList("a"), endpointIds(snapshot));
+    assertEquals(Arrays.asList("a", "b"), endpointIds(registry.lookupService(JSON_REQUEST)));
+
+    registry.unregisterService("a");
+    assertEquals(Collections.singletonList("b"), endpointIds(registry.lookupService(JSON_REQUEST)));
+
+    registry.unregisterService("b");
+    assertTrue(registry.lookupService(JSON_REQUEST).isEmpty());
+  }
+
+  @Test
+  public void testUnregisterAndRegisterAgain() {
+    ServiceRegistryImpl registry = new ServiceRegistryImpl();
+    ServiceEndpoint endpoint = endpoint("a", "application/json");
+    registry.registerService(endpoint);
+    registry.registerService(endpoint("b", "application/json"));
+
+    assertSame(endpoint, registry.unregisterService("a"));
+    assertNull(registry.unregisterService("a"));
+    assertEquals(Collections.singletonList("b"), endpointIds(registry.listServiceReferences()));
+
+    assertTrue(registry.registerService(endpoint));
+    assertEquals(Arrays.asList("b", "a"), endpointIds(registry.lookupService(JSON_REQUEST)));
+    assertEquals(2, registry.listServiceReferences().size());
+  }
+
+  private static ServiceEndpoint endpoint(String id, String... contentTypes) {
+    ServiceRegistration registration =
+        new ServiceRegistration(
+            "greeting",
+            Collections.emptyMap(),
+            Collections.singletonList(new ServiceMethodDefinition("hello")));
+    return new ServiceEndpoint(
+        id,
+        "localhost",
+        4801,
+        new HashSet<>(Arrays.asList(contentTypes)),
+        Collections.emptyMap(),
+        Collections.singletonList(registration));
+  }
+
+  private static List<String> endpointIds(List<ServiceReference> references) {
+    return references.stream().map(ServiceReference::endpointId).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,159 @@
+package io.scalecube.services.routings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.ServiceMethodDefinition;
+import io.scalecube.services.ServiceReference;
+import io.scalecube.services.ServiceRegistration;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.registry.ServiceRegistryImpl;
+import io.scalecube.services.routing.ConsistentHashServiceRouter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConsistentHashServiceRouterTest {
+
+  private static final String KEY_HEADER = "userId";
+  private static final int KEYS_COUNT = 1000;
+
+  private final ConsistentHashServiceRouter router =
+      ConsistentHashServiceRouter.byHeader(KEY_HEADER);
+  private final ServiceRegistryImpl registry = new ServiceRegistryImpl();
+
+  @BeforeEach
+  public void setUp() {
+    for (int i = 0; i < 4; i++) {
+      registry.registerService(endpoint("endpoint" + i));
+    }
+  }
+
+  @Test
+  public void testSameKeyRoutedToSameEndpoint() {
+    Map<String, String> routes = routes();
+    assertEquals(routes, routes());
+    assertEquals(4, new HashSet<>(routes.values()).size());
+  }
+
+  @Test
+  public void testOnlyKeysOfNewEndpointMove() {
+    Map<String, String> before = routes();
+    registry.registerService(endpoint("endpoint4"));
+    Map<String, String> after = routes();
+
+    int moved = 0;
+    for (String key : before.keySet()) {
+      if (!before.get(key).equals(after.get(key))) {
+        assertEquals("endpoint4", after.get(key));
+        moved++;
+      }
+    }
+    assertTrue(moved > 0 && moved < 2 * KEYS_COUNT / 5, "moved: " + moved);
+  }
+
+  @Test
+  public void testOnlyKeysOfRemovedEndpointMove() {
+    Map<String, String> before = routes();
+    registry.unregisterService("endpoint0");
+    Map<String, String> after = routes();
+
+    for (String key : before.keySet()) {
+      if (!"endpoint0".equals(before.get(key))) {
+        assertEquals(before.get(key), after.get(key));
+      } else {
+        assertNotEquals("endpoint0", after.get(key));
+      }
+    }
+  }
+
+  @Test
+  public void testOverloadedEndpointIsSkipped() {
+    ServiceMessage request = request("key");
+    ServiceReference owner = router.route(registry, request).get();
+    for (int i = 0; i < 10; i++) {
+      router.requestStarted(request, owner.address());
+    }
+
+    assertNotEquals(owner.endpointId(), router.route(registry, request).get().endpointId());
+
+    for (int i = 0; i < 10; i++) {
+      router.requestFinished(request, owner.address());
+    }
+    assertEquals(owner.endpointId(), router.route(registry, request).get().endpointId());
+  }
+
+  @Test
+  public void testLoadIsCountedPerQualifier() {
+    ServiceMessage request = request("key");
+    ServiceReference owner = router.route(registry, request).get();
+    ServiceMessage otherRequest =
+        ServiceMessage.builder().qualifier("/greeting/bye").header(KEY_HEADER, "key").build();
+    for (int i = 0; i < 10; i++) {
+      router.requestStarted(otherRequest, owner.address());
+    }
+
+    assertEquals(owner.endpointId(), router.route(registry, request).get().endpointId());
+  }
+
+  @Test
+  public void testRingsOfUnregisteredQualifiersAreEvicted() {
+    routes();
+    registry.registerService(endpoint("endpoint4", "farewell"));
+    registry.registerService(endpoint("endpoint5", "farewell"));
+    ServiceMessage request =
+        ServiceMessage.builder().qualifier("/farewell/hello").header(KEY_HEADER, "key").build();
+    ServiceReference owner = router.route(registry, request).get();
+    for (int i = 0; i < 10; i++) {
+      router.requestStarted(request, owner.address());
+    }
+
+    registry.unregisterService("endpoint4");
+    registry.unregisterService("endpoint5");
+    registry.unregisterService("endpoint0");
+    routes(); // membership change of another qualifier triggers eviction
+    router.requestFinished(request, owner.address()); // no route to count it on
+
+    registry.registerService(endpoint("endpoint4", "farewell"));
+    registry.registerService(endpoint("endpoint5", "farewell"));
+    // load of the evicted ring is gone, so the key goes to its owner again
+    assertEquals(owner.endpointId(), router.route(registry, request).get().endpointId());
+  }
+
+  private Map<String, String> routes() {
+    Map<String, String> routes = new HashMap<>();
+    for (int i = 0; i < KEYS_COUNT; i++) {
+      String key = "user" + i;
+      routes.put(key, router.route(registry, request(key)).get().endpointId());
+    }
+    return routes;
+  }
+
+  private static ServiceMessage request(String key) {
+    return ServiceMessage.builder().qualifier("/greeting/hello").header(KEY_HEADER, key).build();
+  }
+
+  private static ServiceEndpoint endpoint(String id) {
+    return endpoint(id, "greeting");
+  }
+
+  private static ServiceEndpoint endpoint(String id, String namespace) {
+    ServiceRegistration registration =
+        new ServiceRegistration(
+            namespace,
+            Collections.emptyMap(),
+            Collections.singletonList(new ServiceMethodDefinition("hello")));
+    return new ServiceEndpoint(
+        id,
+        id,
+        4801,
+        Collections.singleton("application/json"),
+        Collections.emptyMap(),
+        Collections.singletonList(registration));
+  }
+}
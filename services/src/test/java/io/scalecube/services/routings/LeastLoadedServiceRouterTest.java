@@ -0,0 +1,93 @@
+package io.scalecube.services.routings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.scalecube.services.ServiceEndpoint;
+import io.scalecube.services.ServiceMethodDefinition;
+import io.scalecube.services.ServiceReference;
+import io.scalecube.services.ServiceRegistration;
+import io.scalecube.services.api.ServiceMessage;
+import io.scalecube.services.registry.ServiceRegistryImpl;
+import io.scalecube.services.routing.LeastLoadedServiceRouter;
+import io.scalecube.services.transport.api.Address;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LeastLoadedServiceRouterTest {
+
+  private static final ServiceMessage REQUEST =
+      ServiceMessage.builder().qualifier("/greeting/hello").build();
+
+  private static final Address FAST = Address.create("fast", 4801);
+  private static final Address SLOW = Address.create("slow", 4801);
+
+  private final LeastLoadedServiceRouter router = new LeastLoadedServiceRouter();
+  private final ServiceRegistryImpl registry = new ServiceRegistryImpl();
+
+  @BeforeEach
+  public void setUp() {
+    registry.registerService(endpoint(FAST));
+    registry.registerService(endpoint(SLOW));
+  }
+
+  @Test
+  public void testRoutesToFasterEndpoint() {
+    call(FAST, TimeUnit.MILLISECONDS.toNanos(1));
+    call(SLOW, TimeUnit.MILLISECONDS.toNanos(100));
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(FAST, route());
+    }
+  }
+
+  @Test
+  public void testRoutesAwayFromEndpointWithRequestsInFlight() {
+    call(FAST, TimeUnit.MILLISECONDS.toNanos(1));
+    call(SLOW, TimeUnit.MILLISECONDS.toNanos(2));
+    for (int i = 0; i < 2; i++) {
+      router.requestStarted(REQUEST, FAST);
+    }
+
+    assertEquals(SLOW, route());
+
+    for (int i = 0; i < 2; i++) {
+      router.requestFinished(REQUEST, FAST);
+    }
+    assertEquals(FAST, route());
+  }
+
+  @Test
+  public void testRoutesAwayFromEndpointWhichHasNotRespondedYet() {
+    call(FAST, TimeUnit.MILLISECONDS.toNanos(100));
+    router.requestStarted(REQUEST, SLOW);
+
+    assertEquals(FAST, route());
+  }
+
+  private void call(Address address, long latencyNanos) {
+    router.requestStarted(REQUEST, address);
+    router.responseReceived(REQUEST, address, latencyNanos);
+    router.requestFinished(REQUEST, address);
+  }
+
+  private Address route() {
+    return router.route(registry, REQUEST).map(ServiceReference::address).orElse(null);
+  }
+
+  private static ServiceEndpoint endpoint(Address address) {
+    ServiceRegistration registration =
+        new ServiceRegistration(
+            "greeting",
+            Collections.emptyMap(),
+            Collections.singletonList(new ServiceMethodDefinition("hello")));
+    return new ServiceEndpoint(
+        address.host(),
+        address.host(),
+        address.port(),
+        Collections.singleton(REQUEST.dataFormatOrDefault()),
+        Collections.emptyMap(),
+        Collections.singletonList(registration));
+  }
+}
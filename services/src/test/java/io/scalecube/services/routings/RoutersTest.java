@@ -19,6 +19,7 @@ import io.scalecube.services.api.ServiceMessage;
 import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
 import io.scalecube.services.discovery.api.ServiceDiscovery;
 import io.scalecube.services.registry.api.ServiceRegistry;
+import io.scalecube.services.routing.LeastLoadedServiceRouter;
 import io.scalecube.services.routing.RandomServiceRouter;
 import io.scalecube.services.routing.Routers;
 import io.scalecube.services.routings.sut.CanaryService;
@@ -118,6 +119,18 @@ public class RoutersTest extends BaseTest {
     assertTrue(!result1.sender().equals(result2.sender()));
   }
 
+  @Test
+  public void test_least_loaded() {
+    ServiceCall service =
+        gateway.call().router(Routers.getRouter(LeastLoadedServiceRouter.class)).create();
+
+    Flux.range(0, 100)
+        .flatMap(i -> service.requestOne(GREETING_REQUEST_REQ, GreetingResponse.class))
+        .doOnNext(response -> assertNotNull(response.<GreetingResponse>data().sender()))
+        .then()
+        .block(timeout);
+  }
+
   @Test
   public void test_remote_service_tags() throws Exception {
 